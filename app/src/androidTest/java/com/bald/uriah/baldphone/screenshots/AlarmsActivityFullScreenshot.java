@@ -23,8 +23,8 @@ import androidx.test.runner.AndroidJUnit4;
 
 import com.bald.uriah.baldphone.R;
 import com.bald.uriah.baldphone.activities.alarms.AlarmsActivity;
+import com.bald.uriah.baldphone.databases.BaldDatabase;
 import com.bald.uriah.baldphone.databases.alarms.Alarm;
-import com.bald.uriah.baldphone.databases.alarms.AlarmsDatabase;
 import com.bald.uriah.baldphone.utils.D;
 
 import org.junit.runner.RunWith;
@@ -42,9 +42,9 @@ public class AlarmsActivityFullScreenshot extends BaseScreenshotTakerTest<Alarms
         alarm.setMinute(30);
         alarm.setEnabled(true);
         alarm.setName(getInstrumentation().getTargetContext().getString(R.string.morning));
-        AlarmsDatabase.getInstance(getInstrumentation().getTargetContext()).alarmsDatabaseDao().insert(alarm);
+        BaldDatabase.getInstance(getInstrumentation().getTargetContext()).alarmsDatabaseDao().insert(alarm);
         mActivityTestRule.launchActivity(new Intent());
-        AlarmsDatabase.getInstance(getInstrumentation().getTargetContext()).alarmsDatabaseDao().deleteAll();
+        BaldDatabase.getInstance(getInstrumentation().getTargetContext()).alarmsDatabaseDao().deleteAll();
     }
 
     @Override
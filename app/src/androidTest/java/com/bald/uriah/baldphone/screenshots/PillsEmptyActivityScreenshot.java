@@ -17,13 +17,12 @@
 package com.bald.uriah.baldphone.screenshots;
 
 import android.content.Intent;
-import android.os.Handler;
 
 import androidx.test.filters.LargeTest;
 import androidx.test.runner.AndroidJUnit4;
 
 import com.bald.uriah.baldphone.activities.pills.PillsActivity;
-import com.bald.uriah.baldphone.databases.reminders.RemindersDatabase;
+import com.bald.uriah.baldphone.databases.BaldDatabase;
 
 import org.junit.runner.RunWith;
 
@@ -36,12 +35,8 @@ public class PillsEmptyActivityScreenshot extends BaseScreenshotTakerTest<PillsA
     public void test() {
         mActivityTestRule.launchActivity(new Intent());
         getInstrumentation().waitForIdleSync();
-        new Handler(mActivityTestRule.getActivity().getMainLooper())
-                .post(() -> {
-                    final PillsActivity dis = mActivityTestRule.getActivity();
-                    RemindersDatabase.getInstance(dis).remindersDatabaseDao().deleteAll();
-                    dis.refreshViews();
-                });
+        // not on the main thread - the activity observes the database and empties its list by itself
+        BaldDatabase.getInstance(mActivityTestRule.getActivity()).remindersDatabaseDao().deleteAll();
         getInstrumentation().waitForIdleSync();
 
     }
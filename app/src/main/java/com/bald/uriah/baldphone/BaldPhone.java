@@ -16,20 +16,30 @@
 
 package com.bald.uriah.baldphone;
 
+import android.app.ActivityManager;
 import android.app.Application;
 import android.content.Context;
 import android.content.Intent;
+import android.os.Build;
+import android.os.Process;
 import android.util.Log;
 
 import com.bald.uriah.baldphone.activities.UpdatesActivity;
+import com.bald.uriah.baldphone.broadcast_receivers.PackageChangedReceiver;
 import com.bald.uriah.baldphone.databases.alarms.AlarmScheduler;
+import com.bald.uriah.baldphone.databases.apps.AppIconCache;
+import com.bald.uriah.baldphone.databases.calls.CallStatsAggregator;
 import com.bald.uriah.baldphone.databases.reminders.ReminderScheduler;
 import com.bald.uriah.baldphone.services.NotificationListenerService;
 import com.bald.uriah.baldphone.utils.BaldUncaughtExceptionHandler;
 import com.bald.uriah.baldphone.utils.S;
+import com.bald.uriah.baldphone.utils.StartupOrchestrator;
+import com.bald.uriah.baldphone.utils.StartupOrchestrator.Phase;
 
 import net.danlew.android.joda.JodaTimeAndroid;
 
+import java.util.List;
+
 public class BaldPhone extends Application {
     private static final String TAG = BaldPhone.class.getSimpleName();
     // Application class should not have any fields, http://www.developerphil.com/dont-store-data-in-the-application-object/
@@ -38,19 +48,56 @@ public class BaldPhone extends Application {
     public void onCreate() {
         S.logImportant("BaldPhone was started!");
         super.onCreate();
-        JodaTimeAndroid.init(this);
-        AlarmScheduler.reStartAlarms(this);
-        ReminderScheduler.reStartReminders(this);
-        if (BuildConfig.FLAVOR.equals("baldUpdates")) {
-            UpdatesActivity.removeUpdatesInfo(this);
-        }
-        try {
-            startService(new Intent(this, NotificationListenerService.class));
-        } catch (Exception e) {
-            Log.e(TAG, e.getMessage());
-            e.printStackTrace();
+        final StartupOrchestrator startupOrchestrator = StartupOrchestrator.getInstance()
+                // everything reads dates, so time zones must be ready before the first activity
+                .add(Phase.BLOCKING, "JodaTimeAndroid.init", () -> JodaTimeAndroid.init(this));
+        // the armed triggers are only read and written by the main process, each process would cache its own copy,
+        // each process would count the same calls again, and update the same apps and icon files at the same time
+        if (isMainProcess())
+            startupOrchestrator
+                    .add(Phase.BLOCKING, "PackageChangedReceiver.register", () -> PackageChangedReceiver.register(this))
+                    .add(Phase.DEFERRED, "AlarmScheduler.reStartAlarms", () -> AlarmScheduler.reStartAlarmsNow(this, false))
+                    .add(Phase.DEFERRED, "ReminderScheduler.reStartReminders", () -> ReminderScheduler.reStartRemindersNow(this, false))
+                    .add(Phase.DEFERRED, "CallStatsAggregator.start", () -> CallStatsAggregator.getInstance(this).start());
+        startupOrchestrator
+                .add(Phase.DEFERRED, "NotificationListenerService", () -> {
+                    try {
+                        startService(new Intent(this, NotificationListenerService.class));
+                    } catch (Exception e) {
+                        Log.e(TAG, e.getMessage());
+                        e.printStackTrace();
+                    }
+                })
+                .add(Phase.IDLE, "UpdatesActivity.removeUpdatesInfo", () -> {
+                    if (BuildConfig.FLAVOR.equals("baldUpdates"))
+                        UpdatesActivity.removeUpdatesInfo(this);
+                })
+                .add(Phase.IDLE, "S.sendVersionInfo", () -> S.sendVersionInfo(this))
+                .start();
+    }
+
+    /**
+     * The alarm and reminder receivers run in the ":remote" process, which creates this application as well.
+     */
+    private boolean isMainProcess() {
+        String processName = null;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            processName = getProcessName();
+        } else {
+            final List<ActivityManager.RunningAppProcessInfo> processes =
+                    ((ActivityManager) getSystemService(ACTIVITY_SERVICE)).getRunningAppProcesses();
+            if (processes != null)
+                for (ActivityManager.RunningAppProcessInfo process : processes)
+                    if (process.pid == Process.myPid())
+                        processName = process.processName;
         }
-        S.sendVersionInfo(this);
+        return processName == null || processName.equals(getPackageName());
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        AppIconCache.onTrimMemory(level);
     }
 
     @Override
@@ -31,8 +31,9 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.bald.uriah.baldphone.R;
 import com.bald.uriah.baldphone.adapters.AppsRecyclerViewAdapter;
+import com.bald.uriah.baldphone.databases.BaldDatabase;
+import com.bald.uriah.baldphone.databases.DatabaseExecutor;
 import com.bald.uriah.baldphone.databases.apps.App;
-import com.bald.uriah.baldphone.databases.apps.AppsDatabase;
 import com.bald.uriah.baldphone.databases.apps.AppsDatabaseHelper;
 import com.bald.uriah.baldphone.utils.BDB;
 import com.bald.uriah.baldphone.utils.BDialog;
@@ -52,26 +53,24 @@ public class AppsActivity extends com.bald.uriah.baldphone.activities.BaldActivi
     public static final int UNINSTALL_REQUEST_CODE = 52;
     private static final String SELECTED_APP_INDEX = "SELECTED_APP_INDEX";
 
-    private AppsDatabase appsDatabase;
+    private BaldDatabase baldDatabase;
     private int numberOfAppsInARow;
 
     private RecyclerView recyclerView;
 
     private AppsRecyclerViewAdapter appsRecyclerViewAdapter;
     private String chooseKey;
+    private String uninstallingPackage;
+    private int restoredIndex = -1;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_apps);
 
-        AppsDatabaseHelper.updateDB(this);
-
-        appsDatabase = AppsDatabase.getInstance(AppsActivity.this);
-        final List<App> appList = appsDatabase.appsDatabaseDao().getAllOrderedByABC();
+        baldDatabase = BaldDatabase.getInstance(AppsActivity.this);
         recyclerView = findViewById(R.id.rc_apps);
         chooseKey = getIntent().getStringExtra(CHOOSE_MODE);
-        appsRecyclerViewAdapter = new AppsRecyclerViewAdapter(appList, this, chooseKey != null ? this::appChosen : this::showDropDown, recyclerView);
 
         final WindowManager windowManager = getWindowManager();
         final Point point = new Point();
@@ -82,6 +81,8 @@ public class AppsActivity extends com.bald.uriah.baldphone.activities.BaldActivi
         gridLayoutManager.setSpanSizeLookup(new GridLayoutManager.SpanSizeLookup() {
             @Override
             public int getSpanSize(int position) {
+                if (appsRecyclerViewAdapter == null)
+                    return 1;
                 switch (appsRecyclerViewAdapter.getItemViewType(position)) {
                     case TYPE_HEADER:
                         return numberOfAppsInARow;
@@ -93,20 +94,40 @@ public class AppsActivity extends com.bald.uriah.baldphone.activities.BaldActivi
             }
         });
         recyclerView.setLayoutManager(gridLayoutManager);
+        DatabaseExecutor.query(() -> baldDatabase.appsDatabaseDao().getAllOrderedByABC(), this::onAppsLoaded);
+    }
+
+    private void onAppsLoaded(List<App> appList) {
+        if (isFinishing() || isDestroyed())
+            return;
+        appsRecyclerViewAdapter = new AppsRecyclerViewAdapter(appList, this, chooseKey != null ? this::appChosen : this::showDropDown, recyclerView);
         recyclerView.setAdapter(appsRecyclerViewAdapter);
+        if (restoredIndex != -1) {
+            restoreSelection(restoredIndex);
+            restoredIndex = -1;
+        }
     }
 
     @Override
     protected void onSaveInstanceState(@NonNull Bundle outState) {
         super.onSaveInstanceState(outState);
-        outState.putInt(SELECTED_APP_INDEX, ((AppsRecyclerViewAdapter) recyclerView.getAdapter()).index);
+        if (appsRecyclerViewAdapter != null)
+            outState.putInt(SELECTED_APP_INDEX, appsRecyclerViewAdapter.index);
     }
 
     @Override
     protected void onRestoreInstanceState(Bundle savedInstanceState) {
         super.onRestoreInstanceState(savedInstanceState);
-        final int index = savedInstanceState.getInt(SELECTED_APP_INDEX);
-        final AppsRecyclerViewAdapter adapter = ((AppsRecyclerViewAdapter) recyclerView.getAdapter());
+        final int index = savedInstanceState.getInt(SELECTED_APP_INDEX, -1);
+        // the apps are loaded asynchronously, so the selection may only be restored once they arrive
+        if (appsRecyclerViewAdapter == null)
+            restoredIndex = index;
+        else
+            restoreSelection(index);
+    }
+
+    private void restoreSelection(int index) {
+        final AppsRecyclerViewAdapter adapter = appsRecyclerViewAdapter;
         if (index < adapter.dataList.size() && index > 0 && adapter.dataList.get(index).type() != TYPE_HEADER) {
             adapter.index = index;
             recyclerView.getLayoutManager().scrollToPosition(index);
@@ -116,6 +137,7 @@ public class AppsActivity extends com.bald.uriah.baldphone.activities.BaldActivi
 
     private void uninstallApp(App app) {
         final String app_pkg_name = ComponentName.unflattenFromString(app.getFlattenComponentName()).getPackageName();
+        uninstallingPackage = app_pkg_name;
         startActivityForResult(new Intent(Intent.ACTION_UNINSTALL_PACKAGE)
                 .setData(Uri.parse("package:" + app_pkg_name))
                 .putExtra(Intent.EXTRA_RETURN_RESULT, true), UNINSTALL_REQUEST_CODE);
@@ -126,7 +148,12 @@ public class AppsActivity extends com.bald.uriah.baldphone.activities.BaldActivi
         super.onActivityResult(requestCode, resultCode, data);
         if (requestCode == UNINSTALL_REQUEST_CODE) {
             if (resultCode == RESULT_OK) {
-                recreate();
+                // PackageChangedReceiver may not have handled the removal yet
+                final String packageName = uninstallingPackage;
+                DatabaseExecutor.execute(() -> {
+                    if (packageName != null)
+                        baldDatabase.appsDatabaseDao().deleteAllOfPackage(packageName + "/");
+                }, this::recreate);
             }
         }
     }
@@ -155,15 +182,10 @@ public class AppsActivity extends com.bald.uriah.baldphone.activities.BaldActivi
                         viewHolder.pic.setImageResource(app.isPinned() ? R.drawable.remove_on_button : R.drawable.add_on_button);
                         viewHolder.text.setText(app.isPinned() ? R.string.remove_shortcut : R.string.add_shortcut);
                         viewHolder.itemView.setOnClickListener(v1 -> {
-                            if (app.isPinned()) {
-                                appsDatabase.appsDatabaseDao().update(app.getId(), false);
-                                app.setPinned(false);
-                                appsRecyclerViewAdapter.notifyItemChanged(appsRecyclerViewAdapter.index);
-                            } else {
-                                appsDatabase.appsDatabaseDao().update(app.getId(), true);
-                                app.setPinned(true);
-                                appsRecyclerViewAdapter.notifyItemChanged(appsRecyclerViewAdapter.index);
-                            }
+                            final boolean pinned = !app.isPinned();
+                            DatabaseExecutor.execute(() -> baldDatabase.appsDatabaseDao().update(app.getId(), pinned));
+                            app.setPinned(pinned);
+                            appsRecyclerViewAdapter.notifyItemChanged(appsRecyclerViewAdapter.index);
                             popupWindow.dismiss();
                             showDropDown(index);
                         });
@@ -18,16 +18,13 @@ package com.bald.uriah.baldphone.activities;
 
 import android.Manifest;
 import android.annotation.SuppressLint;
-import android.content.ContentResolver;
 import android.content.Context;
 import android.content.Intent;
 import android.content.pm.PackageManager;
-import android.database.Cursor;
 import android.media.ToneGenerator;
 import android.net.Uri;
 import android.os.Bundle;
 import android.os.Parcelable;
-import android.provider.ContactsContract;
 import android.telecom.PhoneAccountHandle;
 import android.telecom.TelecomManager;
 import android.telephony.SubscriptionInfo;
@@ -39,13 +36,16 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.app.ActivityCompat;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.DividerItemDecoration;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bald.uriah.baldphone.R;
 import com.bald.uriah.baldphone.activities.contacts.AddContactActivity;
+import com.bald.uriah.baldphone.adapters.ContactFilterPipeline;
 import com.bald.uriah.baldphone.adapters.ContactRecyclerViewAdapter;
 import com.bald.uriah.baldphone.databases.contacts.Contact;
+import com.bald.uriah.baldphone.databases.contacts.ContactsSnapshot;
 import com.bald.uriah.baldphone.databases.contacts.MiniContact;
 import com.bald.uriah.baldphone.utils.BDB;
 import com.bald.uriah.baldphone.utils.BDialog;
@@ -59,17 +59,33 @@ import static android.media.AudioManager.STREAM_SYSTEM;
 
 public class DialerActivity extends BaldActivity {
     private static final String TAG = DialerActivity.class.getSimpleName();
-    public static final String SORT_ORDER =
-            "upper(" + ContactsContract.CommonDataKinds.Phone.DISPLAY_NAME + ") ASC";
-    private final static String[] PROJECTION =
-            {ContactsContract.Data.DISPLAY_NAME, ContactsContract.Data._ID, ContactsContract.Contacts.PHOTO_URI, ContactsContract.Data.LOOKUP_KEY, ContactsContract.Data.STARRED};
     private static final String NUMBER_STATE = "NUMBER_STATE";
     private static final int TONE_DURATION = 300 * D.MILLISECOND;
     private static final int TONE_VOLUME = 75; // 0-100
+    private static final long SEARCH_DEBOUNCE = 150 * D.MILLISECOND;
 
     private ToneGenerator dtmfGenerator;
-    private ContentResolver contentResolver;
+    private ContactsSnapshot contactsSnapshot;
+    private ContactsSnapshot.DigitSearch digitSearch;
+    private final Runnable onContactsChanged = this::searchForContact;
     private ContactRecyclerViewAdapter contactRecyclerViewAdapter;
+    private final ContactFilterPipeline searchPipeline = new ContactFilterPipeline(new ContactFilterPipeline.Listener() {
+        @Nullable
+        @Override
+        public ContactRecyclerViewAdapter.Rows getShownRows() {
+            return contactRecyclerViewAdapter == null ? null : contactRecyclerViewAdapter.getRows();
+        }
+
+        @Override
+        public void onRowsReady(@NonNull ContactRecyclerViewAdapter.Rows rows, @Nullable DiffUtil.DiffResult diff, boolean keyChanged) {
+            if (contactRecyclerViewAdapter != null && diff != null) {
+                contactRecyclerViewAdapter.changeRows(rows, diff, keyChanged);
+            } else {
+                contactRecyclerViewAdapter = new ContactRecyclerViewAdapter(DialerActivity.this, rows, recyclerView, ContactRecyclerViewAdapter.MODE_DEFAULT);
+                recyclerView.setAdapter(contactRecyclerViewAdapter);
+            }
+        }
+    });
     private RecyclerView recyclerView;
     private TextView tv_number;
     private View b_call, b_clear, b_hash, b_sulamit, b_backspace, empty_view;
@@ -146,13 +162,22 @@ public class DialerActivity extends BaldActivity {
         if (!checkPermissions(this, requiredPermissions()))
             return;
         setContentView(R.layout.dialer);
-        contentResolver = getContentResolver();
         playDialSounds = BPrefs.get(this).getBoolean(BPrefs.DIALER_SOUNDS_KEY, BPrefs.DIALER_SOUNDS_DEFAULT_VALUE) && !testing;
         if (playDialSounds)
             dtmfGenerator = new ToneGenerator(STREAM_SYSTEM, TONE_VOLUME);
         attachXml();
         setOnClickListeners();
-        searchForContact();
+        contactsSnapshot = ContactsSnapshot.getInstance(this);
+        digitSearch = contactsSnapshot.newDigitSearch();
+        contactsSnapshot.addListener(onContactsChanged);
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (contactsSnapshot != null)
+            contactsSnapshot.removeListener(onContactsChanged);
+        searchPipeline.shutdown();
     }
 
     @Override
@@ -171,14 +196,11 @@ public class DialerActivity extends BaldActivity {
     }
 
     private void getContactsByNumberFilter() {
-        final Uri uri = Uri.withAppendedPath(ContactsContract.CommonDataKinds.Phone.CONTENT_FILTER_URI, Uri.encode(number.toString()));
-        final Cursor contactsCursor = contentResolver.query(uri, PROJECTION, null, null, SORT_ORDER);
-        if (contactRecyclerViewAdapter != null) {
-            contactRecyclerViewAdapter.changeCursor(contactsCursor);
-        } else {
-            contactRecyclerViewAdapter = new ContactRecyclerViewAdapter(this, contactsCursor, recyclerView, ContactRecyclerViewAdapter.MODE_DEFAULT);
-            recyclerView.setAdapter(contactRecyclerViewAdapter);
-        }
+        if (contactsSnapshot == null || !contactsSnapshot.isLoaded())
+            return; // will be searched by onContactsChanged
+        final String typed = number.toString();
+        // the digit search is only ever used from the pipeline's single thread
+        searchPipeline.request(typed, () -> digitSearch.search(typed), SEARCH_DEBOUNCE);
     }
 
     private void attachXml() {
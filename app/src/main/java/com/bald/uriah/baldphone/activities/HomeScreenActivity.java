@@ -68,10 +68,12 @@ import com.bald.uriah.baldphone.utils.D;
 import com.bald.uriah.baldphone.utils.DropDownRecyclerViewAdapter;
 import com.bald.uriah.baldphone.utils.PageTransformers;
 import com.bald.uriah.baldphone.utils.S;
+import com.bald.uriah.baldphone.utils.StartupOrchestrator;
 import com.bald.uriah.baldphone.utils.UpdatingUtil;
 import com.bald.uriah.baldphone.views.BaldImageButton;
 import com.bald.uriah.baldphone.views.BatteryView;
 import com.bald.uriah.baldphone.views.ViewPagerHolder;
+import com.bald.uriah.baldphone.views.home.HomeLayoutPreInflater;
 import com.bald.uriah.baldphone.views.home.HomePage1;
 import com.bald.uriah.baldphone.views.home.NotesView;
 
@@ -107,6 +109,7 @@ public class HomeScreenActivity extends BaldActivity {
 
     public boolean finishedUpdatingApps, launchAppsActivity;
     public BaldPagerAdapter baldPagerAdapter;
+    public HomeLayoutPreInflater layoutPreInflater;
 
     private Point screenSize;
     private Lantern lantern;
@@ -159,7 +162,7 @@ public class HomeScreenActivity extends BaldActivity {
     /**
      * Listens to broadcasts from {@link NotificationListenerService}
      * This listener only gets the number of notifications and updates {@link HomeScreenActivity#notificationsButton}
-     * The red dot is being updated via {@link HomePage1#notificationReceiver}
+     * The red dots of {@link HomePage1} are being updated by the {@link com.bald.uriah.baldphone.services.BadgeEngine}
      */
     public final BroadcastReceiver notificationReceiver = new BroadcastReceiver() {
         @Override
@@ -220,6 +223,7 @@ public class HomeScreenActivity extends BaldActivity {
 
         setContentView(R.layout.home_screen);
         viewPagerHolder = findViewById(R.id.view_pager_holder);
+        StartupOrchestrator.getInstance().onFirstFrame(viewPagerHolder);
         final ViewGroup top_bar = findViewById(R.id.top_bar);
         soundButton = top_bar.findViewById(R.id.sound);
         batteryView = top_bar.findViewById(R.id.battery);
@@ -265,7 +269,11 @@ public class HomeScreenActivity extends BaldActivity {
                 .setType(BaldToast.TYPE_INFORMATIVE)
                 .show());
         baldPrefsUtils = BaldPrefsUtils.newInstance(this);
+        layoutPreInflater = new HomeLayoutPreInflater(this);
         viewPagerHandler();
+        layoutPreInflater.keepReady(R.layout.fragment_home_page1, 1);
+        layoutPreInflater.keepReady(R.layout.fragment_home_page2, 1);
+        layoutPreInflater.keepReady(R.layout.home_factory, 1);
         baldHomeWatcher = new BaldHomeWatcher(this, this::updateViewPager);
         recognizerManager.setHomeScreen(this);
 
@@ -310,9 +318,14 @@ public class HomeScreenActivity extends BaldActivity {
     @SuppressLint("InlinedApi")
     protected void onResume() { // remember to change in Page1EditorActivity.java too!
         super.onResume();
-        if (baldPrefsUtils.hasChanged(this)) {
-            viewPagerHolder.getViewPager().removeAllViews();//android auto saves fragments, not good for us in this case
-            this.recreate();
+        final BaldPrefsUtils newPrefsUtils = BaldPrefsUtils.newInstance(this);
+        if (!baldPrefsUtils.equals(newPrefsUtils)) {
+            if (baldPrefsUtils.requiresRecreate(newPrefsUtils)) {
+                viewPagerHolder.getViewPager().removeAllViews();//android auto saves fragments, not good for us in this case
+                this.recreate();
+            } else {
+                applyPrefsChanges(newPrefsUtils);
+            }
         }
 
         soundButton.setImageResource(SOUND_DRAWABLES[audioManager.getRingerMode()]);
@@ -380,11 +393,13 @@ public class HomeScreenActivity extends BaldActivity {
     @Override
     protected void onDestroy() {
         recognizerManager.setHomeScreen(null);
+        if (layoutPreInflater != null)
+            layoutPreInflater.release();
         super.onDestroy();
     }
 
     /**
-     * Starts the view pager - being called only in {@link #onCreate(Bundle)}
+     * Starts the view pager - being called in {@link #onCreate(Bundle)}, and again when the notes page was added or removed
      */
     private void viewPagerHandler() {
         baldPagerAdapter = new BaldPagerAdapter(this);
@@ -393,14 +408,29 @@ public class HomeScreenActivity extends BaldActivity {
         viewPagerHolder.setCurrentItem(baldPagerAdapter.startingPage);
     }
 
+    /**
+     * Applies the preferences which do not require {@link #recreate()} to the pages which show them
+     */
+    private void applyPrefsChanges(BaldPrefsUtils newPrefsUtils) {
+        if (baldPrefsUtils.notesChanged(newPrefsUtils)) {
+            viewPagerHandler();
+            updateViewPager();
+        } else {
+            if (baldPrefsUtils.homePagesChanged(newPrefsUtils))
+                baldPagerAdapter.rebindHomePages();
+            viewPagerHolder.setPageTransformer(false, PageTransformers.pageTransformers[sharedPreferences.getInt(BPrefs.PAGE_TRANSFORMERS_KEY, BPrefs.PAGE_TRANSFORMERS_DEFAULT_VALUE)]);
+        }
+        lowBatteryAlert = sharedPreferences.getBoolean(BPrefs.LOW_BATTERY_ALERT_KEY, BPrefs.LOW_BATTERY_ALERT_DEFAULT_VALUE);
+        baldPrefsUtils = newPrefsUtils;
+    }
+
     /**
      * Updates {@link HomeScreenActivity#baldPagerAdapter} apps
      * Sets the page to {@link BaldPagerAdapter#startingPage}
      */
     private void updateViewPager() {
-        baldPagerAdapter.obtainAppList();
         viewPagerHolder.setCurrentItem(baldPagerAdapter.startingPage);
-        viewPagerHolder.onDataChanged();
+        baldPagerAdapter.obtainAppList(viewPagerHolder::onDataChanged);
     }
 
     @Override
@@ -467,7 +497,7 @@ public class HomeScreenActivity extends BaldActivity {
         @Override
         protected Void doInBackground(Context... contexts) {
             try {
-                AppsDatabaseHelper.updateDB(contexts[0]);
+                AppsDatabaseHelper.updateDBIfNeeded(contexts[0]);
             } catch (Exception e) {
                 BaldToast.from(contexts[0].getApplicationContext()).setType(BaldToast.TYPE_ERROR).setLength(Toast.LENGTH_LONG).setText(e.getMessage());
             }
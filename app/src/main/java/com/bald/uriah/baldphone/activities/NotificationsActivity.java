@@ -16,10 +16,7 @@
 
 package com.bald.uriah.baldphone.activities;
 
-import android.content.BroadcastReceiver;
-import android.content.Context;
 import android.content.Intent;
-import android.content.IntentFilter;
 import android.os.Bundle;
 import android.provider.Settings;
 import android.util.Log;
@@ -31,37 +28,19 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.bald.uriah.baldphone.R;
 import com.bald.uriah.baldphone.adapters.NotificationRecyclerViewAdapter;
-import com.bald.uriah.baldphone.services.NotificationListenerService;
+import com.bald.uriah.baldphone.services.NotificationStore;
 import com.bald.uriah.baldphone.utils.BDB;
 import com.bald.uriah.baldphone.utils.BDialog;
 
 import static com.bald.uriah.baldphone.services.NotificationListenerService.ACTION_REGISTER_ACTIVITY;
 import static com.bald.uriah.baldphone.services.NotificationListenerService.ACTIVITY_NONE;
 import static com.bald.uriah.baldphone.services.NotificationListenerService.KEY_EXTRA_ACTIVITY;
-import static com.bald.uriah.baldphone.services.NotificationListenerService.KEY_EXTRA_NOTIFICATIONS;
 import static com.bald.uriah.baldphone.services.NotificationListenerService.NOTIFICATIONS_ACTIVITY;
 
 public class NotificationsActivity extends BaldActivity {
     private static final String TAG = NotificationsActivity.class.getSimpleName();
-    public Bundle[] activeNotifications;
     public RecyclerView recyclerView;
     private NotificationRecyclerViewAdapter notificationRecyclerViewAdapter;
-    private final BroadcastReceiver notificationReceiver = new BroadcastReceiver() {
-        @Override
-        public void onReceive(Context context, Intent intent) {
-            if (!intent.getAction().equals(NotificationListenerService.NOTIFICATIONS_ACTIVITY_BROADCAST))
-                throw new AssertionError("!intent.getAction().equals(NotificationListenerService.NOTIFICATIONS_ACTIVITY_BROADCAST)");
-            activeNotifications =
-                    (Bundle[]) intent.getParcelableArrayExtra(KEY_EXTRA_NOTIFICATIONS);
-            if (notificationRecyclerViewAdapter == null) {
-                notificationRecyclerViewAdapter =
-                        new NotificationRecyclerViewAdapter(NotificationsActivity.this, activeNotifications);
-                recyclerView.setAdapter(notificationRecyclerViewAdapter);
-            } else {
-                notificationRecyclerViewAdapter.changeNotifications(activeNotifications);
-            }
-        }
-    };
 
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
@@ -81,6 +60,11 @@ public class NotificationsActivity extends BaldActivity {
         dividerItemDecoration.setDrawable(getDrawable(R.drawable.ll_divider));
         recyclerView.addItemDecoration(dividerItemDecoration);
         recyclerView.setItemViewCacheSize(10);
+        notificationRecyclerViewAdapter =
+                new NotificationRecyclerViewAdapter(this, NotificationStore.getInstance(this));
+        recyclerView.setAdapter(notificationRecyclerViewAdapter);
+        // for as long as the adapter shows the store, or the recycler view would see changes it was not told about
+        NotificationStore.getInstance(this).addListener(notificationRecyclerViewAdapter);
 
         if (!Settings.Secure.getString(this.getContentResolver(), "enabled_notification_listeners")
                 .contains(getApplicationContext().getPackageName())) {
@@ -103,19 +87,23 @@ public class NotificationsActivity extends BaldActivity {
     protected void onResume() {
         super.onResume();
         Log.e(TAG, "onResume: ");
-        LocalBroadcastManager.getInstance(this).registerReceiver(notificationReceiver,
-                new IntentFilter(NotificationListenerService.NOTIFICATIONS_ACTIVITY_BROADCAST));
         LocalBroadcastManager.getInstance(this).sendBroadcast(new Intent(ACTION_REGISTER_ACTIVITY).putExtra(KEY_EXTRA_ACTIVITY, NOTIFICATIONS_ACTIVITY));
     }
 
     @Override
     protected void onPause() {
-        LocalBroadcastManager.getInstance(this).unregisterReceiver(notificationReceiver);
         LocalBroadcastManager.getInstance(this).sendBroadcast(new Intent(ACTION_REGISTER_ACTIVITY).putExtra(KEY_EXTRA_ACTIVITY, ACTIVITY_NONE));
 
         super.onPause();
     }
 
+    @Override
+    protected void onDestroy() {
+        if (notificationRecyclerViewAdapter != null)
+            NotificationStore.getInstance(this).removeListener(notificationRecyclerViewAdapter);
+        super.onDestroy();
+    }
+
     @Override
     public void finish() {
         super.finish();
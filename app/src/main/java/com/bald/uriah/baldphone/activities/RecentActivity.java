@@ -18,16 +18,28 @@ package com.bald.uriah.baldphone.activities;
 
 import android.os.Bundle;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.DividerItemDecoration;
+import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bald.uriah.baldphone.R;
 import com.bald.uriah.baldphone.adapters.CallsRecyclerViewAdapter;
+import com.bald.uriah.baldphone.databases.calls.Call;
+import com.bald.uriah.baldphone.databases.calls.CallLogPager;
 import com.bald.uriah.baldphone.databases.calls.CallLogsHelper;
 
+import java.util.List;
+
 public class RecentActivity extends BaldActivity {
+    /**
+     * The next page is loaded once fewer calls than this are left below the last visible one
+     */
+    private static final int LOAD_AHEAD = CallLogPager.PAGE_SIZE / 2;
     public RecyclerView recyclerView;
+    private CallsRecyclerViewAdapter callsRecyclerViewAdapter;
+    private CallLogPager callLogPager;
 
     @Override
     protected void onCreate(@Nullable final Bundle savedInstanceState) {
@@ -41,9 +53,34 @@ public class RecentActivity extends BaldActivity {
         final DividerItemDecoration dividerItemDecoration = new DividerItemDecoration(recyclerView.getContext(), DividerItemDecoration.VERTICAL);
         dividerItemDecoration.setDrawable(getDrawable(R.drawable.ll_divider));
         recyclerView.addItemDecoration(dividerItemDecoration);
-        final CallsRecyclerViewAdapter callsRecyclerViewAdapter = new CallsRecyclerViewAdapter(CallLogsHelper.getAllCalls(getContentResolver()), this);
+        callsRecyclerViewAdapter = new CallsRecyclerViewAdapter(this);
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                final LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+                if (layoutManager != null && layoutManager.findLastVisibleItemPosition() >= callsRecyclerViewAdapter.getItemCount() - LOAD_AHEAD)
+                    callLogPager.loadNextPage();
+            }
+        });
+        callLogPager = new CallLogPager(this, this::onCallsLoaded);
+        callLogPager.loadNextPage();
         CallLogsHelper.markAllAsRead(getContentResolver());
-        recyclerView.setAdapter(callsRecyclerViewAdapter);
+    }
+
+    @Override
+    protected void onDestroy() {
+        if (callLogPager != null)
+            callLogPager.close();
+        super.onDestroy();
+    }
+
+    /**
+     * The adapter is only set with the first page, so an empty call log view is not shown while it is loading.
+     */
+    private void onCallsLoaded(List<Call> calls, String[] dayHeaders, boolean hasMore) {
+        callsRecyclerViewAdapter.appendCalls(calls, dayHeaders);
+        if (recyclerView.getAdapter() == null)
+            recyclerView.setAdapter(callsRecyclerViewAdapter);
     }
 
     @Override
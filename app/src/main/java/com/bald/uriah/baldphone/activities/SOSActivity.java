@@ -16,14 +16,11 @@
 
 package com.bald.uriah.baldphone.activities;
 
-import android.content.ContentResolver;
 import android.content.Context;
 import android.content.Intent;
 import android.content.SharedPreferences;
-import android.database.Cursor;
 import android.net.Uri;
 import android.os.Bundle;
-import android.provider.ContactsContract;
 import android.view.View;
 import android.widget.ImageView;
 import android.widget.TextView;
@@ -37,7 +34,6 @@ import com.bald.uriah.baldphone.databases.contacts.MiniContact;
 import com.bald.uriah.baldphone.databases.home_screen_pins.HomeScreenPinHelper;
 import com.bald.uriah.baldphone.views.BaldLinearLayoutButton;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -136,40 +132,12 @@ public class SOSActivity extends BaldActivity {
 
         /**
          * @param context
-         * @return sorted list of lookup keys
+         * @return pinned contacts sorted by name, see {@link HomeScreenPinHelper#resolvePinnedContacts}
          */
         private static List<MiniContact> getAllPinnedContacts(Context context) {
-            final Set<String> lookupKeys = context.getSharedPreferences(SHARED_PREFS_KEY, Context.MODE_PRIVATE).getStringSet(HomeScreenPinHelper.PinnedContactPreferences.SOS_KEY, null);
-            if (lookupKeys == null)
-                return null;
-            final List<MiniContact> ret = new ArrayList<>(lookupKeys.size());
-            final ContentResolver contentResolver = context.getContentResolver();
-            for (String lookupKey :
-                    lookupKeys) {
-                try (Cursor cursor = contentResolver.query(
-                        ContactsContract.Contacts.CONTENT_URI,
-                        MiniContact.PROJECTION,
-                        ContactsContract.Data.LOOKUP_KEY + " = ?",
-                        new String[]{
-                                lookupKey
-                        }, null)) {
-                    if (cursor.moveToFirst()) {
-                        ret.add(new MiniContact(
-                                lookupKey,
-                                cursor.getString(cursor.getColumnIndex(ContactsContract.Contacts.DISPLAY_NAME)),
-                                cursor.getString(cursor.getColumnIndex(ContactsContract.Contacts.PHOTO_URI)),
-                                cursor.getInt(cursor.getColumnIndex(ContactsContract.Contacts._ID)),
-                                cursor.getInt(cursor.getColumnIndex(ContactsContract.Contacts.STARRED)) == 1
-                        ));
-                    } else {
-                        removeContact(context, lookupKey);
-                    }
-
-                } catch (Exception e) {
-                    throw new AssertionError(e);
-                }
-            }
-            Collections.sort(ret, (o1, o2) -> o1.name.compareTo(o2.name));
+            final List<MiniContact> ret = HomeScreenPinHelper.resolvePinnedContacts(context, HomeScreenPinHelper.PinnedContactPreferences.SOS_KEY);
+            if (ret != null)
+                Collections.sort(ret, (o1, o2) -> o1.name.compareTo(o2.name));
             return ret;
         }
     }
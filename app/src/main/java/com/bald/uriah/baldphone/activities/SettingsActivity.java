@@ -334,6 +334,20 @@ public class SettingsActivity extends BaldActivity {
                                 .setOptionsStartingIndex(() -> sharedPreferences.getBoolean(BPrefs.COLORFUL_KEY, BPrefs.COLORFUL_DEFAULT_VALUE) ? 0 : 1),
                         R.drawable.colors_on_button));
 
+        personalizationCategory.add(new BDBSettingsItem(R.string.pins_by_calls,
+                BDB.from(this)
+                        .addFlag(BDialog.FLAG_OK | BDialog.FLAG_CANCEL)
+                        .setTitle(R.string.pins_by_calls)
+                        .setSubText(R.string.pins_by_calls_subtext)
+                        .setOptions(R.string.yes, R.string.no)
+                        .setPositiveButtonListener(params -> {
+                            editor.putBoolean(BPrefs.PINS_BY_CALLS_KEY, (Integer) params[0] == 0).apply();
+                            return true;
+                        })
+                        .setOptionsStartingIndex(() -> sharedPreferences.getBoolean(BPrefs.PINS_BY_CALLS_KEY, BPrefs.PINS_BY_CALLS_DEFAULT_VALUE) ? 0 : 1),
+                R.drawable.phone_on_button
+        ));
+
         personalizationCategory.add(new BDBSettingsItem(R.string.low_battery_alert,
                 BDB.from(this)
                         .addFlag(BDialog.FLAG_OK | BDialog.FLAG_CANCEL)
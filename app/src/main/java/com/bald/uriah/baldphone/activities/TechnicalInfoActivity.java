@@ -26,23 +26,35 @@ import androidx.annotation.Nullable;
 
 import com.bald.uriah.baldphone.BuildConfig;
 import com.bald.uriah.baldphone.R;
-import com.bald.uriah.baldphone.databases.apps.AppsDatabase;
+import com.bald.uriah.baldphone.databases.BaldDatabase;
+import com.bald.uriah.baldphone.databases.DatabaseExecutor;
+import com.bald.uriah.baldphone.databases.apps.AppIconCache;
+import com.bald.uriah.baldphone.databases.apps.AppsDatabaseHelper;
 import com.bald.uriah.baldphone.utils.BDB;
 import com.bald.uriah.baldphone.utils.BDialog;
 import com.bald.uriah.baldphone.utils.BPrefs;
 import com.bald.uriah.baldphone.utils.BaldToast;
 import com.bald.uriah.baldphone.utils.S;
+import com.bald.uriah.baldphone.utils.StartupOrchestrator;
 
 import java.io.File;
 
 public class TechnicalInfoActivity extends BaldActivity {
-    public static void deleteCache(Context context) {
-        try {
-            deleteDir(context.getCacheDir());
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        AppsDatabase.getInstance(context).appsDatabaseDao().deleteAll();
+    /**
+     * Runs on the {@link DatabaseExecutor}, {@code onDone} is called on the main thread afterwards.
+     */
+    public static void deleteCache(Context context, @Nullable Runnable onDone) {
+        final Context appContext = context.getApplicationContext();
+        DatabaseExecutor.execute(() -> {
+            try {
+                deleteDir(appContext.getCacheDir());
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            BaldDatabase.getInstance(appContext).appsDatabaseDao().deleteAll();
+            // the apps database is otherwise only patched by package changes, so rebuild it now
+            AppsDatabaseHelper.updateDB(appContext);
+        }, onDone);
     }
 
     public static boolean deleteDir(File dir) {
@@ -82,18 +94,17 @@ public class TechnicalInfoActivity extends BaldActivity {
         if (!checkPermissions(this, requiredPermissions()))
             return;
         setContentView(R.layout.activity_tech_info);
-        ((TextView) findViewById(R.id.tv_info)).setText(getTechnicalInfo());
+        ((TextView) findViewById(R.id.tv_info)).setText(getTechnicalInfo() + AppIconCache.getInstance(this).getStats() + StartupOrchestrator.getInstance().getTrace());
         findViewById(R.id.bt_clear_cache).setOnClickListener(v -> {
             BDB.from(this)
                     .addFlag(BDialog.FLAG_YES | BDialog.FLAG_CANCEL)
                     .setTitle(R.string.clear_cache)
                     .setSubText(R.string.clear_cache_subtext)
                     .setPositiveButtonListener(params -> {
-                        deleteCache(this);
                         BPrefs.get(this).edit().remove(BPrefs.CUSTOM_APP_KEY).apply();
                         if (BuildConfig.FLAVOR.equals("baldUpdates"))
                             UpdatesActivity.removeUpdatesInfo(this);
-                        BaldToast.simple(this, R.string.cache_cleared_successfully);
+                        deleteCache(this, () -> BaldToast.simple(this, R.string.cache_cleared_successfully));
                         return true;
                     })
                     .show();
@@ -29,9 +29,10 @@ import android.widget.RadioButton;
 import androidx.annotation.Nullable;
 
 import com.bald.uriah.baldphone.R;
+import com.bald.uriah.baldphone.databases.BaldDatabase;
+import com.bald.uriah.baldphone.databases.DatabaseExecutor;
 import com.bald.uriah.baldphone.databases.alarms.Alarm;
 import com.bald.uriah.baldphone.databases.alarms.AlarmScheduler;
-import com.bald.uriah.baldphone.databases.alarms.AlarmsDatabase;
 import com.bald.uriah.baldphone.utils.BPrefs;
 import com.bald.uriah.baldphone.utils.D;
 import com.bald.uriah.baldphone.views.BaldButton;
@@ -68,18 +69,8 @@ public class AddAlarmActivity extends com.bald.uriah.baldphone.activities.BaldAc
             final int alarmIndex = getIntent().getIntExtra(ALARM_KEY_AS_EXTRA_KEY, -1);
             if (alarmIndex == -1)
                 throw new IllegalArgumentException("ALARM_KEY_AS_EXTRA_KEY cannot be -1 or not defind!");
-            final Alarm alarm = AlarmsDatabase.getInstance(this).alarmsDatabaseDao().getByKey(alarmIndex);
-            alarmKeyToEdit = alarm.getKey();
-            chooser_hours.setNumber(alarm.getHour());
-            chooser_minutes.setNumber(alarm.getMinute());
-            if (alarm.getName() != null)
-                alarm_edit_name.setText(alarm.getName());
-            final int alarmDays = alarm.getDays();
-            if (alarmDays == -1)
-                only_once.setChecked(true);
-            else
-                for (int i = 0; i < daysCheckBoxes.length; i++)
-                    daysCheckBoxes[i].setChecked((alarmDays | (D.Days.SUNDAY << i)) == alarmDays);
+            alarmKeyToEdit = alarmIndex;
+            DatabaseExecutor.query(() -> BaldDatabase.getInstance(this).alarmsDatabaseDao().getByKey(alarmIndex), this::applyAlarm);
         } else {
             final DateTime now = DateTime.now();
             chooser_hours.setNumber(now.getHourOfDay());
@@ -87,6 +78,21 @@ public class AddAlarmActivity extends com.bald.uriah.baldphone.activities.BaldAc
         }
     }
 
+    private void applyAlarm(@Nullable Alarm alarm) {
+        if (alarm == null)
+            return;
+        chooser_hours.setNumber(alarm.getHour());
+        chooser_minutes.setNumber(alarm.getMinute());
+        if (alarm.getName() != null)
+            alarm_edit_name.setText(alarm.getName());
+        final int alarmDays = alarm.getDays();
+        if (alarmDays == -1)
+            only_once.setChecked(true);
+        else
+            for (int i = 0; i < daysCheckBoxes.length; i++)
+                daysCheckBoxes[i].setChecked((alarmDays | (D.Days.SUNDAY << i)) == alarmDays);
+    }
+
     private void attachXml() {
         bt_alarm_submit = findViewById(R.id.bt_alarm_submit);
         alarm_edit_name = findViewById(R.id.alarm_edit_name);
@@ -128,20 +134,25 @@ public class AddAlarmActivity extends com.bald.uriah.baldphone.activities.BaldAc
         alarm.setEnabled(true);
         alarm.setName(name);
 
-        if (alarmKeyToEdit == -1) {
-            final int key = (int) AlarmsDatabase.getInstance(this)
-                    .alarmsDatabaseDao().insert(alarm);
-            alarm.setKey(key);
-        } else {
+        bt_alarm_submit.setEnabled(false);
+        final BaldDatabase baldDatabase = BaldDatabase.getInstance(this);
+        if (alarmKeyToEdit != -1)
             AlarmScheduler.cancelAlarm(alarmKeyToEdit, this);
-            alarm.setKey(alarmKeyToEdit);
-            AlarmsDatabase.getInstance(this).alarmsDatabaseDao().replace(alarm);
-        }
-        AlarmScheduler.scheduleAlarm(alarm, this);
-        setResult(Activity.RESULT_OK, new Intent()
-                .putExtra(Alarm.ALARM_KEY_VIA_INTENTS, alarm.getKey())
-                .putExtra(AddAlarmActivity.ALARM_KEY_AS_EXTRA_KEY, alarm.getKey()));
-        finish();
+        DatabaseExecutor.execute(() -> {
+            if (alarmKeyToEdit == -1) {
+                final int key = (int) baldDatabase.alarmsDatabaseDao().insert(alarm);
+                alarm.setKey(key);
+            } else {
+                alarm.setKey(alarmKeyToEdit);
+                baldDatabase.alarmsDatabaseDao().replace(alarm);
+            }
+        }, () -> {
+            AlarmScheduler.scheduleAlarm(alarm, this);
+            setResult(Activity.RESULT_OK, new Intent()
+                    .putExtra(Alarm.ALARM_KEY_VIA_INTENTS, alarm.getKey())
+                    .putExtra(AddAlarmActivity.ALARM_KEY_AS_EXTRA_KEY, alarm.getKey()));
+            finish();
+        });
     }
 
     private void genOnClickListeners() {
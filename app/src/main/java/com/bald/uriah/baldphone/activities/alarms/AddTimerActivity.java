@@ -26,10 +26,11 @@ import android.widget.TextView;
 import androidx.annotation.Nullable;
 
 import com.bald.uriah.baldphone.R;
+import com.bald.uriah.baldphone.databases.BaldDatabase;
+import com.bald.uriah.baldphone.databases.DatabaseExecutor;
 import com.bald.uriah.baldphone.activities.BaldActivity;
 import com.bald.uriah.baldphone.databases.alarms.Alarm;
 import com.bald.uriah.baldphone.databases.alarms.AlarmScheduler;
-import com.bald.uriah.baldphone.databases.alarms.AlarmsDatabase;
 import com.bald.uriah.baldphone.utils.D;
 
 import org.joda.time.DateTime;
@@ -71,18 +72,22 @@ public class AddTimerActivity extends BaldActivity {
         alarm.setEnabled(true);
         alarm.setName(name);
 
-        final int key = (int) AlarmsDatabase.getInstance(this)
-                .alarmsDatabaseDao().insert(alarm);
-        alarm.setKey(key);
-        AlarmScheduler.scheduleAlarm(alarm, this);
-
-        setResult(
-                Activity.RESULT_OK,
-                new Intent()
-                        .putExtra(Alarm.ALARM_KEY_VIA_INTENTS, alarm.getKey())
-                        .putExtra(AddTimerActivity.ALARM_KEY_AS_EXTRA_KEY, alarm.getKey())
-        );
-        finish();
+        bt_alarm_submit.setEnabled(false);
+        final BaldDatabase baldDatabase = BaldDatabase.getInstance(this);
+        DatabaseExecutor.execute(() -> {
+            final int key = (int) baldDatabase.alarmsDatabaseDao().insert(alarm);
+            alarm.setKey(key);
+        }, () -> {
+            AlarmScheduler.scheduleAlarm(alarm, this);
+
+            setResult(
+                    Activity.RESULT_OK,
+                    new Intent()
+                            .putExtra(Alarm.ALARM_KEY_VIA_INTENTS, alarm.getKey())
+                            .putExtra(AddTimerActivity.ALARM_KEY_AS_EXTRA_KEY, alarm.getKey())
+            );
+            finish();
+        });
 
     }
 
@@ -34,9 +34,10 @@ import androidx.annotation.Nullable;
 
 import com.bald.uriah.baldphone.R;
 import com.bald.uriah.baldphone.activities.TimedBaldActivity;
+import com.bald.uriah.baldphone.databases.BaldDatabase;
+import com.bald.uriah.baldphone.databases.DatabaseExecutor;
 import com.bald.uriah.baldphone.databases.alarms.Alarm;
 import com.bald.uriah.baldphone.databases.alarms.AlarmScheduler;
-import com.bald.uriah.baldphone.databases.alarms.AlarmsDatabase;
 import com.bald.uriah.baldphone.utils.Animations;
 import com.bald.uriah.baldphone.utils.BPrefs;
 import com.bald.uriah.baldphone.utils.BaldToast;
@@ -59,6 +60,10 @@ public class AlarmScreenActivity extends TimedBaldActivity {
     private ImageView cancel;
     private Ringtone ringtone;
     private Alarm alarm;
+    /**
+     * Between {@link #onStart()} and {@link #onStop()}, the alarm may be loaded after the screen was already stopped
+     */
+    private boolean started;
 
     public static Ringtone getRingtone(Context context) {
         Uri alert =
@@ -92,11 +97,21 @@ public class AlarmScreenActivity extends TimedBaldActivity {
         if (intent == null) throw new AssertionError();
         int key = intent.getIntExtra(Alarm.ALARM_KEY_VIA_INTENTS, -1);
         if (key == -1) throw new AssertionError();
-        alarm = AlarmsDatabase.getInstance(this).alarmsDatabaseDao().getByKey(key);
-        if (alarm == null) {
+        DatabaseExecutor.query(() -> BaldDatabase.getInstance(this).alarmsDatabaseDao().getByKey(key), this::onAlarmLoaded);
+    }
+
+    /**
+     * The alarm is read off the main thread; the screen is only set up once it is loaded,
+     * and only rings if it is still shown, otherwise {@link #onStart()} starts ringing when it is shown again.
+     */
+    private void onAlarmLoaded(@Nullable Alarm loadedAlarm) {
+        if (loadedAlarm == null) {
             S.logImportant("alarm == null!, returning");
             return;
         }
+        if (isFinishing() || isDestroyed())
+            return;
+        alarm = loadedAlarm;
 
         final String name = alarm.getName();
         if (name == null) tv_name.setVisibility(View.GONE);
@@ -105,15 +120,13 @@ public class AlarmScreenActivity extends TimedBaldActivity {
         cancel.setOnClickListener(v -> {
             if (vibrator != null)
                 vibrator.vibrate(D.vibetime);
-            if (alarm.getName().equals(getString(R.string.timer)))
-                AlarmsDatabase.getInstance(this).alarmsDatabaseDao().delete(alarm);
+            deleteIfTimer();
             finish();
         });
         cancel.setOnLongClickListener(v -> {
             if (vibrator != null)
                 vibrator.vibrate(D.vibetime);
-            if (alarm.getName().equals(getString(R.string.timer)))
-                AlarmsDatabase.getInstance(this).alarmsDatabaseDao().delete(alarm);
+            deleteIfTimer();
             finish();
             return true;
         });
@@ -125,14 +138,17 @@ public class AlarmScreenActivity extends TimedBaldActivity {
         });
 
         ringtone = getRingtone(this);
-        try {
-            ringtone.play();
-        } catch (Exception e) {
-            BaldToast.error(this);
-            Log.e(TAG, e.getMessage());
-            e.printStackTrace();
+        if (started) {
+            try {
+                ringtone.play();
+            } catch (Exception e) {
+                BaldToast.error(this);
+                Log.e(TAG, e.getMessage());
+                e.printStackTrace();
+            }
         }
 
+        // the animation, and the vibration it runs, only advances while the screen is shown
         Animations.makeBiggerAndSmaller(this, cancel, () -> {
             if (vibrator != null) vibrator.vibrate(D.vibetime);
         });
@@ -142,12 +158,14 @@ public class AlarmScreenActivity extends TimedBaldActivity {
     @Override
     protected void onStart() {
         super.onStart();
+        started = true;
         if (ringtone != null)
             ringtone.play();
     }
 
     @Override
     protected void onStop() {
+        started = false;
         if (ringtone != null)
             ringtone.stop();
         super.onStop();
@@ -166,10 +184,19 @@ public class AlarmScreenActivity extends TimedBaldActivity {
         snooze = findViewById(R.id.snooze);
     }
 
+    private void deleteIfTimer() {
+        if (alarm.getName().equals(getString(R.string.timer))) {
+            final Alarm timer = alarm;
+            final BaldDatabase baldDatabase = BaldDatabase.getInstance(this);
+            DatabaseExecutor.execute(() -> baldDatabase.alarmsDatabaseDao().delete(timer));
+        }
+    }
+
     private void snooze() {
         if (vibrator != null)
             vibrator.vibrate(D.vibetime);
-        AlarmScheduler.scheduleSnooze(alarm, this);
+        if (alarm != null)
+            AlarmScheduler.scheduleSnooze(alarm, this);
         finish();
     }
 
@@ -178,8 +205,9 @@ public class AlarmScreenActivity extends TimedBaldActivity {
         new Handler().postDelayed(() -> {
             if (alarm.isEnabled()) {
                 if (alarm.getDays() == -1) {
-                    AlarmsDatabase.getInstance(this)
-                            .alarmsDatabaseDao().update(alarm.getKey(), false);
+                    final BaldDatabase baldDatabase = BaldDatabase.getInstance(this);
+                    final int key = alarm.getKey();
+                    DatabaseExecutor.execute(() -> baldDatabase.alarmsDatabaseDao().update(key, false));
                 } else {
                     AlarmScheduler.scheduleAlarm(alarm, this);
                 }
@@ -16,6 +16,7 @@
 
 package com.bald.uriah.baldphone.activities.alarms;
 
+import android.content.Context;
 import android.content.Intent;
 import android.content.res.Resources;
 import android.graphics.Point;
@@ -34,9 +35,10 @@ import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bald.uriah.baldphone.R;
+import com.bald.uriah.baldphone.databases.BaldDatabase;
+import com.bald.uriah.baldphone.databases.DatabaseExecutor;
 import com.bald.uriah.baldphone.databases.alarms.Alarm;
 import com.bald.uriah.baldphone.databases.alarms.AlarmScheduler;
-import com.bald.uriah.baldphone.databases.alarms.AlarmsDatabase;
 import com.bald.uriah.baldphone.utils.BaldGridItemDecoration;
 import com.bald.uriah.baldphone.utils.BaldToast;
 import com.bald.uriah.baldphone.utils.D;
@@ -80,24 +82,10 @@ public class AlarmsActivity extends com.bald.uriah.baldphone.activities.BaldActi
         recyclerView.setAdapter(adapter);
 
         genOnClickListeners();
-    }
-
-    @Override
-    protected void onStart() {
-        super.onStart();
-        refreshViews();
-    }
-
-    @Override
-    protected void onResume() {
-        super.onResume();
-        if (AlarmsDatabase.getInstance(this).alarmsDatabaseDao().getNumberOfRows() != alarmList.size())
-            refreshViews();
-    }
-
-    public void refreshViews() {
-        alarmList = AlarmsDatabase.getInstance(this).alarmsDatabaseDao().getAllSortedByTime();
-        adapter.notifyDataSetChanged();
+        BaldDatabase.getInstance(this).alarmsDatabaseDao().observeAllSortedByTime().observe(this, alarms -> {
+            alarmList = alarms;
+            adapter.notifyDataSetChanged();
+        });
     }
 
     private void attachXml() {
@@ -120,16 +108,16 @@ public class AlarmsActivity extends com.bald.uriah.baldphone.activities.BaldActi
     }
 
     private void cancelAllAlarms() {
-        final AlarmsDatabase alarmsDatabase = AlarmsDatabase.getInstance(this);
-        final List<Alarm> alarmList = alarmsDatabase
-                .alarmsDatabaseDao().getAllEnabled();
-        for (Alarm alarm : alarmList)
-            AlarmScheduler.cancelAlarm(alarm.getKey(), this);
-
-        alarmsDatabase.alarmsDatabaseDao().deleteAll();
-
-        refreshViews();
-        BaldToast.from(this).setText(R.string.removed_all_alarms).show();
+        final BaldDatabase baldDatabase = BaldDatabase.getInstance(this);
+        final Context context = getApplicationContext();
+        DatabaseExecutor.execute(() -> {
+            final List<Alarm> alarmList = baldDatabase
+                    .alarmsDatabaseDao().getAllEnabled();
+            for (Alarm alarm : alarmList)
+                AlarmScheduler.cancelAlarm(alarm.getKey(), context);
+
+            baldDatabase.alarmsDatabaseDao().deleteAll();
+        }, () -> BaldToast.from(this).setText(R.string.removed_all_alarms).show());
     }
 
     @Override
@@ -146,24 +134,29 @@ public class AlarmsActivity extends com.bald.uriah.baldphone.activities.BaldActi
                     return;
                 }
 
-                final Alarm newAlarm = AlarmsDatabase.getInstance(this).alarmsDatabaseDao().getByKey(key);
-                final String name = newAlarm.getName();
-                final String message = String.format(getString(R.string.new_alarm___was_created), name == null || name.equals("") ? "" : getString(R.string.named__) + " " + name);
-                BaldToast.from(this).setText(message).setType(BaldToast.TYPE_INFORMATIVE).show();
-                final long nextTimeAlarmWillWork = AlarmScheduler.nextTimeAlarmWillWorkInMsFromNow(newAlarm);
-                final String message2;
-                if (nextTimeAlarmWillWork < D.HOUR)
-                    message2 = String.format(getString(R.string.to___minuets_from_now), nextTimeAlarmWillWork / D.MINUTE);
-                else if (nextTimeAlarmWillWork < D.DAY)
-                    message2 = String.format(getString(R.string.to___hours_and___minutes_from_now), nextTimeAlarmWillWork / D.HOUR, (nextTimeAlarmWillWork % D.HOUR) / D.MINUTE);
-                else
-                    message2 = String.format(getString(R.string.to___days_and___hours_from_now), nextTimeAlarmWillWork / D.DAY, (nextTimeAlarmWillWork % D.DAY) / D.HOUR);
-
-                BaldToast.from(this).setText(message2).setType(BaldToast.TYPE_INFORMATIVE).show();
+                DatabaseExecutor.query(() -> BaldDatabase.getInstance(this).alarmsDatabaseDao().getByKey(key), this::showNewAlarmToasts);
             }
         }
     }
 
+    private void showNewAlarmToasts(@Nullable Alarm newAlarm) {
+        if (newAlarm == null)
+            return;
+        final String name = newAlarm.getName();
+        final String message = String.format(getString(R.string.new_alarm___was_created), name == null || name.equals("") ? "" : getString(R.string.named__) + " " + name);
+        BaldToast.from(this).setText(message).setType(BaldToast.TYPE_INFORMATIVE).show();
+        final long nextTimeAlarmWillWork = AlarmScheduler.nextTimeAlarmWillWorkInMsFromNow(newAlarm);
+        final String message2;
+        if (nextTimeAlarmWillWork < D.HOUR)
+            message2 = String.format(getString(R.string.to___minuets_from_now), nextTimeAlarmWillWork / D.MINUTE);
+        else if (nextTimeAlarmWillWork < D.DAY)
+            message2 = String.format(getString(R.string.to___hours_and___minutes_from_now), nextTimeAlarmWillWork / D.HOUR, (nextTimeAlarmWillWork % D.HOUR) / D.MINUTE);
+        else
+            message2 = String.format(getString(R.string.to___days_and___hours_from_now), nextTimeAlarmWillWork / D.DAY, (nextTimeAlarmWillWork % D.DAY) / D.HOUR);
+
+        BaldToast.from(this).setText(message2).setType(BaldToast.TYPE_INFORMATIVE).show();
+    }
+
     class AlarmsRecyclerViewAdapter extends ModularRecyclerView.ModularAdapter<AlarmsRecyclerViewAdapter.ViewHolder> {
         private final LayoutInflater inflater;
 
@@ -230,8 +223,8 @@ public class AlarmsActivity extends com.bald.uriah.baldphone.activities.BaldActi
                 alarm_name.setText(alarm.getName());
                 alarm_switch.setChecked(alarm.isEnabled());
                 alarm_switch.setOnChangeListener(isChecked -> {
-                    AlarmsDatabase.getInstance(AlarmsActivity.this)
-                            .alarmsDatabaseDao().update(alarm.getKey(), isChecked);
+                    final BaldDatabase baldDatabase = BaldDatabase.getInstance(AlarmsActivity.this);
+                    DatabaseExecutor.execute(() -> baldDatabase.alarmsDatabaseDao().update(alarm.getKey(), isChecked));
                     alarm.setEnabled(isChecked);
 
                     if (isChecked) {
@@ -249,9 +242,8 @@ public class AlarmsActivity extends com.bald.uriah.baldphone.activities.BaldActi
                 );
                 bt_delete.setOnClickListener((v) ->
                         S.showAreYouSureYouWantToDelete(alarm.getName(), AlarmsActivity.this, () -> {
-                            AlarmsDatabase.getInstance(AlarmsActivity.this)
-                                    .alarmsDatabaseDao().deleteByIds(alarm.getKey());
-                            AlarmsActivity.this.refreshViews();
+                            final BaldDatabase baldDatabase = BaldDatabase.getInstance(AlarmsActivity.this);
+                            DatabaseExecutor.execute(() -> baldDatabase.alarmsDatabaseDao().deleteByIds(alarm.getKey()));
                         }));
             }
         }
@@ -33,14 +33,20 @@ import android.widget.EditText;
 import android.widget.ImageView;
 
 import androidx.annotation.LayoutRes;
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.DividerItemDecoration;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bald.uriah.baldphone.R;
 import com.bald.uriah.baldphone.activities.BaldActivity;
+import com.bald.uriah.baldphone.adapters.ContactFilterPipeline;
 import com.bald.uriah.baldphone.adapters.ContactRecyclerViewAdapter;
+import com.bald.uriah.baldphone.databases.contacts.ContactsSnapshot;
 import com.bald.uriah.baldphone.utils.BaldToast;
+import com.bald.uriah.baldphone.utils.D;
 import com.bald.uriah.baldphone.utils.S;
 import com.bald.uriah.baldphone.utils.SoftInputAssist;
 import com.bald.uriah.baldphone.utils.Toggeler;
@@ -58,6 +64,7 @@ abstract class BaseContactsActivity extends BaldActivity {
     public static final String INTENT_EXTRA_CONTACT_ADAPTER_MODE = "INTENT_EXTRA_CONTACT_ADAPTER_MODE";
     private static final String FILTER_STATE = "FILTER_STATE";
     private static final String FAVORITE_STATE = "FAVORITE_STATE";
+    private static final long FILTER_DEBOUNCE = 150 * D.MILLISECOND;
     //<views>
     protected EditText et_filter_input;
     protected ImageView bt_speak, bt_favorite, bt_type;
@@ -66,11 +73,25 @@ abstract class BaseContactsActivity extends BaldActivity {
     protected BaldTitleBar baldTitleBar;
     protected ContentResolver contentResolver;
     protected ContactRecyclerViewAdapter contactRecyclerViewAdapter;
+    protected ContactsSnapshot contactsSnapshot;
     protected int mode = ContactRecyclerViewAdapter.MODE_DEFAULT;
 
     private String filter = "";
     private boolean favorite = false;
     private SoftInputAssist softInputAssist;
+    private final Runnable onContactsChanged = this::applyFilter;
+    private final ContactFilterPipeline filterPipeline = new ContactFilterPipeline(new ContactFilterPipeline.Listener() {
+        @Nullable
+        @Override
+        public ContactRecyclerViewAdapter.Rows getShownRows() {
+            return contactRecyclerViewAdapter == null ? null : contactRecyclerViewAdapter.getRows();
+        }
+
+        @Override
+        public void onRowsReady(@NonNull ContactRecyclerViewAdapter.Rows rows, @Nullable DiffUtil.DiffResult diff, boolean keyChanged) {
+            onFiltered(rows, diff, keyChanged);
+        }
+    });
 
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
@@ -90,7 +111,8 @@ abstract class BaseContactsActivity extends BaldActivity {
         attachXml();
         viewsInit();
 
-        applyFilter();
+        contactsSnapshot = ContactsSnapshot.getInstance(this);
+        contactsSnapshot.addListener(onContactsChanged);
     }
 
     @Override
@@ -112,6 +134,9 @@ abstract class BaseContactsActivity extends BaldActivity {
         super.onDestroy();
         if (softInputAssist != null)
             softInputAssist.onDestroy();
+        if (contactsSnapshot != null)
+            contactsSnapshot.removeListener(onContactsChanged);
+        filterPipeline.shutdown();
     }
 
     @Override
@@ -163,7 +188,7 @@ abstract class BaseContactsActivity extends BaldActivity {
                     @Override
                     public void afterTextChanged(Editable s) {
                         filter = et_filter_input.getText().toString().toLowerCase();
-                        applyFilter();
+                        requestFilter(FILTER_DEBOUNCE);
                     }
                 });
 
@@ -220,21 +245,47 @@ abstract class BaseContactsActivity extends BaldActivity {
         }
     }
 
+    /**
+     * Called on a background thread, only after {@link #contactsSnapshot} was loaded.
+     * Should filter it rather than query the contacts provider.
+     */
+    @WorkerThread
     protected abstract Cursor getCursorForFilter(String filter, boolean favorite);
 
+    /**
+     * Called once, when the contacts were loaded and shown for the first time.
+     */
+    protected void onContactsLoaded() {
+    }
+
+    /**
+     * Filters the contacts in the background and shows them as soon as possible.
+     */
     public void applyFilter() {
-        if (contactRecyclerViewAdapter != null) {
-            contactRecyclerViewAdapter.changeCursor(getCursorForFilter(filter, favorite));
+        requestFilter(0);
+    }
+
+    private void requestFilter(long delay) {
+        if (contactsSnapshot == null || !contactsSnapshot.isLoaded())
+            return; // will be applied by onContactsChanged
+        final String filter = this.filter;
+        final boolean favorite = this.favorite;
+        filterPipeline.request(favorite + filter, () -> getCursorForFilter(filter, favorite), delay);
+    }
+
+    private void onFiltered(ContactRecyclerViewAdapter.Rows rows, @Nullable DiffUtil.DiffResult diff, boolean filterChanged) {
+        if (contactRecyclerViewAdapter != null && diff != null) {
+            contactRecyclerViewAdapter.changeRows(rows, diff, filterChanged);
         } else {
             contactRecyclerViewAdapter =
                     new ContactRecyclerViewAdapter(
                             BaseContactsActivity.this,
-                            getCursorForFilter(filter, favorite),
+                            rows,
                             recyclerView,
                             mode);
             recyclerView.setAdapter(contactRecyclerViewAdapter);
+            onContactsLoaded();
         }
-
     }
 
     @Override
@@ -20,13 +20,10 @@ import android.content.Intent;
 import android.content.pm.ResolveInfo;
 import android.database.Cursor;
 import android.graphics.drawable.Drawable;
-import android.os.Bundle;
-import android.provider.ContactsContract;
 import android.telephony.PhoneNumberUtils;
 import android.util.Log;
 import android.view.View;
 
-import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.DividerItemDecoration;
 import androidx.recyclerview.widget.LinearLayoutManager;
@@ -52,12 +49,6 @@ import java.util.List;
 public class ShareActivity extends BaseContactsActivity {
     private static final String TAG = ShareActivity.class.getSimpleName();
     public static final String EXTRA_SHARABLE_URI = "EXTRA_SHARABLE_URI";
-    public static final String SORT_ORDER =
-            "upper(" + ContactsContract.CommonDataKinds.Phone.DISPLAY_NAME + ") ASC";
-    private static final String STAR_SELECTION =
-            "AND " + ContactsContract.Data.STARRED + " = 1";
-    private static final String SELECTION_NAME =
-            ContactsContract.Data.MIMETYPE + "='" + "vnd.android.cursor.item/vnd.com.whatsapp.profile" + "' AND " + ContactsContract.RawContacts.ACCOUNT_TYPE + "= ? AND " + ContactsContract.Data.DISPLAY_NAME + " LIKE ?";
     private Intent shareIntent;
     private BaldSwitch bald_switch;
     private ModularRecyclerView recyclerView;
@@ -65,10 +56,7 @@ public class ShareActivity extends BaseContactsActivity {
     private List<ResolveInfo> resolveInfoList = Collections.EMPTY_LIST;
 
     @Override
-    protected void onCreate(@Nullable Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        if (!checkPermissions(this, requiredPermissions()))
-            return;
+    protected void onContactsLoaded() {
         if (recyclerView != null && super.recyclerView.getAdapter().getItemCount() == 0) {
             differently_container.setVisibility(View.VISIBLE);
             whatsapp_container.setVisibility(View.GONE);
@@ -124,24 +112,7 @@ public class ShareActivity extends BaseContactsActivity {
 
     @Override
     protected Cursor getCursorForFilter(String filter, boolean favorite) {
-        return getContactsByNameFilter(filter, favorite);
-
-    }
-
-    private Cursor getContactsByNameFilter(String filter, boolean favorite) {
-        final String[] args = {"com.whatsapp", "%" + filter + "%"};
-        try {
-            return contentResolver.query(ContactsContract.Data.CONTENT_URI,
-                    ContactRecyclerViewAdapter.PROJECTION,
-                    SELECTION_NAME + (favorite ? (STAR_SELECTION) : ("")),
-                    args,
-                    SORT_ORDER);
-
-        } catch (Exception e) {
-            Log.e(TAG, e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException(e);
-        }
+        return contactsSnapshot.filterByName(filter, favorite, true);
     }
 
     public void whatsappShare(String lookupKey) {
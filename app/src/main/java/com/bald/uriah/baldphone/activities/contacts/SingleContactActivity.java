@@ -46,8 +46,10 @@ import com.bald.uriah.baldphone.activities.BaldActivity;
 import com.bald.uriah.baldphone.activities.DialerActivity;
 import com.bald.uriah.baldphone.activities.SOSActivity;
 import com.bald.uriah.baldphone.adapters.CallsRecyclerViewAdapter;
-import com.bald.uriah.baldphone.databases.calls.Call;
+import com.bald.uriah.baldphone.databases.DatabaseExecutor;
 import com.bald.uriah.baldphone.databases.calls.CallLogsHelper;
+import com.bald.uriah.baldphone.databases.calls.CallStats;
+import com.bald.uriah.baldphone.databases.calls.CallStatsAggregator;
 import com.bald.uriah.baldphone.databases.contacts.Contact;
 import com.bald.uriah.baldphone.databases.home_screen_pins.HomeScreenPinHelper;
 import com.bald.uriah.baldphone.utils.BDB;
@@ -61,7 +63,9 @@ import com.bald.uriah.baldphone.views.BaldTitleBar;
 import com.bald.uriah.baldphone.views.ScrollingHelper;
 import com.bumptech.glide.Glide;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Simple Activity for interacting with a {@link Contact}.
@@ -173,10 +177,7 @@ public class SingleContactActivity extends BaldActivity {
 
         inflateAdders();
 
-        final List<Call> callList =
-                CallLogsHelper.getForSpecificContact(contentResolver, contact);
-        if (!callList.isEmpty())
-            inflateHistory(callList);
+        loadHistory(contact);
 
     }
 
@@ -390,15 +391,33 @@ public class SingleContactActivity extends BaldActivity {
         }
     }
 
-    private void inflateHistory(List<Call> callList) {
+    /**
+     * Shows the counters of {@link CallStatsAggregator}, the call log itself is only queried when the user opens the history,
+     * and never on the main thread.
+     */
+    private void loadHistory(Contact shownContact) {
+        DatabaseExecutor.query(() -> {
+            final List<String> phoneNumbers = new ArrayList<>(shownContact.getPhoneList().size());
+            for (Pair<Integer, String> phone : shownContact.getPhoneList())
+                phoneNumbers.add(phone.second);
+            return CallStatsAggregator.getInstance(this).getContactStats(shownContact.getLookupKey(), phoneNumbers);
+        }, callStats -> {
+            // onStart may have shown the contact again meanwhile
+            if (contact == shownContact && !isDestroyed() && callStats.getTotalCalls() > 0)
+                inflateHistory(shownContact, callStats);
+        });
+    }
+
+    private void inflateHistory(Contact shownContact, CallStats callStats) {
         final View view = layoutInflater.inflate(R.layout.contact_history, ll, false);
+        final TextView title = view.findViewById(R.id.textView);
+        title.setText(String.format(Locale.getDefault(), "%s (%d)", getString(R.string.call_log), callStats.getTotalCalls()));
         final ScrollingHelper scrollingHelper = view.findViewById(R.id.scrolling_helper);
         final RecyclerView recyclerView = scrollingHelper.findViewById(R.id.child);
         final DividerItemDecoration dividerItemDecoration =
                 new DividerItemDecoration(recyclerView.getContext(), DividerItemDecoration.VERTICAL);
         dividerItemDecoration.setDrawable(getDrawable(R.drawable.ll_divider));
         recyclerView.addItemDecoration(dividerItemDecoration);
-        recyclerView.setAdapter(new CallsRecyclerViewAdapter(callList, this));
 
         final BaldPictureTextButton show = view.findViewById(R.id.bt_show);
         Toggeler.newSimpleTextImageToggeler(
@@ -409,7 +428,14 @@ public class SingleContactActivity extends BaldActivity {
                 R.drawable.drop_up_on_button,
                 R.string.show,
                 R.string.hide,
-                v -> scrollingHelper.setVisibility(View.VISIBLE),
+                v -> {
+                    if (recyclerView.getAdapter() == null)
+                        DatabaseExecutor.query(() -> CallLogsHelper.getForSpecificContact(contentResolver, shownContact), callList -> {
+                            if (!isDestroyed() && recyclerView.getAdapter() == null)
+                                recyclerView.setAdapter(new CallsRecyclerViewAdapter(callList, this));
+                        });
+                    scrollingHelper.setVisibility(View.VISIBLE);
+                },
                 v -> scrollingHelper.setVisibility(View.GONE));
         ll.addView(view);
     }
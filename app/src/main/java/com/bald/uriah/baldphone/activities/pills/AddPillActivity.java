@@ -32,9 +32,10 @@ import androidx.core.app.ActivityCompat;
 
 import com.bald.uriah.baldphone.R;
 import com.bald.uriah.baldphone.activities.BaldActivity;
+import com.bald.uriah.baldphone.databases.BaldDatabase;
+import com.bald.uriah.baldphone.databases.DatabaseExecutor;
 import com.bald.uriah.baldphone.databases.reminders.Reminder;
 import com.bald.uriah.baldphone.databases.reminders.ReminderScheduler;
-import com.bald.uriah.baldphone.databases.reminders.RemindersDatabase;
 import com.bald.uriah.baldphone.utils.BPrefs;
 import com.bald.uriah.baldphone.utils.BaldToast;
 import com.bald.uriah.baldphone.utils.D;
@@ -79,33 +80,36 @@ public class AddPillActivity extends BaldActivity {
             final int remindersIndex = getIntent().getIntExtra(REMINDER_KEY_AS_EXTRA_KEY, -1);
             if (remindersIndex == -1)
                 throw new IllegalArgumentException("REMINDER_KEY_AS_EXTRA_KEY cannot be -1!!");
-            final Reminder reminder = RemindersDatabase.getInstance(this).remindersDatabaseDao().getById(remindersIndex);
-            reminderIdToEdit = reminder.getId();
+            reminderIdToEdit = remindersIndex;
+            DatabaseExecutor.query(() -> BaldDatabase.getInstance(this).remindersDatabaseDao().getById(remindersIndex), this::applyReminder);
+        }
+    }
 
-            baldMultipleSelection.setSelection(reminder.getStartingTime());
+    private void applyReminder(@Nullable Reminder reminder) {
+        if (reminder == null)
+            return;
+        baldMultipleSelection.setSelection(reminder.getStartingTime());
 
-            if (reminder.getBinaryContentType() == Reminder.BINARY_RGB) {
-                customColor = reminder.getBinaryContent();
-                colors[INDEX_CUSTOM].setVisibility(View.VISIBLE);
-                colors[INDEX_CUSTOM].setImageTintList(ColorStateList.valueOf(Color.rgb(customColor[0] & 0xFF, customColor[1] & 0xFF, customColor[2] & 0xFF)));
+        if (reminder.getBinaryContentType() == Reminder.BINARY_RGB) {
+            customColor = reminder.getBinaryContent();
+            colors[INDEX_CUSTOM].setVisibility(View.VISIBLE);
+            colors[INDEX_CUSTOM].setImageTintList(ColorStateList.valueOf(Color.rgb(customColor[0] & 0xFF, customColor[1] & 0xFF, customColor[2] & 0xFF)));
 
-                colors[selectedColor].setBackgroundResource(R.drawable.style_for_buttons_transparent);
-                selectedColor = INDEX_CUSTOM;
-                colors[selectedColor].setBackgroundResource(R.drawable.btn_selected);
-            }
+            colors[selectedColor].setBackgroundResource(R.drawable.style_for_buttons_transparent);
+            selectedColor = INDEX_CUSTOM;
+            colors[selectedColor].setBackgroundResource(R.drawable.btn_selected);
+        }
 
-            if (reminder.getTextualContent() != null)
-                reminder_edit_name.setText(reminder.getTextualContent());
+        if (reminder.getTextualContent() != null)
+            reminder_edit_name.setText(reminder.getTextualContent());
 
-            final int alarmDays = reminder.getDays();
-            if (alarmDays == D.Days.ALL)
-                every_day.setChecked(true);
-            else {
-                for (int i = 0; i < daysCheckBoxes.length; i++) {
-                    daysCheckBoxes[i].setChecked((alarmDays | (D.Days.SUNDAY << i)) == alarmDays);
-                }
+        final int alarmDays = reminder.getDays();
+        if (alarmDays == D.Days.ALL)
+            every_day.setChecked(true);
+        else {
+            for (int i = 0; i < daysCheckBoxes.length; i++) {
+                daysCheckBoxes[i].setChecked((alarmDays | (D.Days.SUNDAY << i)) == alarmDays);
             }
-
         }
 
     }
@@ -169,19 +173,23 @@ public class AddPillActivity extends BaldActivity {
             reminder.setBinaryContent(customColor);
         }
 
-        if (reminderIdToEdit == -1) {
-            int id = (int) RemindersDatabase.getInstance(this).remindersDatabaseDao().insert(reminder);
-            reminder.setId(id);
-        } else {
-            reminder.setId(reminderIdToEdit);
-            RemindersDatabase.getInstance(this).remindersDatabaseDao().replace(reminder);
+        bt_submit.setEnabled(false);
+        final BaldDatabase baldDatabase = BaldDatabase.getInstance(this);
+        DatabaseExecutor.execute(() -> {
+            if (reminderIdToEdit == -1) {
+                int id = (int) baldDatabase.remindersDatabaseDao().insert(reminder);
+                reminder.setId(id);
+            } else {
+                reminder.setId(reminderIdToEdit);
+                baldDatabase.remindersDatabaseDao().replace(reminder);
+            }
+        }, () -> {
             ReminderScheduler.scheduleReminder(reminder, this);
-        }
-        ReminderScheduler.scheduleReminder(reminder, this);
 
-        setResult(RESULT_OK, new Intent().putExtra(Reminder.REMINDER_KEY_VIA_INTENTS, reminder.getId())
-                .putExtra(AddPillActivity.REMINDER_KEY_AS_EXTRA_KEY, reminder.getId()));
-        finish();
+            setResult(RESULT_OK, new Intent().putExtra(Reminder.REMINDER_KEY_VIA_INTENTS, reminder.getId())
+                    .putExtra(AddPillActivity.REMINDER_KEY_AS_EXTRA_KEY, reminder.getId()));
+            finish();
+        });
 
     }
 
@@ -30,12 +30,14 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.Nullable;
+import androidx.lifecycle.Lifecycle;
 
 import com.bald.uriah.baldphone.R;
 import com.bald.uriah.baldphone.activities.TimedBaldActivity;
+import com.bald.uriah.baldphone.databases.BaldDatabase;
+import com.bald.uriah.baldphone.databases.DatabaseExecutor;
 import com.bald.uriah.baldphone.databases.reminders.Reminder;
 import com.bald.uriah.baldphone.databases.reminders.ReminderScheduler;
-import com.bald.uriah.baldphone.databases.reminders.RemindersDatabase;
 import com.bald.uriah.baldphone.utils.Animations;
 import com.bald.uriah.baldphone.utils.BaldToast;
 import com.bald.uriah.baldphone.utils.D;
@@ -63,11 +65,20 @@ public class PillScreenActivity extends TimedBaldActivity {
         if (intent == null) throw new AssertionError();
         int key = intent.getIntExtra(Reminder.REMINDER_KEY_VIA_INTENTS, -1);
         if (key == -1) throw new AssertionError();
-        reminder = RemindersDatabase.getInstance(this).remindersDatabaseDao().getById(key);
-        if (reminder == null) {
+        DatabaseExecutor.query(() -> BaldDatabase.getInstance(this).remindersDatabaseDao().getById(key), this::onReminderLoaded);
+    }
+
+    /**
+     * The reminder is read off the main thread; the screen is only set up once it is loaded.
+     */
+    private void onReminderLoaded(@Nullable Reminder loadedReminder) {
+        if (loadedReminder == null) {
             S.logImportant("reminder == null!, returning");
             return;
         }
+        if (isFinishing() || isDestroyed())
+            return;
+        reminder = loadedReminder;
 
         final String textual_content = reminder.getTextualContent();
         if (textual_content == null) tv_textual_content.setVisibility(View.GONE);
@@ -101,6 +112,8 @@ public class PillScreenActivity extends TimedBaldActivity {
         try {
             Uri notification = RingtoneManager.getDefaultUri(RingtoneManager.TYPE_NOTIFICATION);
             ringtone = RingtoneManager.getRingtone(getApplicationContext(), notification);
+            if (ringtone != null && getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.STARTED))
+                ringtone.play();
         } catch (Exception e) {
             BaldToast.error(this);
             Log.e(TAG, e.getMessage());
@@ -143,7 +156,8 @@ public class PillScreenActivity extends TimedBaldActivity {
     private void snooze() {
         if (vibrator != null)
             vibrator.vibrate(D.vibetime);
-        ReminderScheduler.scheduleSnooze(reminder, this);
+        if (reminder != null)
+            ReminderScheduler.scheduleSnooze(reminder, this);
         finish();
     }
 
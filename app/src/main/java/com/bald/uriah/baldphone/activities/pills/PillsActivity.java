@@ -16,6 +16,7 @@
 
 package com.bald.uriah.baldphone.activities.pills;
 
+import android.content.Context;
 import android.content.Intent;
 import android.content.res.Resources;
 import android.graphics.Color;
@@ -36,9 +37,10 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.bald.uriah.baldphone.R;
 import com.bald.uriah.baldphone.activities.BaldActivity;
+import com.bald.uriah.baldphone.databases.BaldDatabase;
+import com.bald.uriah.baldphone.databases.DatabaseExecutor;
 import com.bald.uriah.baldphone.databases.reminders.Reminder;
 import com.bald.uriah.baldphone.databases.reminders.ReminderScheduler;
-import com.bald.uriah.baldphone.databases.reminders.RemindersDatabase;
 import com.bald.uriah.baldphone.utils.BaldGridItemDecoration;
 import com.bald.uriah.baldphone.utils.BaldToast;
 import com.bald.uriah.baldphone.utils.D;
@@ -77,14 +79,10 @@ public class PillsActivity extends BaldActivity {
                         r.getDimensionPixelSize(R.dimen.padding_dividers)));
 
         recyclerView.setAdapter(new PillsRecyclerViewAdapter());
-
-    }
-
-    @Override
-    protected void onStart() {
-        super.onStart();
-        list = RemindersDatabase.getInstance(this).remindersDatabaseDao().getAllRemindersOrderedByTime();
-        recyclerView.getAdapter().notifyDataSetChanged();
+        BaldDatabase.getInstance(this).remindersDatabaseDao().observeAllRemindersOrderedByTime().observe(this, reminders -> {
+            list = reminders;
+            recyclerView.getAdapter().notifyDataSetChanged();
+        });
     }
 
     private void attachXml() {
@@ -99,21 +97,16 @@ public class PillsActivity extends BaldActivity {
     }
 
     private void cancelAllAlarms() {
-        final RemindersDatabase remindersDatabase = RemindersDatabase.getInstance(this);
-        final List<Reminder> reminderList =
-                remindersDatabase.remindersDatabaseDao()
-                        .getAllRemindersOrderedByTime();
-        for (Reminder reminder : reminderList)
-            ReminderScheduler.cancelReminder(reminder.getId(), this);
-        remindersDatabase.remindersDatabaseDao().deleteAll();
-
-        refreshViews();
-        BaldToast.from(this).setText(R.string.removed_all_alarms).show();
-    }
-
-    public void refreshViews() {
-        list = RemindersDatabase.getInstance(this).remindersDatabaseDao().getAllRemindersOrderedByTime();
-        recyclerView.getAdapter().notifyDataSetChanged();
+        final BaldDatabase baldDatabase = BaldDatabase.getInstance(this);
+        final Context context = getApplicationContext();
+        DatabaseExecutor.execute(() -> {
+            final List<Reminder> reminderList =
+                    baldDatabase.remindersDatabaseDao()
+                            .getAllRemindersOrderedByTime();
+            for (Reminder reminder : reminderList)
+                ReminderScheduler.cancelReminder(reminder.getId(), context);
+            baldDatabase.remindersDatabaseDao().deleteAll();
+        }, () -> BaldToast.from(this).setText(R.string.removed_all_alarms).show());
     }
 
     @Override
@@ -121,7 +114,6 @@ public class PillsActivity extends BaldActivity {
         if (requestCode == ADD_REMINDER_REQUEST_CODE)
             if (resultCode == RESULT_OK) {
                 BaldToast.from(this).setText(R.string.pill_added).show();
-                refreshViews();
             }
 
         super.onActivityResult(requestCode, resultCode, data);
@@ -200,9 +192,8 @@ public class PillsActivity extends BaldActivity {
                 );
                 bt_delete.setOnClickListener((v) ->
                         S.showAreYouSureYouWantToDelete(reminder.getTextualContent(), PillsActivity.this, () -> {
-                            RemindersDatabase.getInstance(PillsActivity.this).remindersDatabaseDao().removeReminders(reminder.getId());
-                            list.remove(reminder);
-                            notifyDataSetChanged();
+                            final BaldDatabase baldDatabase = BaldDatabase.getInstance(PillsActivity.this);
+                            DatabaseExecutor.execute(() -> baldDatabase.remindersDatabaseDao().removeReminders(reminder.getId()));
                         }));
 
                 if (reminder.getBinaryContentType() == Reminder.BINARY_RGB) {
@@ -16,14 +16,17 @@
 
 package com.bald.uriah.baldphone.adapters;
 
+import android.util.SparseArray;
 import android.view.View;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.core.util.Pools;
 
 import com.bald.uriah.baldphone.activities.HomeScreenActivity;
 import com.bald.uriah.baldphone.databases.home_screen_pins.HomeScreenPinHelper;
+import com.bald.uriah.baldphone.databases.home_screen_pins.HomeScreenPinRepository;
 import com.bald.uriah.baldphone.utils.BPrefs;
 import com.bald.uriah.baldphone.views.home.HomePage1;
 import com.bald.uriah.baldphone.views.home.HomePage2;
@@ -45,6 +48,11 @@ import java.util.List;
 public class BaldPagerAdapter extends BaldViewAdapter {
     private static final String TAG = BaldPagerAdapter.class.getSimpleName();
     private final Pools.SimplePool<HomeViewFactory> factoryPool = new Pools.SimplePool<>(10);
+    /**
+     * The instantiated {@link HomeViewFactory} pages, by their index
+     */
+    private final SparseArray<HomeViewFactory> factoryPages = new SparseArray<>();
+    private final HomeScreenPinRepository pinRepository;
     /**
      * This field holds the index of the {@link HomePage1}.
      * It depends on the value of {@link BPrefs#NOTE_VISIBLE_KEY} in {@link BPrefs}
@@ -53,19 +61,58 @@ public class BaldPagerAdapter extends BaldViewAdapter {
     @SuppressWarnings("unchecked")
     public List<HomeScreenPinHelper.HomeScreenPinnable> pinnedList = Collections.EMPTY_LIST;
     private int numItemsBefore, numItems;
+    /**
+     * Set while {@link #rebindHomePages()} replaces them
+     */
+    private boolean homePagesStale;
     private HomeScreenActivity homeScreen;
 
     public BaldPagerAdapter(HomeScreenActivity homeScreen) {
         this.homeScreen = homeScreen;
+        this.pinRepository = new HomeScreenPinRepository(homeScreen, HomeViewFactory.AMOUNT_PER_PAGE);
         startingPage = (BPrefs.get(this.homeScreen).getBoolean(BPrefs.NOTE_VISIBLE_KEY, BPrefs.NOTE_VISIBLE_DEFAULT_VALUE) ? 2 : 1);
         numItems = numItemsBefore = startingPage + 1;
     }
 
-    public void obtainAppList() {
-        pinnedList = HomeScreenPinHelper.getAll(homeScreen);
-        numItems =
-                numItemsBefore + (pinnedList.size() / HomeViewFactory.AMOUNT_PER_PAGE + (pinnedList.size() % HomeViewFactory.AMOUNT_PER_PAGE == 0 ? 0 : 1));
-        notifyDataSetChanged();
+    /**
+     * Reads the pinned apps and contacts through the {@link HomeScreenPinRepository} and applies them on the main thread.
+     * Only the {@link HomeViewFactory} pages whose items changed are bound again,
+     * and {@link #notifyDataSetChanged()} is only called if the number of pages changed.
+     *
+     * @param onObtained called on the main thread after the pages were updated
+     */
+    public void obtainAppList(@Nullable Runnable onObtained) {
+        pinRepository.refresh((pinned, changedPages) -> {
+            pinnedList = pinned;
+            final int numItemsOld = numItems;
+            numItems = numItemsBefore + HomeScreenPinRepository.pageCount(pinnedList.size(), HomeViewFactory.AMOUNT_PER_PAGE);
+            for (int i = 0; i < factoryPages.size(); i++) {
+                final HomeViewFactory homeViewFactory = factoryPages.valueAt(i);
+                if (changedPages.get(factoryPages.keyAt(i)) && isShown(homeViewFactory))
+                    homeViewFactory.rebind();
+            }
+            if (numItems != numItemsOld)
+                notifyDataSetChanged();
+            if (onObtained != null)
+                onObtained.run();
+        });
+    }
+
+    /**
+     * Replaces {@link HomePage1} and {@link HomePage2} after their apps were changed in the settings,
+     * leaving the other pages as they are.
+     */
+    public void rebindHomePages() {
+        homePagesStale = true;
+        notifyDataSetChanged(); // asks getItemPosition of every page synchronously
+        homePagesStale = false;
+    }
+
+    /**
+     * @return false for a page which will be removed as there are fewer pinned items now
+     */
+    private boolean isShown(HomeViewFactory homeViewFactory) {
+        return homeViewFactory.getIndex() < numItems - numItemsBefore;
     }
 
     public View getItem(int position) {
@@ -90,6 +137,7 @@ public class BaldPagerAdapter extends BaldViewAdapter {
                 view = homeFragmentFactory;
                 ((HomeViewFactory) view).populate(position - 2);
                 view.setTag(HomeViewFactory.TAG + (position - 2));
+                factoryPages.put(position - 2, homeFragmentFactory);
                 break;
         }
         return view;
@@ -113,6 +161,7 @@ public class BaldPagerAdapter extends BaldViewAdapter {
         super.destroyItem(container, virtualPosition, object);
         if (object instanceof HomeViewFactory) {
             final HomeViewFactory homeFragmentFactory = (HomeViewFactory) object;
+            factoryPages.remove(homeFragmentFactory.getIndex());
             homeFragmentFactory.recycle();
             factoryPool.release(homeFragmentFactory);
         }
@@ -120,6 +169,10 @@ public class BaldPagerAdapter extends BaldViewAdapter {
 
     @Override
     public int getItemPosition(@NonNull Object object) {
-        return object instanceof HomeViewFactory ? POSITION_NONE : super.getItemPosition(object);
+        if (object instanceof HomeViewFactory)
+            return isShown((HomeViewFactory) object) ? POSITION_UNCHANGED : POSITION_NONE;
+        if (homePagesStale && (object instanceof HomePage1 || object instanceof HomePage2))
+            return POSITION_NONE;
+        return super.getItemPosition(object);
     }
 }
\ No newline at end of file
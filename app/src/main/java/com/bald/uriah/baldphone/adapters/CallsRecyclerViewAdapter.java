@@ -44,16 +44,20 @@ import com.bald.uriah.baldphone.activities.DialerActivity;
 import com.bald.uriah.baldphone.activities.contacts.AddContactActivity;
 import com.bald.uriah.baldphone.activities.contacts.SingleContactActivity;
 import com.bald.uriah.baldphone.databases.calls.Call;
+import com.bald.uriah.baldphone.databases.calls.CallLogsHelper;
+import com.bald.uriah.baldphone.databases.contacts.ContactPhotoLoader;
 import com.bald.uriah.baldphone.databases.contacts.MiniContact;
+import com.bald.uriah.baldphone.databases.contacts.MiniContactResolver;
 import com.bald.uriah.baldphone.utils.BDB;
 import com.bald.uriah.baldphone.utils.BDialog;
 import com.bald.uriah.baldphone.utils.RandomColorMaker;
 import com.bald.uriah.baldphone.utils.S;
 import com.bald.uriah.baldphone.views.ModularRecyclerView;
-import com.bumptech.glide.Glide;
 
 import org.joda.time.DateTime;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class CallsRecyclerViewAdapter extends ModularRecyclerView.ModularAdapter<CallsRecyclerViewAdapter.ViewHolder> {
@@ -67,18 +71,37 @@ public class CallsRecyclerViewAdapter extends ModularRecyclerView.ModularAdapter
     public static final int REJECTED_TYPE = 5;
     public static final int BLOCKED_TYPE = 6;
     public static final int ANSWERED_EXTERNALLY_TYPE = 7;
+    /**
+     * Calls resolved ahead of and behind the one being bound
+     */
+    private static final int PREFETCH_AHEAD = 20, PREFETCH_BEHIND = 5;
 
     @ColorInt
     private final int textColorOnRegular;
     private final List<Call> callList;
+    /**
+     * Parallel to {@link #callList}, see {@link CallLogsHelper#dayHeaders}
+     */
+    private final List<String> dayHeaders;
     private final BaldActivity activity;
     private final LayoutInflater inflater;
     private final Drawable letterContactBackground, privateFace, face;
     private RandomColorMaker randomColorMaker;
+    private final MiniContactResolver miniContactResolver;
+    private final Runnable onContactsChanged = this::notifyDataSetChanged;
+
+    /**
+     * Starts empty, calls are added by {@link #appendCalls} as they are loaded.
+     */
+    public CallsRecyclerViewAdapter(BaldActivity activity) {
+        this(new ArrayList<>(), activity);
+    }
 
     public CallsRecyclerViewAdapter(List<Call> callList, BaldActivity activity) {
-        this.callList = callList;
+        this.callList = new ArrayList<>(callList);
+        this.dayHeaders = new ArrayList<>(Arrays.asList(CallLogsHelper.dayHeaders(activity, callList, null)));
         this.activity = activity;
+        this.miniContactResolver = MiniContactResolver.getInstance(activity);
         this.inflater = (LayoutInflater) activity.getSystemService(Context.LAYOUT_INFLATER_SERVICE);
 
         final TypedValue typedValue = new TypedValue();
@@ -109,6 +132,37 @@ public class CallsRecyclerViewAdapter extends ModularRecyclerView.ModularAdapter
         return callList.size();
     }
 
+    /**
+     * @param dayHeaders as computed by {@link CallLogsHelper#dayHeaders} with the last call already shown
+     */
+    public void appendCalls(@NonNull List<Call> calls, @NonNull String[] dayHeaders) {
+        final int start = callList.size();
+        callList.addAll(calls);
+        this.dayHeaders.addAll(Arrays.asList(dayHeaders));
+        notifyItemRangeInserted(start, calls.size());
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        miniContactResolver.addInvalidationListener(onContactsChanged);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        miniContactResolver.removeInvalidationListener(onContactsChanged);
+    }
+
+    /**
+     * Resolves the contacts of the calls around the index in the background, and rebinds them once they were resolved.
+     */
+    private void prefetchAround(int index) {
+        final int start = Math.max(0, index - PREFETCH_BEHIND);
+        final int end = Math.min(callList.size(), index + PREFETCH_AHEAD);
+        miniContactResolver.prefetch(callList.subList(start, end), () -> notifyItemRangeChanged(start, end - start));
+    }
+
     class ViewHolder extends RecyclerView.ViewHolder implements View.OnClickListener {
         private static final int expandedSize = 150;
         private static final int notExpandedSize = 100;
@@ -136,9 +190,17 @@ public class CallsRecyclerViewAdapter extends ModularRecyclerView.ModularAdapter
             ll_contact_only.setOnClickListener(this);
         }
 
+        private Drawable letterBackground(String lookupKey) {
+            return activity.colorful ?
+                    new ColorDrawable(randomColorMaker.generateColor(lookupKey.hashCode())) :
+                    letterContactBackground;
+        }
+
         public void update(int index) {
             final Call call = callList.get(index);
-            final MiniContact miniContact = call.getMiniContact(activity);
+            if (!miniContactResolver.isResolved(call))
+                prefetchAround(index); // shown as an unknown number until then
+            final MiniContact miniContact = miniContactResolver.getCached(call);
             if (miniContact != null) {
                 if (miniContact.photo == null) {
                     image_letter.setText(miniContact.name != null ?
@@ -147,14 +209,9 @@ public class CallsRecyclerViewAdapter extends ModularRecyclerView.ModularAdapter
                                     null :
                             null);
                     image_letter.setVisibility(View.VISIBLE);
-                    Glide.with(profile_pic).load(
-                            activity.colorful ?
-                                    new ColorDrawable(randomColorMaker.generateColor(miniContact.lookupKey.hashCode())) :
-                                    letterContactBackground
-                    ).into(profile_pic);
+                    ContactPhotoLoader.showDrawable(profile_pic, letterBackground(miniContact.lookupKey));
                 } else {
-                    if (S.isValidContextForGlide(profile_pic.getContext()))
-                        Glide.with(profile_pic).load(miniContact.photo).into(profile_pic);
+                    ContactPhotoLoader.loadPhoto(profile_pic, miniContact.lookupKey, miniContact.photo, letterBackground(miniContact.lookupKey));
                     image_letter.setVisibility(View.INVISIBLE);
                 }
                 contact_name.setText(miniContact.name);
@@ -165,22 +222,16 @@ public class CallsRecyclerViewAdapter extends ModularRecyclerView.ModularAdapter
             } else {
                 image_letter.setVisibility(View.INVISIBLE);
                 if (call.isPrivate()) {
-                    Glide.with(profile_pic).load(privateFace).into(profile_pic);
+                    ContactPhotoLoader.showDrawable(profile_pic, privateFace);
                     contact_name.setText(R.string.private_number);
                 } else {
-                    Glide.with(profile_pic).load(face).into(profile_pic);
+                    ContactPhotoLoader.showDrawable(profile_pic, face);
                     contact_name.setText(call.phoneNumber);
                 }
             }
 
             setType(call.callType);
-            setDay(
-                    (index == 0 ||
-                            new DateTime(callList.get(index - 1).dateTime).getDayOfYear() !=
-                                    new DateTime(call.dateTime).getDayOfYear()) ?
-                            S.stringTimeFromLong(activity, call.dateTime, false) :
-                            null
-            );
+            setDay(dayHeaders.get(index));
 
             final DateTime dateTime = new DateTime(call.dateTime);
             tv_time.setText(S.numberToAlarmString(dateTime.getHourOfDay(), dateTime.getMinuteOfHour()));
@@ -262,8 +313,17 @@ public class CallsRecyclerViewAdapter extends ModularRecyclerView.ModularAdapter
 
         @Override
         public void onClick(View v) {
-            final Call call = callList.get(getAdapterPosition());
-            final MiniContact miniContact = call.getMiniContact(activity);
+            final int position = getAdapterPosition();
+            if (position == RecyclerView.NO_POSITION)
+                return;
+            final Call call = callList.get(position);
+            miniContactResolver.resolveAsync(call, miniContact -> {
+                if (!activity.isFinishing())
+                    onCallClicked(call, miniContact);
+            });
+        }
+
+        private void onCallClicked(Call call, @Nullable MiniContact miniContact) {
             if (miniContact != null) {
                 activity.startActivity(
                         new Intent(activity, SingleContactActivity.class)
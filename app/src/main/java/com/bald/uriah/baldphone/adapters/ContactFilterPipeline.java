@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.adapters;
+
+import android.database.Cursor;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import androidx.recyclerview.widget.DiffUtil;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs contact queries for a {@link ContactRecyclerViewAdapter} off the main thread:
+ * requests are debounced, the rows are read and diffed against the shown ones on a background thread,
+ * and a result is only delivered if no newer request was made meanwhile.
+ */
+public class ContactFilterPipeline {
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Runnable runnable = this::run;
+    private final Listener listener;
+    /**
+     * Incremented by every run, a result of an older run is thrown away
+     */
+    private volatile int generation = 0;
+    private String pendingKey, shownKey;
+    private Query pendingQuery;
+
+    public ContactFilterPipeline(@NonNull Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * A request replaces the previous one if that one did not start yet.
+     *
+     * @param key what is being searched for, the list only scrolls to the top when it changes
+     */
+    @MainThread
+    public void request(@NonNull String key, @NonNull Query query, long delay) {
+        pendingKey = key;
+        pendingQuery = query;
+        handler.removeCallbacks(runnable);
+        handler.postDelayed(runnable, delay);
+    }
+
+    /**
+     * Drops pending requests and results, the pipeline cannot be used afterwards.
+     */
+    @MainThread
+    public void shutdown() {
+        handler.removeCallbacks(runnable);
+        generation++;
+        executor.shutdown();
+    }
+
+    private void run() {
+        if (executor.isShutdown())
+            return;
+        final int generation = ++this.generation;
+        final String key = pendingKey;
+        final Query query = pendingQuery;
+        final ContactRecyclerViewAdapter.Rows oldRows = listener.getShownRows();
+        executor.execute(() -> {
+            if (generation != this.generation)
+                return; // a newer request was made meanwhile
+            final ContactRecyclerViewAdapter.Rows rows = new ContactRecyclerViewAdapter.Rows(query.query());
+            final DiffUtil.DiffResult diff = oldRows == null ? null : ContactRecyclerViewAdapter.calculateDiff(oldRows, rows);
+            handler.post(() -> {
+                if (generation != this.generation)
+                    return;
+                final boolean keyChanged = !key.equals(shownKey);
+                shownKey = key;
+                listener.onRowsReady(rows, diff, keyChanged);
+            });
+        });
+    }
+
+    @FunctionalInterface
+    public interface Query {
+        /**
+         * @return cursor with {@link ContactRecyclerViewAdapter#PROJECTION}
+         */
+        @WorkerThread
+        @NonNull
+        Cursor query();
+    }
+
+    public interface Listener {
+        /**
+         * @return the rows the adapter shows now, null if there is no adapter yet
+         */
+        @Nullable
+        ContactRecyclerViewAdapter.Rows getShownRows();
+
+        /**
+         * @param diff       from {@link #getShownRows()} to {@code rows}, null if there were none
+         * @param keyChanged whether the rows are for another search than the shown ones
+         */
+        void onRowsReady(@NonNull ContactRecyclerViewAdapter.Rows rows, @Nullable DiffUtil.DiffResult diff, boolean keyChanged);
+    }
+}
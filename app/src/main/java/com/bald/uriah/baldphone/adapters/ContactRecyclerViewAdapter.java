@@ -21,8 +21,8 @@ import android.content.res.Resources;
 import android.database.Cursor;
 import android.graphics.drawable.ColorDrawable;
 import android.graphics.drawable.Drawable;
-import android.net.Uri;
 import android.provider.ContactsContract;
+import android.text.TextUtils;
 import android.util.SparseIntArray;
 import android.util.TypedValue;
 import android.view.LayoutInflater;
@@ -36,6 +36,7 @@ import androidx.annotation.ColorInt;
 import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.LinearSmoothScroller;
 import androidx.recyclerview.widget.RecyclerView;
@@ -45,10 +46,12 @@ import com.bald.uriah.baldphone.activities.BaldActivity;
 import com.bald.uriah.baldphone.activities.SOSActivity;
 import com.bald.uriah.baldphone.activities.contacts.ShareActivity;
 import com.bald.uriah.baldphone.activities.contacts.SingleContactActivity;
+import com.bald.uriah.baldphone.databases.contacts.ContactPhotoLoader;
 import com.bald.uriah.baldphone.fragments_and_dialogs.LetterChooserDialog;
 import com.bald.uriah.baldphone.utils.RandomColorMaker;
 import com.bald.uriah.baldphone.views.ModularRecyclerView;
-import com.bumptech.glide.Glide;
+
+import java.util.Arrays;
 
 public class ContactRecyclerViewAdapter extends ModularRecyclerView.ModularAdapter<ContactRecyclerViewAdapter.ViewHolder> {
     public final static String[] PROJECTION = {
@@ -69,13 +72,13 @@ public class ContactRecyclerViewAdapter extends ModularRecyclerView.ModularAdapt
     @ColorInt
     private final int textColorOnGold, textColorOnButton;
     private RandomColorMaker randomColorMaker;
-    private Cursor cursor;
+    private Rows rows;
 
-    public ContactRecyclerViewAdapter(BaldActivity activity, Cursor cursor, RecyclerView recyclerView, @IntRange(from = MODE_DEFAULT, to = MODE_SHARE) int mode) {
+    public ContactRecyclerViewAdapter(BaldActivity activity, Rows rows, RecyclerView recyclerView, @IntRange(from = MODE_DEFAULT, to = MODE_SHARE) int mode) {
         this.mode = mode;
         this.activity = activity;
         this.layoutInflater = LayoutInflater.from(activity);
-        this.cursor = cursor;
+        this.rows = rows;
         this.recyclerView = recyclerView;
         final TypedValue typedValue = new TypedValue();
         final Resources.Theme theme = activity.getTheme();
@@ -88,31 +91,25 @@ public class ContactRecyclerViewAdapter extends ModularRecyclerView.ModularAdapt
         theme.resolveAttribute(R.attr.bald_text_on_button, typedValue, true);
         textColorOnButton = typedValue.data;
 
-        applyToCursor();
+        applyRows();
     }
 
-    private void applyToCursor() {
+    private void applyRows() {
         letterToPosition.clear();
-        cursor.moveToFirst();
-        String previousFirstLetter = null;
-        String tmpThis;
-
-        for (int i = 0; i < cursor.getCount(); i++) {
-            cursor.moveToPosition(i);
-            tmpThis = cursor.getString(cursor.getColumnIndex(ContactsContract.Data.DISPLAY_NAME)).substring(0, 1).toUpperCase();
-            if (!tmpThis.equals(previousFirstLetter)) {
-                letterToPosition.append(tmpThis.charAt(0), i);
-            }
-            previousFirstLetter = tmpThis;
-        }
+        for (int i = 0; i < rows.sectionStarts.length; i++)
+            letterToPosition.put(rows.letters[rows.sectionStarts[i]].charAt(0), rows.sectionStarts[i]);
     }
 
-    public void changeCursor(@NonNull Cursor cursor) {
-        this.cursor = cursor;
-        applyToCursor();
-        notifyDataSetChanged();
+    /**
+     * @param diff        from {@link #getRows()} to the new rows, see {@link #calculateDiff(Rows, Rows)}
+     * @param scrollToTop true if the rows are the result of another search, not a reload of the same one
+     */
+    public void changeRows(@NonNull Rows newRows, @NonNull DiffUtil.DiffResult diff, boolean scrollToTop) {
+        this.rows = newRows;
+        applyRows();
+        diff.dispatchUpdatesTo(this);
 
-        if (getItemCount() > 0) {
+        if (scrollToTop && getItemCount() > 0) {
             RecyclerView.SmoothScroller smoothScroller = new LinearSmoothScroller(activity) {
                 @Override
                 protected int getVerticalSnapPreference() {
@@ -125,6 +122,42 @@ public class ContactRecyclerViewAdapter extends ModularRecyclerView.ModularAdapt
 
     }
 
+    @NonNull
+    public Rows getRows() {
+        return rows;
+    }
+
+    /**
+     * May run on any thread, both rows are immutable.
+     */
+    @NonNull
+    public static DiffUtil.DiffResult calculateDiff(@NonNull Rows oldRows, @NonNull Rows newRows) {
+        return DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldRows.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newRows.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                return oldRows.lookupKeys[oldItemPosition].equals(newRows.lookupKeys[newItemPosition]);
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                return oldRows.names[oldItemPosition].equals(newRows.names[newItemPosition])
+                        && TextUtils.equals(oldRows.photos[oldItemPosition], newRows.photos[newItemPosition])
+                        && oldRows.favorites[oldItemPosition] == newRows.favorites[newItemPosition]
+                        && oldRows.startsSection[oldItemPosition] == newRows.startsSection[newItemPosition];
+            }
+        }, false);
+    }
+
     @NonNull
     @Override
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -137,51 +170,119 @@ public class ContactRecyclerViewAdapter extends ModularRecyclerView.ModularAdapt
     @Override
     public void onBindViewHolder(final @NonNull ViewHolder holder, final int position) {
         super.onBindViewHolder(holder, position);
-        cursor.moveToPosition(position);
-
-        holder.lookupKey = cursor.getString(cursor.getColumnIndex(ContactsContract.Data.LOOKUP_KEY));
-        final String name = cursor.getString(cursor.getColumnIndex(ContactsContract.Data.DISPLAY_NAME));
-        final String letter = name.substring(0, 1).toUpperCase();
-        holder.setFavorite(cursor.getInt(cursor.getColumnIndex(ContactsContract.Data.STARRED)) == 1);
-        holder.tv_contact_name.setText(name);
-
-        if (position == 0) {
-            holder.setLetter(name.substring(0, 1));
-        } else {
-            final boolean moved = cursor.moveToPosition(position - 1);
-            if (moved) {
-                final String prevNameFirstLetter = cursor.getString(cursor.getColumnIndex(ContactsContract.Data.DISPLAY_NAME)).substring(0, 1).toUpperCase();
-                if (!prevNameFirstLetter.equals(letter)) {
-                    holder.setLetter(letter);
-                } else
-                    holder.setLetter(null);
-            } else {
-                holder.setLetter(null);
-            }
-            cursor.moveToPosition(position);
-        }
-        if (cursor.getString(cursor.getColumnIndex(ContactsContract.Contacts.PHOTO_URI)) != null) {
-            holder.iv_contact_pic.setImageURI(Uri.parse(cursor.getString(cursor.getColumnIndex(ContactsContract.Contacts.PHOTO_URI))));
+        holder.lookupKey = rows.lookupKeys[position];
+        final String letter = rows.letters[position];
+        holder.setFavorite(rows.favorites[position]);
+        holder.tv_contact_name.setText(rows.names[position]);
+        holder.setLetter(rows.startsSection[position] ? letter : null);
+        final String photo = rows.photos[position];
+        if (photo != null) {
+            ContactPhotoLoader.loadPhoto(holder.iv_contact_pic, holder.lookupKey, photo, letterBackground(holder.lookupKey));
             holder.tv_image_letter.setVisibility(View.GONE);
         } else {
-            drawText(holder, letter, holder.lookupKey.hashCode());
+            drawText(holder, letter);
         }
 
     }
 
     @Override
     public int getItemCount() {
-        return cursor.getCount();
+        return rows.size();
     }
 
-    private void drawText(ViewHolder viewHolder, String chr, int hash) {
+    private void drawText(ViewHolder viewHolder, String chr) {
         viewHolder.tv_image_letter.setVisibility(View.VISIBLE);
         viewHolder.tv_image_letter.setText(chr);
-        Glide.with(viewHolder.iv_contact_pic).load(
-                activity.colorful ?
-                        new ColorDrawable(randomColorMaker.generateColor(hash)) :
-                        letterContactBackground
-        ).into(viewHolder.iv_contact_pic);
+        ContactPhotoLoader.showDrawable(viewHolder.iv_contact_pic, letterBackground(viewHolder.lookupKey));
+    }
+
+    private Drawable letterBackground(String lookupKey) {
+        return activity.colorful ?
+                new ColorDrawable(randomColorMaker.generateColor(lookupKey.hashCode())) :
+                letterContactBackground;
+    }
+
+    /**
+     * What every row shows, read from a cursor once per data set, so binding never moves a cursor
+     * and rows can be diffed off the main thread. Immutable.
+     */
+    public static class Rows {
+        final String[] lookupKeys, names, letters;
+        final String[] photos;
+        final boolean[] favorites;
+        /**
+         * Whether the row shows the letter header, its letter differs from the row above
+         */
+        final boolean[] startsSection;
+        final int[] sectionStarts;
+
+        /**
+         * Reads the whole cursor and closes it.
+         *
+         * @param cursor cursor with {@link #PROJECTION}
+         */
+        public Rows(@NonNull Cursor cursor) {
+            try {
+                final int count = cursor.getCount();
+                lookupKeys = new String[count];
+                names = new String[count];
+                photos = new String[count];
+                favorites = new boolean[count];
+                final int lookupKeyIndex = cursor.getColumnIndex(ContactsContract.Data.LOOKUP_KEY),
+                        nameIndex = cursor.getColumnIndex(ContactsContract.Data.DISPLAY_NAME),
+                        photoIndex = cursor.getColumnIndex(ContactsContract.Contacts.PHOTO_URI),
+                        starredIndex = cursor.getColumnIndex(ContactsContract.Data.STARRED);
+                for (int i = 0; i < count && cursor.moveToPosition(i); i++) {
+                    lookupKeys[i] = cursor.getString(lookupKeyIndex);
+                    names[i] = cursor.getString(nameIndex);
+                    photos[i] = cursor.getString(photoIndex);
+                    favorites[i] = cursor.getInt(starredIndex) == 1;
+                }
+            } finally {
+                cursor.close();
+            }
+            letters = new String[names.length];
+            startsSection = new boolean[names.length];
+            sectionStarts = computeSections(names, letters, startsSection);
+        }
+
+        /**
+         * @param photos may contain nulls, all arrays must have the same length
+         */
+        public Rows(@NonNull String[] lookupKeys, @NonNull String[] names, @NonNull String[] photos, @NonNull boolean[] favorites) {
+            this.lookupKeys = lookupKeys;
+            this.names = names;
+            this.photos = photos;
+            this.favorites = favorites;
+            this.letters = new String[names.length];
+            this.startsSection = new boolean[names.length];
+            this.sectionStarts = computeSections(names, letters, startsSection);
+        }
+
+        /**
+         * Fills the first letters and section flags of the names.
+         *
+         * @return the positions which start a section
+         */
+        private static int[] computeSections(String[] names, String[] letters, boolean[] startsSection) {
+            final int[] sectionStarts = new int[names.length];
+            int sections = 0;
+            String previousLetter = null;
+            for (int i = 0; i < names.length; i++) {
+                final String name = names[i];
+                final String letter = name == null || name.isEmpty() ? "#" : name.substring(0, 1).toUpperCase();
+                letters[i] = letter;
+                startsSection[i] = !letter.equals(previousLetter);
+                if (startsSection[i])
+                    sectionStarts[sections++] = i;
+                previousLetter = letter;
+            }
+            return Arrays.copyOf(sectionStarts, sections);
+        }
+
+        public int size() {
+            return names.length;
+        }
     }
 
     class ViewHolder extends RecyclerView.ViewHolder implements View.OnClickListener {
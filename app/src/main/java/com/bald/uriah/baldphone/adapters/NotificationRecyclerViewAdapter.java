@@ -41,6 +41,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.bald.uriah.baldphone.R;
 import com.bald.uriah.baldphone.services.NotificationListenerService;
+import com.bald.uriah.baldphone.services.NotificationStore;
 import com.bald.uriah.baldphone.utils.BaldToast;
 import com.bald.uriah.baldphone.utils.S;
 import com.bald.uriah.baldphone.views.BaldPictureTextButton;
@@ -49,7 +50,8 @@ import com.bald.uriah.baldphone.views.ModularRecyclerView;
 /**
  * using RecyclerView because of constant change of notification and NOT because of long scrolling list (most probably wont happen to elderly.)
  */
-public class NotificationRecyclerViewAdapter extends ModularRecyclerView.ModularAdapter<NotificationRecyclerViewAdapter.ViewHolder> {
+public class NotificationRecyclerViewAdapter extends ModularRecyclerView.ModularAdapter<NotificationRecyclerViewAdapter.ViewHolder>
+        implements NotificationStore.Listener {
     private static final String TAG = NotificationRecyclerViewAdapter.class.getSimpleName();
     private final static int MAX_LETTERS = 60;
     @ColorInt
@@ -60,11 +62,11 @@ public class NotificationRecyclerViewAdapter extends ModularRecyclerView.Modular
     private final PackageManager packageManager;
     //        most probably reading will happen only once for each bundle.
     //          thus converting to old java objects wont really help..
-    private Bundle[] bundles;
+    private final NotificationStore notificationStore;
 
-    public NotificationRecyclerViewAdapter(final Context context, final Bundle[] bundles) {
+    public NotificationRecyclerViewAdapter(final Context context, final NotificationStore notificationStore) {
         this.context = context;
-        this.bundles = bundles;
+        this.notificationStore = notificationStore;
         layoutInflater = LayoutInflater.from(context);
         packageManager = context.getPackageManager();
         displayMetrics = context.getResources().getDisplayMetrics();
@@ -90,26 +92,59 @@ public class NotificationRecyclerViewAdapter extends ModularRecyclerView.Modular
 
     @Override
     public int getItemCount() {
-        return bundles.length;
+        return notificationStore.size();
     }
 
     public void clearAll() {
         LocalBroadcastManager localBroadcastManager = LocalBroadcastManager.getInstance(context);
-        for (int i = 0; i < bundles.length; i++) {
+        for (String key : notificationStore.getKeys()) {
             localBroadcastManager.sendBroadcast(
                     new Intent(NotificationListenerService.ACTION_CLEAR)
-                            .putExtra(NotificationListenerService.KEY_EXTRA_KEY, bundles[i].getString(NotificationListenerService.KEY_EXTRA_KEY))
+                            .putExtra(NotificationListenerService.KEY_EXTRA_KEY, key)
 
             );
         }
 
     }
 
-    public void changeNotifications(Bundle[] bundles) {
-        this.bundles = bundles;
+    @Override
+    public void onNotificationsReset() {
         notifyDataSetChanged();
     }
 
+    @Override
+    public void onNotificationInserted(int position) {
+        notifyItemInserted(position);
+        notifyNeighbours(position + 1, notificationStore.get(position));
+    }
+
+    @Override
+    public void onNotificationChanged(int position) {
+        notifyItemChanged(position);
+        notifyNeighbours(position + 1, notificationStore.get(position));
+    }
+
+    @Override
+    public void onNotificationRemoved(int position, @NonNull Bundle notification) {
+        notifyItemRemoved(position);
+        notifyNeighbours(position, notification);
+    }
+
+    /**
+     * An item shows the app name only when the one above it is of another app, and hides a group summary when it is not alone,
+     * so the notification after a change and all the other notifications of the same app have to be rebound as well.
+     *
+     * @param next the position of the notification which is now after the changed one
+     */
+    private void notifyNeighbours(int next, @NonNull Bundle changed) {
+        final CharSequence appName = changed.getCharSequence("app_name");
+        for (int i = 0, size = notificationStore.size(); i < size; i++) {
+            final Bundle item = notificationStore.get(i);
+            if (item != changed && (i == next || appName.equals(item.getCharSequence("app_name"))))
+                notifyItemChanged(i);
+        }
+    }
+
     public class ViewHolder extends RecyclerView.ViewHolder {
         final ImageView small_icon, large_icon;
         final TextView app_name, time_stamp, title, text;
@@ -128,9 +163,9 @@ public class NotificationRecyclerViewAdapter extends ModularRecyclerView.Modular
         }
 
         public void update(final int position) {
-            final Bundle item = bundles[position];
+            final Bundle item = notificationStore.get(position);
             final CharSequence app_name_string = item.getCharSequence("app_name");
-            final boolean first = position == 0 || !bundles[position - 1].getCharSequence("app_name").equals(app_name_string);
+            final boolean first = position == 0 || !notificationStore.get(position - 1).getCharSequence("app_name").equals(app_name_string);
             {
                 final RecyclerView.LayoutParams layoutParams = (RecyclerView.LayoutParams) itemView.getLayoutParams();
                 layoutParams.topMargin = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP,
@@ -235,10 +270,10 @@ public class NotificationRecyclerViewAdapter extends ModularRecyclerView.Modular
         }
 
         private boolean isAlone(int position, final String app_name_string) {
-            for (int i = 0; i < bundles.length; i++) {
+            for (int i = 0, size = notificationStore.size(); i < size; i++) {
                 if (i == position)
                     continue;
-                if (bundles[i].getString("app_name").equals(app_name_string))
+                if (notificationStore.get(i).getString("app_name").equals(app_name_string))
                     return false;
             }
             return true;
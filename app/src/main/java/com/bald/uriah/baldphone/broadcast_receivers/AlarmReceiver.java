@@ -22,13 +22,15 @@ import android.content.Intent;
 import android.util.Log;
 
 import com.bald.uriah.baldphone.activities.alarms.AlarmScreenActivity;
+import com.bald.uriah.baldphone.databases.BaldDatabase;
+import com.bald.uriah.baldphone.databases.DatabaseExecutor;
 import com.bald.uriah.baldphone.databases.alarms.Alarm;
 import com.bald.uriah.baldphone.databases.alarms.AlarmScheduler;
-import com.bald.uriah.baldphone.databases.alarms.AlarmsDatabase;
 
 /**
  * the middle man between the {@link AlarmScheduler} and {@link AlarmScreenActivity}.
- * the reason for having this is the wake lock the system creates for broadcast receivers.
+ * the reason for having this is the wake lock the system creates for broadcast receivers,
+ * which {@link #goAsync()} keeps while the database is read off the main thread.
  */
 public class AlarmReceiver extends BroadcastReceiver {
     private static final String TAG = AlarmReceiver.class.getSimpleName();
@@ -37,18 +39,25 @@ public class AlarmReceiver extends BroadcastReceiver {
     public void onReceive(Context context, Intent intent) {
         final int key = intent.getIntExtra(Alarm.ALARM_KEY_VIA_INTENTS, -1);
         if (key == -1) throw new IllegalArgumentException("set alarm key!");
-        final Alarm alarm = AlarmsDatabase.getInstance(context).alarmsDatabaseDao().getByKey(key);
-        if (alarm == null) {
-            Log.e(TAG, "onReceive: AlarmsDatabase.getInstance(context).alarmsDatabaseDao().getByKey(key) == null");
-            return;
-        } else if (!alarm.isEnabled()) {
-            Log.e(TAG, "!alarm.isEnabled(), yet, most probably because of snooze...");
-        }
+        final PendingResult pendingResult = goAsync();
+        DatabaseExecutor.execute(() -> {
+            try {
+                final Alarm alarm = BaldDatabase.getInstance(context).alarmsDatabaseDao().getByKey(key);
+                if (alarm == null) {
+                    Log.e(TAG, "onReceive: BaldDatabase.getInstance(context).alarmsDatabaseDao().getByKey(key) == null");
+                    return;
+                } else if (!alarm.isEnabled()) {
+                    Log.e(TAG, "!alarm.isEnabled(), yet, most probably because of snooze...");
+                }
 
-        final Context appContext = context.getApplicationContext();
-        appContext.startActivity(new Intent(appContext, AlarmScreenActivity.class)
-                .putExtra(Alarm.ALARM_KEY_VIA_INTENTS, key)
-                .setFlags(Intent.FLAG_ACTIVITY_NEW_TASK)
-        );
+                final Context appContext = context.getApplicationContext();
+                appContext.startActivity(new Intent(appContext, AlarmScreenActivity.class)
+                        .putExtra(Alarm.ALARM_KEY_VIA_INTENTS, key)
+                        .setFlags(Intent.FLAG_ACTIVITY_NEW_TASK)
+                );
+            } finally {
+                pendingResult.finish();
+            }
+        });
     }
 }
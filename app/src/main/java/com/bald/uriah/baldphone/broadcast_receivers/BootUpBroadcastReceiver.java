@@ -21,15 +21,28 @@ import android.content.Context;
 import android.content.Intent;
 
 import com.bald.uriah.baldphone.BaldPhone;
+import com.bald.uriah.baldphone.databases.DatabaseExecutor;
+import com.bald.uriah.baldphone.databases.alarms.AlarmScheduler;
+import com.bald.uriah.baldphone.databases.reminders.ReminderScheduler;
 import com.bald.uriah.baldphone.utils.S;
 
 /**
- * guarantees that {@link BaldPhone#onCreate()} will be called
+ * guarantees that {@link BaldPhone#onCreate()} will be called,
+ * and restores the alarms and reminders - the system forgets all of them on reboot.
  */
 public class BootUpBroadcastReceiver extends BroadcastReceiver {
     @Override
     public void onReceive(final Context context, final Intent intent) {
         S.logImportant("BaldPhone OnBoot called");
+        final PendingResult pendingResult = goAsync();
+        DatabaseExecutor.execute(() -> {
+            try {
+                AlarmScheduler.reStartAlarmsNow(context, true);
+                ReminderScheduler.reStartRemindersNow(context, true);
+            } finally {
+                pendingResult.finish();
+            }
+        });
         S.sendVersionInfo(context);
     }
 }
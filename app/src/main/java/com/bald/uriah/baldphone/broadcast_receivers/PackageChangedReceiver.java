@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.broadcast_receivers;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.Uri;
+
+import com.bald.uriah.baldphone.databases.apps.PackageChangesQueue;
+
+/**
+ * Forwards package installs, removals and updates to {@link PackageChangesQueue}.
+ * Since Android O these broadcasts are not delivered to manifest receivers,
+ * so it is registered from {@link com.bald.uriah.baldphone.BaldPhone#onCreate()} for the whole process lifetime.
+ */
+public class PackageChangedReceiver extends BroadcastReceiver {
+
+    public static void register(Context context) {
+        final IntentFilter filter = new IntentFilter();
+        filter.addAction(Intent.ACTION_PACKAGE_ADDED);
+        filter.addAction(Intent.ACTION_PACKAGE_REMOVED);
+        filter.addAction(Intent.ACTION_PACKAGE_CHANGED);
+        filter.addAction(Intent.ACTION_PACKAGE_REPLACED);
+        filter.addDataScheme("package");
+        context.getApplicationContext().registerReceiver(new PackageChangedReceiver(), filter);
+    }
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        final Uri data = intent.getData();
+        if (data == null || data.getSchemeSpecificPart() == null)
+            return;
+        PackageChangesQueue.getInstance(context).enqueue(data.getSchemeSpecificPart());
+    }
+}
@@ -22,13 +22,15 @@ import android.content.Intent;
 import android.util.Log;
 
 import com.bald.uriah.baldphone.activities.pills.PillScreenActivity;
+import com.bald.uriah.baldphone.databases.BaldDatabase;
+import com.bald.uriah.baldphone.databases.DatabaseExecutor;
 import com.bald.uriah.baldphone.databases.reminders.Reminder;
 import com.bald.uriah.baldphone.databases.reminders.ReminderScheduler;
-import com.bald.uriah.baldphone.databases.reminders.RemindersDatabase;
 
 /**
  * the middle man between the {@link ReminderScheduler} and {@link PillScreenActivity}.
- * the reason for having this is the wake lock the system creates for broadcast receivers.
+ * the reason for having this is the wake lock the system creates for broadcast receivers,
+ * which {@link #goAsync()} keeps while the database is read off the main thread.
  */
 public class ReminderReceiver extends BroadcastReceiver {
     private static final String TAG = ReminderReceiver.class.getSimpleName();
@@ -37,16 +39,23 @@ public class ReminderReceiver extends BroadcastReceiver {
     public void onReceive(Context context, Intent intent) {
         final int id = intent.getIntExtra(Reminder.REMINDER_KEY_VIA_INTENTS, -1);
         if (id == -1) throw new IllegalArgumentException("set reminder id!");
-        final Reminder reminder = RemindersDatabase.getInstance(context).remindersDatabaseDao().getById(id);
-        if (reminder == null) {
-            Log.e(TAG, "onReceive: RemindersDatabase.getInstance(context).remindersDatabaseDao().getByKey(id) == null");
-            return;
-        }
+        final PendingResult pendingResult = goAsync();
+        DatabaseExecutor.execute(() -> {
+            try {
+                final Reminder reminder = BaldDatabase.getInstance(context).remindersDatabaseDao().getById(id);
+                if (reminder == null) {
+                    Log.e(TAG, "onReceive: BaldDatabase.getInstance(context).remindersDatabaseDao().getByKey(id) == null");
+                    return;
+                }
 
-        final Context appContext = context.getApplicationContext();
-        appContext.startActivity(new Intent(appContext, PillScreenActivity.class)
-                .putExtra(Reminder.REMINDER_KEY_VIA_INTENTS, id)
-                .setFlags(Intent.FLAG_ACTIVITY_NEW_TASK)
-        );
+                final Context appContext = context.getApplicationContext();
+                appContext.startActivity(new Intent(appContext, PillScreenActivity.class)
+                        .putExtra(Reminder.REMINDER_KEY_VIA_INTENTS, id)
+                        .setFlags(Intent.FLAG_ACTIVITY_NEW_TASK)
+                );
+            } finally {
+                pendingResult.finish();
+            }
+        });
     }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.broadcast_receivers;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+
+import com.bald.uriah.baldphone.databases.DatabaseExecutor;
+import com.bald.uriah.baldphone.databases.alarms.AlarmScheduler;
+import com.bald.uriah.baldphone.databases.reminders.ReminderScheduler;
+
+/**
+ * Re-schedules alarms and reminders when the clock or the time zone changes.
+ * Alarms and reminders are set in local time, so only the ones whose trigger moved are re-armed.
+ */
+public class TimeChangedReceiver extends BroadcastReceiver {
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        final PendingResult pendingResult = goAsync();
+        DatabaseExecutor.execute(() -> {
+            try {
+                AlarmScheduler.reStartAlarmsNow(context, false);
+                ReminderScheduler.reStartRemindersNow(context, false);
+            } finally {
+                pendingResult.finish();
+            }
+        });
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Remembers the trigger time last handed to the {@link android.app.AlarmManager} per alarm / reminder key,
+ * so re-scheduling on process start only makes binder calls for entries whose next trigger actually changed.
+ * The system forgets every alarm on reboot, so {@link #clear()} must be called before restoring after a boot;
+ * a force stop does so too, which is why the schedulers also check that the {@link android.app.PendingIntent} of an entry still exists.
+ * Only used from the main process - {@link SharedPreferences} are cached per process, so writes of two processes could overwrite each other.
+ */
+public class ArmedTriggers {
+    private static final String SNOOZED_SUFFIX = "_snoozed";
+    private final SharedPreferences sharedPreferences;
+
+    public ArmedTriggers(@NonNull Context context, @NonNull String name) {
+        sharedPreferences = context.getSharedPreferences(name, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * @return the armed trigger time in epoch millis, or -1 if the key is not armed
+     */
+    public long getTrigger(int key) {
+        return sharedPreferences.getLong(String.valueOf(key), -1);
+    }
+
+    public boolean isSnoozed(int key) {
+        return sharedPreferences.getBoolean(key + SNOOZED_SUFFIX, false);
+    }
+
+    /**
+     * @return true if the key is armed for exactly {@code trigger}, or is snoozed, and that time is still ahead
+     */
+    public boolean isUpToDate(int key, long trigger, long now) {
+        final long armedTrigger = getTrigger(key);
+        return armedTrigger > now && (armedTrigger == trigger || isSnoozed(key));
+    }
+
+    public void put(int key, long trigger, boolean snoozed) {
+        sharedPreferences.edit()
+                .putLong(String.valueOf(key), trigger)
+                .putBoolean(key + SNOOZED_SUFFIX, snoozed)
+                .apply();
+    }
+
+    public void remove(int key) {
+        sharedPreferences.edit()
+                .remove(String.valueOf(key))
+                .remove(key + SNOOZED_SUFFIX)
+                .apply();
+    }
+
+    @NonNull
+    public Set<Integer> getKeys() {
+        final Set<Integer> keys = new HashSet<>();
+        for (String key : sharedPreferences.getAll().keySet()) {
+            if (!key.endsWith(SNOOZED_SUFFIX))
+                keys.add(Integer.parseInt(key));
+        }
+        return keys;
+    }
+
+    public void clear() {
+        sharedPreferences.edit().clear().apply();
+    }
+}
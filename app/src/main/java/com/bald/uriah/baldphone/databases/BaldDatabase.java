@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.room.Database;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.bald.uriah.baldphone.databases.alarms.Alarm;
+import com.bald.uriah.baldphone.databases.alarms.AlarmsDatabaseDao;
+import com.bald.uriah.baldphone.databases.apps.App;
+import com.bald.uriah.baldphone.databases.apps.AppsDatabaseDao;
+import com.bald.uriah.baldphone.databases.calls.CallStats;
+import com.bald.uriah.baldphone.databases.calls.CallStatsDao;
+import com.bald.uriah.baldphone.databases.reminders.Reminder;
+import com.bald.uriah.baldphone.databases.reminders.RemindersDatabaseDao;
+
+/**
+ * The single Room database of BaldPhone, holding the apps, alarms, reminders and call statistics tables.
+ * It replaces the separate "applications", "alarmsbeta" and "reminders" files,
+ * whose rows are copied in by {@link LegacyDatabases} when this database is created.
+ * Write-ahead logging lets the UI read while {@link com.bald.uriah.baldphone.databases.apps.AppsDatabaseHelper} writes.
+ */
+@Database(entities = {App.class, Alarm.class, Reminder.class, CallStats.class}, version = 2)
+public abstract class BaldDatabase extends RoomDatabase {
+    public static final String NAME = "bald";
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            // filled by CallStatsAggregator on its first sync
+            db.execSQL("CREATE TABLE IF NOT EXISTS `CallStats` (`number` TEXT NOT NULL, `lookup_key` TEXT, " +
+                    "`incoming_calls` INTEGER NOT NULL, `outgoing_calls` INTEGER NOT NULL, `missed_calls` INTEGER NOT NULL, " +
+                    "`other_calls` INTEGER NOT NULL, `total_duration` INTEGER NOT NULL, `last_call` INTEGER NOT NULL, " +
+                    "`last_call_id` INTEGER NOT NULL, PRIMARY KEY(`number`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_CallStats_lookup_key` ON `CallStats` (`lookup_key`)");
+        }
+    };
+    private static final Object LOCK = new Object();
+    private static BaldDatabase baldDatabase = null;
+
+    public static BaldDatabase getInstance(Context context) {
+        synchronized (LOCK) {
+            if (baldDatabase == null) {
+                final Context appContext = context.getApplicationContext();
+                baldDatabase = Room.databaseBuilder(appContext, BaldDatabase.class, NAME)
+                        .setJournalMode(JournalMode.WRITE_AHEAD_LOGGING)
+                        .setQueryExecutor(DatabaseExecutor.get())
+                        .addMigrations(MIGRATION_1_2)
+                        .addCallback(new Callback() {
+                            @Override
+                            public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                                LegacyDatabases.importInto(appContext, db);
+                            }
+
+                            @Override
+                            public void onOpen(@NonNull SupportSQLiteDatabase db) {
+                                // only after the import above was committed
+                                LegacyDatabases.delete(appContext, db);
+                            }
+                        })
+                        .build();
+            }
+            return baldDatabase;
+        }
+    }
+
+    public abstract AppsDatabaseDao appsDatabaseDao();
+
+    public abstract AlarmsDatabaseDao alarmsDatabaseDao();
+
+    public abstract RemindersDatabaseDao remindersDatabaseDao();
+
+    public abstract CallStatsDao callStatsDao();
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bald.uriah.baldphone.utils.BackgroundThreadFactory;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The single executor every BaldPhone database is accessed from.
+ * The Room databases are built without {@code allowMainThreadQueries()},
+ * so UI code goes through {@link #query(Callable, Callback)} / {@link #execute(Runnable, Runnable)}
+ * or observes the {@code LiveData} returning DAO methods.
+ */
+public class DatabaseExecutor {
+    private static final String TAG = DatabaseExecutor.class.getSimpleName();
+    private static final int THREADS = 2;
+    private static final ExecutorService executorService = Executors.newFixedThreadPool(THREADS, new BackgroundThreadFactory("BaldDatabase"));
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    @NonNull
+    public static Executor get() {
+        return executorService;
+    }
+
+    public static void execute(@NonNull Runnable runnable) {
+        execute(runnable, null);
+    }
+
+    /**
+     * @param onDone runs on the main thread after {@code runnable} finished successfully
+     */
+    public static void execute(@NonNull Runnable runnable, @Nullable Runnable onDone) {
+        executorService.execute(() -> {
+            try {
+                runnable.run();
+            } catch (Exception e) {
+                Log.e(TAG, "execute: database operation failed", e);
+                return;
+            }
+            if (onDone != null)
+                mainHandler.post(onDone);
+        });
+    }
+
+    /**
+     * Runs the query on the database executor and delivers its result on the main thread.
+     */
+    public static <T> void query(@NonNull Callable<T> query, @NonNull Callback<T> callback) {
+        executorService.execute(() -> {
+            final T result;
+            try {
+                result = query.call();
+            } catch (Exception e) {
+                Log.e(TAG, "query: database query failed", e);
+                return;
+            }
+            mainHandler.post(() -> callback.onResult(result));
+        });
+    }
+
+    @FunctionalInterface
+    public interface Callback<T> {
+        void onResult(T result);
+    }
+}
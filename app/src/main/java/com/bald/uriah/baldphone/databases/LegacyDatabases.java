@@ -0,0 +1,166 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.bald.uriah.baldphone.databases.apps.AppIconStore;
+import com.bald.uriah.baldphone.databases.apps.AppsDatabaseHelper;
+
+import java.io.File;
+
+/**
+ * Copies the rows of the databases BaldPhone used before {@link BaldDatabase} into it.
+ * A Room {@code Migration} can only upgrade the file it was opened on, so the legacy files are read directly:
+ * "applications" (versions 1 - 3, the icon blobs of versions 1 and 2 are moved into {@link AppIconStore}),
+ * "alarmsbeta" and "reminders" (version 1, whose tables are identical to the current entities).
+ * Primary keys are kept, so alarms and reminders scheduled by their key stay valid.
+ * Each legacy file which was imported is recorded in the {@link #IMPORTED} table within the same transaction,
+ * so only those are deleted, and a file which could not be imported is kept instead of losing its data.
+ */
+class LegacyDatabases {
+    private static final String TAG = LegacyDatabases.class.getSimpleName();
+    private static final String APPS = "applications", ALARMS = "alarmsbeta", REMINDERS = "reminders";
+    /**
+     * Not an entity, names of the legacy files which were imported and can be deleted
+     */
+    private static final String IMPORTED = "LegacyImport";
+
+    /**
+     * Runs inside the transaction which creates {@link BaldDatabase}.
+     * A legacy file which cannot be read is skipped and kept, the app keeps working without its rows.
+     */
+    static void importInto(@NonNull Context context, @NonNull SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS `" + IMPORTED + "` (`name` TEXT NOT NULL, PRIMARY KEY(`name`))");
+        final File apps = context.getDatabasePath(APPS);
+        if (apps.exists()) {
+            try (SQLiteDatabase legacy = open(apps)) {
+                importApps(context, legacy, db);
+                markImported(db, APPS);
+            } catch (Exception e) {
+                Log.e(TAG, "importInto: could not import " + APPS, e);
+                db.delete("App", null, null);
+            }
+        }
+        importTable(context, ALARMS, "Alarm", db);
+        importTable(context, REMINDERS, "Reminder", db);
+    }
+
+    /**
+     * Deletes the legacy files whose import was committed, runs every time {@link BaldDatabase} is opened.
+     */
+    static void delete(@NonNull Context context, @NonNull SupportSQLiteDatabase db) {
+        try (Cursor table = db.query("SELECT name FROM sqlite_master WHERE type = 'table' AND name = '" + IMPORTED + "'")) {
+            if (!table.moveToFirst())
+                return;
+        }
+        try (Cursor cursor = db.query("SELECT name FROM `" + IMPORTED + "`")) {
+            while (cursor.moveToNext()) {
+                final String name = cursor.getString(0);
+                if (context.getDatabasePath(name).exists())
+                    context.deleteDatabase(name);
+            }
+        }
+        db.execSQL("DROP TABLE `" + IMPORTED + "`");
+    }
+
+    private static void markImported(SupportSQLiteDatabase db, String legacyName) {
+        final ContentValues values = new ContentValues();
+        values.put("name", legacyName);
+        db.insert(IMPORTED, SQLiteDatabase.CONFLICT_REPLACE, values);
+    }
+
+    private static SQLiteDatabase open(File file) {
+        // read-write, so a pending write-ahead log of the legacy file can be read as well
+        return SQLiteDatabase.openDatabase(file.getPath(), null, SQLiteDatabase.OPEN_READWRITE);
+    }
+
+    private static void importApps(Context context, SQLiteDatabase legacy, SupportSQLiteDatabase db) {
+        try (Cursor cursor = legacy.rawQuery("SELECT * FROM App ORDER BY id", null)) {
+            final int idIndex = cursor.getColumnIndexOrThrow("id");
+            final int nameIndex = cursor.getColumnIndexOrThrow("flatten_component_name");
+            final int labelIndex = cursor.getColumnIndexOrThrow("label");
+            final int pinnedIndex = cursor.getColumnIndexOrThrow("pinned");
+            final int iconKeyIndex = cursor.getColumnIndex("icon_key");
+            final int iconIndex = cursor.getColumnIndex("icon");
+            while (cursor.moveToNext()) {
+                final String flattenComponentName = cursor.getString(nameIndex);
+                if (flattenComponentName == null)
+                    continue;
+                String iconKey = iconKeyIndex == -1 ? null : cursor.getString(iconKeyIndex);
+                if (iconKey == null && iconIndex != -1 && !cursor.isNull(iconIndex)) {
+                    final String key = AppIconStore.keyOf(flattenComponentName, AppsDatabaseHelper.getVersionCode(context.getPackageManager(), flattenComponentName), 0);
+                    if (AppIconStore.put(context, key, cursor.getBlob(iconIndex)))
+                        iconKey = key;
+                }
+                final ContentValues values = new ContentValues();
+                values.put("id", cursor.getInt(idIndex));
+                values.put("flatten_component_name", flattenComponentName);
+                values.put("icon_key", iconKey);
+                values.put("label", cursor.getString(labelIndex));
+                values.put("pinned", cursor.getInt(pinnedIndex));
+                // version 1 could hold the same component twice, the one with the lowest id wins
+                db.insert("App", SQLiteDatabase.CONFLICT_IGNORE, values);
+            }
+        }
+    }
+
+    private static void importTable(Context context, String legacyName, String table, SupportSQLiteDatabase db) {
+        final File file = context.getDatabasePath(legacyName);
+        if (!file.exists())
+            return;
+        try (SQLiteDatabase legacy = open(file);
+             Cursor cursor = legacy.rawQuery("SELECT * FROM " + table, null)) {
+            final ContentValues values = new ContentValues();
+            while (cursor.moveToNext()) {
+                values.clear();
+                for (int i = 0; i < cursor.getColumnCount(); i++) {
+                    final String column = cursor.getColumnName(i);
+                    switch (cursor.getType(i)) {
+                        case Cursor.FIELD_TYPE_INTEGER:
+                            values.put(column, cursor.getLong(i));
+                            break;
+                        case Cursor.FIELD_TYPE_FLOAT:
+                            values.put(column, cursor.getDouble(i));
+                            break;
+                        case Cursor.FIELD_TYPE_STRING:
+                            values.put(column, cursor.getString(i));
+                            break;
+                        case Cursor.FIELD_TYPE_BLOB:
+                            values.put(column, cursor.getBlob(i));
+                            break;
+                        default:
+                            values.putNull(column);
+                    }
+                }
+                db.insert(table, SQLiteDatabase.CONFLICT_REPLACE, values);
+            }
+            markImported(db, legacyName);
+        } catch (Exception e) {
+            Log.e(TAG, "importTable: could not import " + legacyName, e);
+            // the table was empty before, the rows of a half import are not kept
+            db.delete(table, null, null);
+        }
+    }
+}
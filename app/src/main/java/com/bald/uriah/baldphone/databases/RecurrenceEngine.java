@@ -0,0 +1,138 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases;
+
+import androidx.annotation.NonNull;
+
+import com.bald.uriah.baldphone.utils.D;
+
+import java.util.TimeZone;
+
+/**
+ * Computes when an alarm or a reminder goes off next, shared by
+ * {@link com.bald.uriah.baldphone.databases.alarms.AlarmScheduler} and
+ * {@link com.bald.uriah.baldphone.databases.reminders.ReminderScheduler}.
+ * Works on epoch millis and the BaldDay bitmask ({@link D.Days}, sunday = 1 ... saturday = 64),
+ * a days value of -1 (or 0) means "once" - the next time the hour and minute come.
+ * Nothing is allocated per computation and the clock is read once per call.
+ * <p>
+ * Local times which do not exist because of a DST gap are moved forward by the length of the gap,
+ * local times which exist twice because of a DST overlap resolve to the earlier instant.
+ */
+public class RecurrenceEngine {
+    public static final Clock SYSTEM_CLOCK = System::currentTimeMillis;
+    private static final long MINUTE = D.MINUTE, HOUR = D.HOUR, DAY = D.DAY;
+    /**
+     * 1970-01-01 was a thursday, in BaldDay terms sunday is 0
+     */
+    private static final int EPOCH_DAY_OF_WEEK = 4;
+
+    private final Clock clock;
+    private final TimeZone timeZone;
+
+    public RecurrenceEngine(@NonNull Clock clock, @NonNull TimeZone timeZone) {
+        this.clock = clock;
+        this.timeZone = timeZone;
+    }
+
+    /**
+     * @return an engine of the system clock in the current default time zone; not cached, as the time zone may change
+     */
+    @NonNull
+    public static RecurrenceEngine getDefault() {
+        return new RecurrenceEngine(SYSTEM_CLOCK, TimeZone.getDefault());
+    }
+
+    public long now() {
+        return clock.currentTimeMillis();
+    }
+
+    public long nextFireTime(int days, int hour, int minute) {
+        return nextFireTime(days, hour, minute, clock.currentTimeMillis());
+    }
+
+    /**
+     * @return the first time strictly after {@code after} at which {@code hour:minute} falls on one of {@code days}
+     */
+    public long nextFireTime(int days, int hour, int minute, long after) {
+        final boolean once = days == -1 || (days & D.Days.ALL) == 0;
+        final long localAfter = after + timeZone.getOffset(after);
+        final long epochDay = floorDiv(localAfter, DAY);
+        final long timeOfDay = hour * HOUR + minute * MINUTE;
+        // a day before, as a DST overlap may make yesterday's local time still be ahead
+        for (long day = epochDay - 1; day <= epochDay + 7; day++) {
+            if (!once && (days & (1 << dayOfWeek(day))) == 0)
+                continue;
+            final long fireTime = localToUtc(day * DAY + timeOfDay);
+            if (fireTime > after)
+                return fireTime;
+        }
+        throw new AssertionError("every week has each day");
+    }
+
+    /**
+     * Fills {@code out} with the next fire times in ascending order.
+     *
+     * @return how many were written - 1 for a one time entry, otherwise {@code out.length}
+     */
+    public int nextFireTimes(int days, int hour, int minute, long after, @NonNull long[] out) {
+        if (out.length == 0)
+            return 0;
+        out[0] = nextFireTime(days, hour, minute, after);
+        if (days == -1 || (days & D.Days.ALL) == 0)
+            return 1;
+        for (int i = 1; i < out.length; i++)
+            out[i] = nextFireTime(days, hour, minute, out[i - 1]);
+        return out.length;
+    }
+
+    /**
+     * @return 0 for sunday ... 6 for saturday, matching the bit of the day in the BaldDay bitmask
+     */
+    static int dayOfWeek(long epochDay) {
+        return (int) floorMod(epochDay + EPOCH_DAY_OF_WEEK, 7);
+    }
+
+    private long localToUtc(long local) {
+        // at most one transition is assumed around a given day
+        final int offsetBefore = timeZone.getOffset(local - DAY);
+        final int offsetAfter = timeZone.getOffset(local + DAY);
+        final long early = local - offsetBefore, late = local - offsetAfter;
+        final boolean earlyValid = timeZone.getOffset(early) == offsetBefore;
+        final boolean lateValid = timeZone.getOffset(late) == offsetAfter;
+        if (earlyValid && lateValid)
+            return Math.min(early, late);
+        if (lateValid)
+            return late;
+        return early; // valid, or inside a gap - which puts it right after the gap
+    }
+
+    // Math.floorDiv and Math.floorMod need api 24
+    private static long floorDiv(long x, long y) {
+        final long q = x / y;
+        return (x % y != 0 && ((x ^ y) < 0)) ? q - 1 : q;
+    }
+
+    private static long floorMod(long x, long y) {
+        return x - floorDiv(x, y) * y;
+    }
+
+    @FunctionalInterface
+    public interface Clock {
+        long currentTimeMillis();
+    }
+}
@@ -20,20 +20,24 @@ import android.app.AlarmManager;
 import android.app.PendingIntent;
 import android.content.Context;
 import android.content.Intent;
-import android.util.Log;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
 
 import com.bald.uriah.baldphone.activities.HomeScreenActivity;
 import com.bald.uriah.baldphone.activities.alarms.AlarmsActivity;
 import com.bald.uriah.baldphone.broadcast_receivers.AlarmReceiver;
+import com.bald.uriah.baldphone.databases.ArmedTriggers;
+import com.bald.uriah.baldphone.databases.BaldDatabase;
+import com.bald.uriah.baldphone.databases.DatabaseExecutor;
+import com.bald.uriah.baldphone.databases.RecurrenceEngine;
 import com.bald.uriah.baldphone.utils.D;
 import com.bald.uriah.baldphone.utils.S;
 
 import org.joda.time.DateTime;
-import org.joda.time.MutableDateTime;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  *
@@ -41,6 +45,7 @@ import java.util.List;
 public class AlarmScheduler {
     private static final String TAG = AlarmScheduler.class.getSimpleName();
     public static final Object LOCK = new Object();
+    private static final String ARMED_TRIGGERS = "armed_alarms";
     public static final int SNOOZE_MILLIS = 5 * D.MINUTE;
 
     private AlarmScheduler() {
@@ -52,99 +57,25 @@ public class AlarmScheduler {
         }
     }
 
-    // BaldDay -
-    /*
-          sunday = 1
-          saturday = 64
-          monday =2
-          baldDay = 1<<israeliDay...
-     */
-
-    // JodaDay -
-    /*
-        sunday =7
-        saturday =6
-        monday =1
-        jodaDay = day in cristian countries
-     */
-
-    private static int getBaldDay() {
-        int today = DateTime.now().getDayOfWeek();
-        if (today == 7)
-            today = 0;
-        today = 1 << today;
-        return today;
-    }
-
-    private static int baldDayToJodaDay(int baldDay) {
-        int day = 0;
-        while (baldDay != 0) {
-            day++;
-            baldDay >>= 1;
-        }
-        day -= 1;
-
-        if (day == 0)
-            day = 7;
-        return day;
-    }
-
     public static long nextTimeAlarmWillWorkInMsFromNow(@NonNull Alarm alarm) {
-        return nextTimeAlarmWillWorkInMs(alarm) - DateTime.now().getMillis();
+        final RecurrenceEngine recurrenceEngine = RecurrenceEngine.getDefault();
+        final long now = recurrenceEngine.now();
+        return recurrenceEngine.nextFireTime(alarm.getDays(), alarm.getHour(), alarm.getMinute(), now) - now;
     }
 
     static long nextTimeAlarmWillWorkInMs(@NonNull Alarm alarm) {
-        final MutableDateTime mDateTime = MutableDateTime.now();
-        {   //creating a date of today with the hours and minutes of the alarm
-            mDateTime.setMillisOfSecond(0);
-            mDateTime.setSecondOfMinute(0);
-            mDateTime.setHourOfDay(alarm.getHour());
-            mDateTime.setMinuteOfHour(alarm.getMinute());
-        }
-
-        final int baldDay = getBaldDay();
-
-        {   //today or one time
-            if ((alarm.getDays() & baldDay) == baldDay) {//today may have an alarm
-                if ((alarm.getDays() == baldDay)) {
-                    if (mDateTime.isBeforeNow())
-                        mDateTime.addWeeks(1);  //next week if today's time already passed
-                    return mDateTime.getMillis();
-                } else {
-                    if (mDateTime.isAfterNow())
-                        return mDateTime.getMillis();
-                }
-            } else if (alarm.getDays() == -1) {
-                if (mDateTime.isBeforeNow())
-                    mDateTime.addDays(1);
-                return mDateTime.getMillis();
-            }
-        }
-        int selectedBaldDay = baldDay;
-
-        {   //find next day
-            for (int i = baldDay << 1; i != baldDay; i <<= 1) {
-                if (i > D.Days.SATURDAY)
-                    i = D.Days.SUNDAY;
-
-                if ((alarm.getDays() & i) == i) {
-                    selectedBaldDay = i;
-                    break;
-                }
-
-            }
-        }
-
-        int day = baldDayToJodaDay(selectedBaldDay);
-        mDateTime.setDayOfWeek(day);
-        if (mDateTime.isBeforeNow()) {
-            mDateTime.addWeeks(1);
-        }
-        return mDateTime.getMillis();
+        return RecurrenceEngine.getDefault().nextFireTime(alarm.getDays(), alarm.getHour(), alarm.getMinute());
     }
 
     private static void _cancelAlarm(int key, Context context) {
-        ((AlarmManager) context.getSystemService(Context.ALARM_SERVICE)).cancel(getIntent(context, key));
+        final PendingIntent pendingIntent = getIntent(context, key);
+        ((AlarmManager) context.getSystemService(Context.ALARM_SERVICE)).cancel(pendingIntent);
+        pendingIntent.cancel(); // so isArmed stays accurate
+        getArmedTriggers(context).remove(key);
+    }
+
+    private static ArmedTriggers getArmedTriggers(Context context) {
+        return new ArmedTriggers(context, ARMED_TRIGGERS);
     }
 
     public static void scheduleAlarm(@NonNull Alarm alarm, @NonNull Context context) throws IllegalArgumentException {
@@ -159,39 +90,90 @@ public class AlarmScheduler {
                     ),
                     getIntent(context, alarm.getKey())
             );
+            getArmedTriggers(context).put(alarm.getKey(), nextTimeAlarmWillWorkInMs, false);
         }
     }
 
     private static PendingIntent getIntent(Context context, int alarmKey) {
-        Log.e(TAG, "getIntent: ");
         Intent intent = new Intent(context, AlarmReceiver.class).putExtra(Alarm.ALARM_KEY_VIA_INTENTS, alarmKey);
         return PendingIntent.getBroadcast(context, alarmKey, intent, PendingIntent.FLAG_UPDATE_CURRENT);
     }
 
+    /**
+     * A force stop cancels every alarm of the app without a reboot, while the {@link ArmedTriggers} survive it,
+     * so an entry is only up to date if its {@link PendingIntent} still exists.
+     */
+    private static boolean isArmed(Context context, int alarmKey) {
+        return PendingIntent.getBroadcast(context, alarmKey, new Intent(context, AlarmReceiver.class), PendingIntent.FLAG_NO_CREATE) != null;
+    }
+
     public static void scheduleSnooze(@NonNull Alarm alarm, Context context) throws IllegalArgumentException {
         synchronized (LOCK) {
-            final AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
-            alarmManager.setAlarmClock(
-                    new AlarmManager.AlarmClockInfo(
-                            DateTime.now().getMillis() + SNOOZE_MILLIS,
-                            PendingIntent.getActivity(context, alarm.getKey(), new Intent(context, HomeScreenActivity.class), 0)//TODO??
-                    ),
-                    getIntent(context, alarm.getKey())
-            );
+            armSnooze(alarm.getKey(), DateTime.now().getMillis() + SNOOZE_MILLIS, context);
         }
     }
 
+    private static void armSnooze(int key, long snoozeTime, Context context) {
+        final AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+        alarmManager.setAlarmClock(
+                new AlarmManager.AlarmClockInfo(
+                        snoozeTime,
+                        PendingIntent.getActivity(context, key, new Intent(context, HomeScreenActivity.class), 0)//TODO??
+                ),
+                getIntent(context, key)
+        );
+        getArmedTriggers(context).put(key, snoozeTime, true);
+    }
+
     public static void reStartAlarms(final Context context) {
-        S.logImportant("reStartAlarms was called!");
+        reStartAlarms(context, false);
+    }
+
+    /**
+     * Re-schedules every enabled alarm whose next trigger differs from the one armed before, or which is no longer armed at all.
+     * Reads the database on the {@link DatabaseExecutor}, so it is safe to call from the main thread.
+     *
+     * @param force re-arm everything - after a boot the system has forgotten all alarms,
+     *              and after a time or time zone change the armed times may be wrong
+     */
+    public static void reStartAlarms(final Context context, final boolean force) {
+        DatabaseExecutor.execute(() -> reStartAlarmsNow(context, force));
+    }
+
+    /**
+     * Same as {@link #reStartAlarms(Context, boolean)}, on the calling thread.
+     */
+    @WorkerThread
+    public static void reStartAlarmsNow(final Context context, final boolean force) {
         synchronized (LOCK) {
-            S.logImportant("reStartAlarms was started!");
-            final List<Alarm> alarmList = AlarmsDatabase.getInstance(context).alarmsDatabaseDao().getAllEnabled();
+            final ArmedTriggers armedTriggers = getArmedTriggers(context);
+            if (force)
+                armedTriggers.clear();
+            final long now = DateTime.now().getMillis();
+            final Set<Integer> staleKeys = armedTriggers.getKeys();
+            final List<Alarm> alarmList = BaldDatabase.getInstance(context).alarmsDatabaseDao().getAllEnabled();
+            int reArmed = 0;
             for (Alarm alarm : alarmList) {
-                AlarmScheduler.cancelAlarm(alarm.getKey(), context);
-                AlarmScheduler.scheduleAlarm(alarm, context);
+                final int key = alarm.getKey();
+                staleKeys.remove(key);
+                if (armedTriggers.isUpToDate(key, nextTimeAlarmWillWorkInMs(alarm), now) && isArmed(context, key))
+                    continue;
+                if (armedTriggers.isSnoozed(key) && armedTriggers.getTrigger(key) > now)
+                    armSnooze(key, armedTriggers.getTrigger(key), context);
+                else
+                    scheduleAlarm(alarm, context);
+                reArmed++;
             }
-            S.logImportant("reStartAlarms has finished!");
-
+            for (int key : staleKeys) {
+                // a snoozed entry must still go off, even if it was disabled meanwhile
+                if (armedTriggers.isSnoozed(key) && armedTriggers.getTrigger(key) > now) {
+                    if (!isArmed(context, key))
+                        armSnooze(key, armedTriggers.getTrigger(key), context);
+                    continue;
+                }
+                _cancelAlarm(key, context);
+            }
+            S.logImportant("reStartAlarms re-armed " + reArmed + " of " + alarmList.size());
         }
     }
 }
@@ -16,6 +16,7 @@
 
 package com.bald.uriah.baldphone.databases.alarms;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
@@ -32,6 +33,9 @@ public interface AlarmsDatabaseDao {
     @Query("SELECT * FROM Alarm ORDER BY hour ASC, minute ASC")
     List<Alarm> getAllSortedByTime();
 
+    @Query("SELECT * FROM Alarm ORDER BY hour ASC, minute ASC")
+    LiveData<List<Alarm>> observeAllSortedByTime();
+
     @Query("SELECT * FROM Alarm WHERE enabled = 1")
     List<Alarm> getAllEnabled();
 
@@ -21,6 +21,7 @@ import android.content.ComponentName;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 import com.bald.uriah.baldphone.adapters.AppsRecyclerViewAdapter;
@@ -28,7 +29,6 @@ import com.bald.uriah.baldphone.databases.home_screen_pins.HomeScreenPinHelper;
 import com.bald.uriah.baldphone.utils.S;
 import com.bald.uriah.baldphone.views.HomeScreenAppView;
 
-import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -38,7 +38,7 @@ import java.util.Objects;
  * using this old java getters and setters because Room requires that.
  * see {@link Entity}
  */
-@Entity
+@Entity(indices = {@Index(value = "flatten_component_name", unique = true)})
 public class App implements AppsRecyclerViewAdapter.InAppsRecyclerView, HomeScreenPinHelper.HomeScreenPinnable {
 
     @PrimaryKey(autoGenerate = true)
@@ -47,8 +47,11 @@ public class App implements AppsRecyclerViewAdapter.InAppsRecyclerView, HomeScre
     @ColumnInfo(name = "flatten_component_name")
     private String flattenComponentName;
 
-    @ColumnInfo(name = "icon")
-    private byte[] icon;
+    /**
+     * reference to the icon file in {@link AppIconStore}
+     */
+    @ColumnInfo(name = "icon_key")
+    private String iconKey;
 
     @ColumnInfo(name = "label")
     private String label;
@@ -70,12 +73,12 @@ public class App implements AppsRecyclerViewAdapter.InAppsRecyclerView, HomeScre
         this.flattenComponentName = flattenComponentName;
     }
 
-    public byte[] getIcon() {
-        return icon;
+    public String getIconKey() {
+        return iconKey;
     }
 
-    public void setIcon(byte[] icon) {
-        this.icon = icon;
+    public void setIconKey(String iconKey) {
+        this.iconKey = iconKey;
     }
 
     public String getLabel() {
@@ -110,15 +113,13 @@ public class App implements AppsRecyclerViewAdapter.InAppsRecyclerView, HomeScre
         return id == app.id &&
                 pinned == app.pinned &&
                 Objects.equals(flattenComponentName, app.flattenComponentName) &&
-                Arrays.equals(icon, app.icon) &&
+                Objects.equals(iconKey, app.iconKey) &&
                 Objects.equals(label, app.label);
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(id, flattenComponentName, label, pinned);
-        result = 31 * result + Arrays.hashCode(icon);
-        return result;
+        return Objects.hash(id, flattenComponentName, iconKey, label, pinned);
     }
 
     @Ignore
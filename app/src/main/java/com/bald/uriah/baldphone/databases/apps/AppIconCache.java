@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases.apps;
+
+import android.app.ActivityManager;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+
+import com.bald.uriah.baldphone.R;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Process-wide cache of decoded launcher icons, keyed by flatten component name.
+ * Shared by the apps drawer, the home screen pages and the drop-downs, so an icon is decoded once
+ * (on a background thread) instead of on every bind.
+ * Its size is 1/16 of {@link ActivityManager#getMemoryClass()} and it is trimmed from
+ * {@link com.bald.uriah.baldphone.BaldPhone#onTrimMemory(int)}.
+ */
+public class AppIconCache {
+    private static final Object LOCK = new Object();
+    private static AppIconCache instance = null;
+
+    private final Context context;
+    private final LruCache<String, Entry> cache;
+    private final ExecutorService decoder = Executors.newFixedThreadPool(2);
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private AppIconCache(Context context) {
+        this.context = context.getApplicationContext();
+        final int memoryClass = ((ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE)).getMemoryClass();
+        cache = new LruCache<String, Entry>(memoryClass * 1024 * 1024 / 16) {
+            @Override
+            protected int sizeOf(String key, Entry value) {
+                return value.bitmap.getByteCount();
+            }
+        };
+    }
+
+    public static AppIconCache getInstance(Context context) {
+        synchronized (LOCK) {
+            if (instance == null)
+                instance = new AppIconCache(context);
+            return instance;
+        }
+    }
+
+    /**
+     * Only trims if the cache was ever created, so it does not allocate anything itself.
+     */
+    public static void onTrimMemory(int level) {
+        final AppIconCache appIconCache;
+        synchronized (LOCK) {
+            appIconCache = instance;
+        }
+        if (appIconCache == null)
+            return;
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE)
+            appIconCache.cache.evictAll();
+        else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW)
+            appIconCache.cache.trimToSize(appIconCache.cache.maxSize() / 2);
+    }
+
+    /**
+     * Sets the icon of the app into the image view - immediately if it is cached, otherwise after it was decoded.
+     * A recycled view which was meanwhile bound to another app will not get the late icon.
+     */
+    public void load(@NonNull App app, @NonNull ImageView imageView) {
+        final String componentName = app.getFlattenComponentName();
+        final String iconKey = app.getIconKey();
+        imageView.setTag(R.id.app_icon_request, componentName);
+        final Entry entry = cache.get(componentName);
+        if (entry != null && entry.iconKey.equals(iconKey)) {
+            imageView.setImageBitmap(entry.bitmap);
+            return;
+        }
+        imageView.setImageDrawable(null);
+        decoder.execute(() -> {
+            final Bitmap bitmap = BitmapFactory.decodeFile(AppIconStore.getFile(context, iconKey).getPath());
+            if (bitmap == null)
+                return;
+            cache.put(componentName, new Entry(iconKey, bitmap));
+            mainHandler.post(() -> {
+                if (componentName.equals(imageView.getTag(R.id.app_icon_request)))
+                    imageView.setImageBitmap(bitmap);
+            });
+        });
+    }
+
+    /**
+     * Makes sure a view which is now showing a resource will not be overridden by a pending decode.
+     */
+    public void cancel(@NonNull ImageView imageView) {
+        imageView.setTag(R.id.app_icon_request, null);
+    }
+
+    @NonNull
+    public String getStats() {
+        return String.format(Locale.US, "Icon Cache: %d/%d KB, Hits: %d, Misses: %d, Evictions: %d\n",
+                cache.size() / 1024, cache.maxSize() / 1024, cache.hitCount(), cache.missCount(), cache.evictionCount());
+    }
+
+    private static class Entry {
+        final String iconKey;
+        final Bitmap bitmap;
+
+        Entry(String iconKey, Bitmap bitmap) {
+            this.iconKey = iconKey;
+            this.bitmap = bitmap;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases.apps;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.util.DisplayMetrics;
+
+import androidx.annotation.NonNull;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Normalises launcher icons before they go into {@link AppIconStore}:
+ * rasterises them at the size of an apps drawer cell for the current display (never upscaling bitmaps)
+ * and encodes them losslessly - as WEBP where the platform can encode it losslessly (API 30+), as PNG before that.
+ * Instances are immutable and may be shared between threads.
+ */
+class AppIconRenderer {
+    /**
+     * The apps drawer shows 3 apps in a row in portrait, which is the biggest an icon is ever drawn
+     */
+    private static final int CELLS_IN_ROW = 3;
+
+    final int iconSize;
+
+    AppIconRenderer(@NonNull Context context) {
+        final DisplayMetrics displayMetrics = context.getResources().getDisplayMetrics();
+        iconSize = Math.min(displayMetrics.widthPixels, displayMetrics.heightPixels) / CELLS_IN_ROW;
+    }
+
+    @NonNull
+    byte[] render(@NonNull Drawable drawable) {
+        final int size = renderSize(iconSize, drawable.getIntrinsicWidth(), drawable.getIntrinsicHeight());
+
+        final Bitmap bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+        final Canvas canvas = new Canvas(bitmap);
+        drawable.setBounds(0, 0, size, size);
+        drawable.draw(canvas);
+
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream(size * size / 2);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R)
+            bitmap.compress(Bitmap.CompressFormat.WEBP_LOSSLESS, 100, stream);
+        else
+            bitmap.compress(Bitmap.CompressFormat.PNG, 100, stream); // the legacy WEBP format is always lossy
+        bitmap.recycle();
+        return stream.toByteArray();
+    }
+
+    /**
+     * @return the edge of the square the icon is rasterised into - the cell size, or the intrinsic size if that is smaller
+     */
+    static int renderSize(int iconSize, int intrinsicWidth, int intrinsicHeight) {
+        final int intrinsicSize = Math.max(intrinsicWidth, intrinsicHeight);
+        return intrinsicSize > 0 ? Math.min(iconSize, intrinsicSize) : iconSize;
+    }
+}
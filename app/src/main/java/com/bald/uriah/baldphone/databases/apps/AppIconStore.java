@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases.apps;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * On-disk store of launcher icons, so the {@link App} rows only keep a small {@link App#getIconKey() key}.
+ * A key is derived from the component name, the package version and the rendered size, therefore an icon file never changes
+ * once written - an app update simply produces a new key.
+ */
+public class AppIconStore {
+    private static final String TAG = AppIconStore.class.getSimpleName();
+    private static final String DIRECTORY = "app_icons";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * @param iconSize the size in pixels the icon was rendered at, 0 if unknown
+     */
+    @NonNull
+    public static String keyOf(@NonNull String flattenComponentName, long versionCode, int iconSize) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest((flattenComponentName + '@' + versionCode + '@' + iconSize).getBytes(StandardCharsets.UTF_8));
+            final char[] chars = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                chars[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+                chars[i * 2 + 1] = HEX[digest[i] & 0xF];
+            }
+            return new String(chars);
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e); // SHA-1 is guaranteed on every Android version
+        }
+    }
+
+    @NonNull
+    public static File getFile(@NonNull Context context, @NonNull String key) {
+        return new File(getDirectory(context), key);
+    }
+
+    public static boolean contains(@NonNull Context context, @NonNull String key) {
+        return getFile(context, key).isFile();
+    }
+
+    /**
+     * Writes the encoded icon to a temporary file first, so readers never see a partially written icon.
+     */
+    public static boolean put(@NonNull Context context, @NonNull String key, @NonNull byte[] encodedIcon) {
+        final File file = getFile(context, key);
+        final File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream outputStream = new FileOutputStream(temp)) {
+            outputStream.write(encodedIcon);
+        } catch (IOException e) {
+            Log.e(TAG, "put: could not write icon " + key, e);
+            temp.delete();
+            return false;
+        }
+        return temp.renameTo(file);
+    }
+
+    /**
+     * Deletes every icon file which is not referenced by the given keys.
+     */
+    public static void retainOnly(@NonNull Context context, @NonNull Collection<String> keys) {
+        final File[] files = getDirectory(context).listFiles();
+        if (files == null)
+            return;
+        final Set<String> keep = new HashSet<>(keys);
+        for (File file : files) {
+            if (!keep.contains(file.getName()))
+                file.delete();
+        }
+    }
+
+    @NonNull
+    private static File getDirectory(@NonNull Context context) {
+        final File directory = new File(context.getFilesDir(), DIRECTORY);
+        if (!directory.isDirectory())
+            directory.mkdirs();
+        return directory;
+    }
+}
@@ -16,11 +16,13 @@
 
 package com.bald.uriah.baldphone.databases.apps;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Update;
 
 import java.util.List;
 
@@ -35,27 +37,54 @@ public interface AppsDatabaseDao {
     @Query("SELECT * FROM App ORDER BY LOWER(label)")
     List<App> getAllOrderedByABC();
 
+    @Query("SELECT * FROM App ORDER BY LOWER(label)")
+    LiveData<List<App>> observeAllOrderedByABC();
+
     @Query("SELECT * FROM App WHERE pinned = 1 ORDER BY label ASC")
     List<App> getAllPinned();
 
+    @Query("SELECT * FROM App WHERE pinned = 1 ORDER BY label ASC")
+    LiveData<List<App>> observeAllPinned();
+
     @Query("UPDATE App SET pinned=:pinned WHERE id = :id")
     void update(int id, boolean pinned);
 
-    @Query("SELECT * FROM App WHERE flatten_component_name LIKE :flattenComponentName LIMIT 1")
+    @Query("SELECT * FROM App WHERE flatten_component_name = :flattenComponentName LIMIT 1")
     App findByFlattenComponentName(String flattenComponentName);
 
+    @Query("SELECT flatten_component_name FROM App")
+    List<String> getAllFlattenComponentNames();
+
+    @Query("SELECT icon_key FROM App WHERE icon_key IS NOT NULL")
+    List<String> getAllIconKeys();
+
+    /**
+     * @param prefix package name followed by {@code '/'}; compared with substr so '_' is not treated as a wildcard
+     */
+    @Query("SELECT * FROM App WHERE substr(flatten_component_name, 1, length(:prefix)) = :prefix")
+    List<App> getAllOfPackage(String prefix);
+
     @Insert(onConflict = OnConflictStrategy.IGNORE)
     void insertAll(App... apps);
 
     @Insert(onConflict = OnConflictStrategy.IGNORE)
     void insertAll(List<App> apps);
 
+    @Update
+    void updateAll(List<App> apps);
+
     @Delete
     void delete(App app);
 
     @Query("DELETE FROM App WHERE id IN (:appIds)")
     void deleteByIds(int... appIds);
 
+    @Query("DELETE FROM App WHERE flatten_component_name IN (:flattenComponentNames)")
+    void deleteByFlattenComponentNames(List<String> flattenComponentNames);
+
+    @Query("DELETE FROM App WHERE substr(flatten_component_name, 1, length(:prefix)) = :prefix")
+    void deleteAllOfPackage(String prefix);
+
     @Query("DELETE FROM App")
     void deleteAll();
 
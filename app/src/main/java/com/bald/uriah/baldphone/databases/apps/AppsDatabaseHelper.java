@@ -19,14 +19,16 @@ package com.bald.uriah.baldphone.databases.apps;
 import android.content.ComponentName;
 import android.content.Context;
 import android.content.Intent;
+import android.content.SharedPreferences;
 import android.content.pm.ActivityInfo;
 import android.content.pm.PackageManager;
 import android.content.pm.ResolveInfo;
-import android.graphics.drawable.BitmapDrawable;
-import android.graphics.drawable.Drawable;
 import android.util.Log;
 import android.widget.ImageView;
 
+import androidx.annotation.Nullable;
+import androidx.core.content.pm.PackageInfoCompat;
+
 import com.bald.uriah.baldphone.BuildConfig;
 import com.bald.uriah.baldphone.R;
 import com.bald.uriah.baldphone.activities.AppsActivity;
@@ -39,22 +41,36 @@ import com.bald.uriah.baldphone.activities.contacts.ContactsActivity;
 import com.bald.uriah.baldphone.activities.media.PhotosActivity;
 import com.bald.uriah.baldphone.activities.media.VideosActivity;
 import com.bald.uriah.baldphone.activities.pills.PillsActivity;
-import com.bald.uriah.baldphone.utils.S;
-import com.bumptech.glide.Glide;
+import com.bald.uriah.baldphone.databases.BaldDatabase;
+import com.bald.uriah.baldphone.utils.BPrefs;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * static class of useful methods when using the Apps Database
  */
 public class AppsDatabaseHelper {
     private static final String TAG = AppsDatabaseHelper.class.getSimpleName();
+    /**
+     * SQLite limits the number of bound variables in a single statement (999 on older versions)
+     */
+    private static final int SQL_VARIABLES_CHUNK = 500;
+    private static final int ICON_WORKERS = 4;
 
     public static final String baldComponentNameBeginning = BuildConfig.APPLICATION_ID + "/";
     public static Map<String, Integer> baldComponentNames = new HashMap<>(10);
+    private static final AtomicBoolean fullySynced = new AtomicBoolean(false);
 
     static {
         if (!BuildConfig.FLAVOR.equals("gPlay"))
@@ -71,8 +87,16 @@ public class AppsDatabaseHelper {
     }
 
     private static List<String> getInstalledAppsFlattenComponentNames(Context context) {
-        final PackageManager pm = context.getPackageManager();
-        final Intent intent = new Intent(Intent.ACTION_MAIN, null).addCategory(Intent.CATEGORY_LAUNCHER);
+        final List<String> componentNames = queryLauncherComponentNames(context.getPackageManager(), null);
+        componentNames.addAll(baldComponentNames.keySet());
+        return componentNames;
+    }
+
+    /**
+     * @param packageName if not null, only launcher activities of this package are returned
+     */
+    private static List<String> queryLauncherComponentNames(PackageManager pm, @Nullable String packageName) {
+        final Intent intent = new Intent(Intent.ACTION_MAIN, null).addCategory(Intent.CATEGORY_LAUNCHER).setPackage(packageName);
         final List<ResolveInfo> resolveInfos = pm.queryIntentActivities(intent, 0);
         final List<String> componentNames = new ArrayList<>(resolveInfos.size() + baldComponentNames.size());
 
@@ -86,83 +110,191 @@ public class AppsDatabaseHelper {
                 continue;
             componentNames.add(componentName.flattenToString());
         }
-        componentNames.addAll(baldComponentNames.keySet());
         return componentNames;
     }
 
     /**
-     * Updates Apps Database - should never throw any exception
+     * Runs {@link #updateDB(Context)} only once per process.
+     * Afterwards the database is kept current by {@link PackageChangesQueue}.
      */
-    public static void updateDB(Context context) {
+    public static void updateDBIfNeeded(Context context) {
+        if (!fullySynced.getAndSet(true))
+            updateDB(context);
+    }
 
-        final AppsDatabase appsDatabase = AppsDatabase.getInstance(context);
-        final int dbAmountBefore = appsDatabase.appsDatabaseDao().getNumberOfRows();
-        final List<String> addList = new ArrayList<>();
+    /**
+     * Updates Apps Database - should never throw any exception.
+     * The component names already in the database are loaded once into a hash set and diffed against
+     * the installed launcher activities in a single pass; inserts and deletes are applied in one transaction.
+     * Synchronized with {@link #updatePackages} so sweeping {@link AppIconStore} never races a pending insert.
+     * If the icon size of the display changed since the icons were rendered, the icons of all the kept apps are rendered again.
+     */
+    public static synchronized void updateDB(Context context) {
+        final BaldDatabase baldDatabase = BaldDatabase.getInstance(context);
+        final AppsDatabaseDao appsDatabaseDao = baldDatabase.appsDatabaseDao();
+        final Set<String> toDelete = new HashSet<>(appsDatabaseDao.getAllFlattenComponentNames());
         final List<String> realApps = getInstalledAppsFlattenComponentNames(context);
-
-        int realAppsInDbCount = 0;
+        final List<String> addList = new ArrayList<>();
+        final Set<String> keptPackages = new HashSet<>();
 
         for (String componentName : realApps) {
-            if (appsDatabase.appsDatabaseDao().findByFlattenComponentName(componentName) == null) {
+            if (!toDelete.remove(componentName))
                 addList.add(componentName);
-            } else {
-                ++realAppsInDbCount;
-            }
+            else if (!baldComponentNames.containsKey(componentName))
+                keptPackages.add(ComponentName.unflattenFromString(componentName).getPackageName());
         }
 
-        if (addList.size() > 0) {
-            final PackageManager packageManager = context.getPackageManager();
-            final App[] appsToAdd = new App[addList.size()];
-            int counter = 0;
-            for (String componentName : addList) {
-                try {
-                    final App app = new App();
-                    appsToAdd[counter++] = app;
-                    app.setFlattenComponentName(componentName);
-                    final ActivityInfo activityInfo =
-                            packageManager.getActivityInfo(ComponentName.unflattenFromString(componentName), PackageManager.MATCH_DEFAULT_ONLY);
-                    app.setLabel(String.valueOf(activityInfo.loadLabel(packageManager)));
-                    final Drawable drawable = activityInfo.loadIcon(packageManager);
-                    if (drawable instanceof BitmapDrawable)
-                        app.setIcon(S.bitmapToByteArray(((BitmapDrawable) drawable).getBitmap()));
-                    else
-                        app.setIcon(S.bitmapToByteArray(S.getBitmapFromDrawable(drawable)));
-
-                } catch (PackageManager.NameNotFoundException e) {
-                    Log.e(TAG, "updateDB: cannot happen! new app is not found", e);
-//                    ACRA.getErrorReporter().handleSilentException(new RuntimeException("cannot happen! new app is not found", e));
-                }
+        final SharedPreferences sharedPreferences = BPrefs.get(context);
+        final int iconSize = new AppIconRenderer(context).iconSize;
+        // never rendered before, e.g. the full size icons imported by LegacyDatabases
+        if (sharedPreferences.getInt(BPrefs.APP_ICON_SIZE_KEY, -1) != iconSize)
+            updatePackages(context, keptPackages);
+        sharedPreferences.edit().putInt(BPrefs.APP_ICON_SIZE_KEY, iconSize).apply();
+
+        if (addList.isEmpty() && toDelete.isEmpty())
+            return;
+
+        final List<App> appsToAdd = createApps(context, addList);
+
+        final List<String> deleteList = new ArrayList<>(toDelete);
+        baldDatabase.runInTransaction(() -> {
+            if (!appsToAdd.isEmpty())
+                appsDatabaseDao.insertAll(appsToAdd);
+            for (int i = 0; i < deleteList.size(); i += SQL_VARIABLES_CHUNK)
+                appsDatabaseDao.deleteByFlattenComponentNames(deleteList.subList(i, Math.min(i + SQL_VARIABLES_CHUNK, deleteList.size())));
+        });
+        AppIconStore.retainOnly(context, appsDatabaseDao.getAllIconKeys());
+    }
 
+    /**
+     * Re-reads the launcher activities of the given packages only - inserting new activities,
+     * deleting removed ones and refreshing label and icon of the rest (keeping their pinned state).
+     */
+    public static synchronized void updatePackages(Context context, Collection<String> packageNames) {
+        final BaldDatabase baldDatabase = BaldDatabase.getInstance(context);
+        final AppsDatabaseDao appsDatabaseDao = baldDatabase.appsDatabaseDao();
+        final PackageManager packageManager = context.getPackageManager();
+        final AppIconRenderer renderer = new AppIconRenderer(context);
+        final List<App> toInsert = new ArrayList<>(), toUpdate = new ArrayList<>();
+        final List<String> toDelete = new ArrayList<>();
+
+        for (String packageName : packageNames) {
+            if (packageName.equals(BuildConfig.APPLICATION_ID))
+                continue;
+            final Map<String, App> existing = new HashMap<>();
+            for (App app : appsDatabaseDao.getAllOfPackage(packageName + "/"))
+                existing.put(app.getFlattenComponentName(), app);
+
+            for (String componentName : queryLauncherComponentNames(packageManager, packageName)) {
+                final App app = createApp(context, packageManager, renderer, componentName);
+                if (app == null)
+                    continue;
+                final App old = existing.remove(componentName);
+                if (old == null) {
+                    toInsert.add(app);
+                } else {
+                    app.setId(old.getId());
+                    app.setPinned(old.isPinned());
+                    toUpdate.add(app);
+                }
             }
-            appsDatabase.appsDatabaseDao().insertAll(appsToAdd);
+            toDelete.addAll(existing.keySet());
         }
 
-        if (dbAmountBefore > realAppsInDbCount) {
-            final int howMuchToGo = dbAmountBefore - realAppsInDbCount;
-            final int[] idsToDelete = new int[howMuchToGo];
+        if (toInsert.isEmpty() && toUpdate.isEmpty() && toDelete.isEmpty())
+            return;
 
-            int idsToDeleteCounter = 0;
-            boolean shouldDelete;
-
-            for (App app : appsDatabase.appsDatabaseDao().getAll()) {
-                shouldDelete = true;
-                for (String componentName : realApps)
-                    if (app.getFlattenComponentName().equals(componentName)) {
-                        shouldDelete = false;
-                        break;
-                    }
-                if (shouldDelete)
-                    idsToDelete[idsToDeleteCounter++] = app.getId();
+        baldDatabase.runInTransaction(() -> {
+            if (!toInsert.isEmpty())
+                appsDatabaseDao.insertAll(toInsert);
+            if (!toUpdate.isEmpty())
+                appsDatabaseDao.updateAll(toUpdate);
+            for (int i = 0; i < toDelete.size(); i += SQL_VARIABLES_CHUNK)
+                appsDatabaseDao.deleteByFlattenComponentNames(toDelete.subList(i, Math.min(i + SQL_VARIABLES_CHUNK, toDelete.size())));
+        });
+        AppIconStore.retainOnly(context, appsDatabaseDao.getAllIconKeys());
+    }
 
+    /**
+     * Creates the apps on a bounded worker pool, since loading and rendering icons is the expensive part of a sync.
+     */
+    private static List<App> createApps(Context context, List<String> componentNames) {
+        final PackageManager packageManager = context.getPackageManager();
+        final AppIconRenderer renderer = new AppIconRenderer(context);
+        final List<App> apps = new ArrayList<>(componentNames.size());
+        final int workers = Math.max(1, Math.min(Math.min(ICON_WORKERS, Runtime.getRuntime().availableProcessors()), componentNames.size()));
+        final ExecutorService executorService = Executors.newFixedThreadPool(workers);
+        try {
+            final List<Future<App>> futures = new ArrayList<>(componentNames.size());
+            for (String componentName : componentNames)
+                futures.add(executorService.submit(() -> createApp(context, packageManager, renderer, componentName)));
+            for (Future<App> future : futures) {
+                try {
+                    final App app = future.get();
+                    if (app != null)
+                        apps.add(app);
+                } catch (ExecutionException e) {
+                    Log.e(TAG, "createApps: could not create app", e);
+                }
             }
-            appsDatabase.appsDatabaseDao().deleteByIds(idsToDelete);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executorService.shutdownNow();
         }
+        return apps;
     }
 
+    /**
+     * @return a new {@link App} with its label loaded and its icon in {@link AppIconStore}, or null if the activity cannot be found.
+     * The icon is only rendered if the store does not have it for this version of the package yet.
+     */
+    @Nullable
+    static App createApp(Context context, PackageManager packageManager, AppIconRenderer renderer, String componentName) {
+        try {
+            final App app = new App();
+            app.setFlattenComponentName(componentName);
+            final ActivityInfo activityInfo =
+                    packageManager.getActivityInfo(ComponentName.unflattenFromString(componentName), PackageManager.MATCH_DEFAULT_ONLY);
+            app.setLabel(String.valueOf(activityInfo.loadLabel(packageManager)));
+            if (baldComponentNames.containsKey(componentName))
+                return app; // drawn from resources, see loadPic
+            final String iconKey = AppIconStore.keyOf(componentName, getVersionCode(packageManager, componentName), renderer.iconSize);
+            if (!AppIconStore.contains(context, iconKey)
+                    && !AppIconStore.put(context, iconKey, renderer.render(activityInfo.loadIcon(packageManager))))
+                return app;
+            app.setIconKey(iconKey);
+            return app;
+        } catch (PackageManager.NameNotFoundException e) {
+            Log.e(TAG, "createApp: new app is not found " + componentName, e);
+            return null;
+        }
+    }
+
+    public static long getVersionCode(PackageManager packageManager, String flattenComponentName) {
+        final ComponentName componentName = ComponentName.unflattenFromString(flattenComponentName);
+        if (componentName == null)
+            return 0;
+        try {
+            return PackageInfoCompat.getLongVersionCode(packageManager.getPackageInfo(componentName.getPackageName(), 0));
+        } catch (PackageManager.NameNotFoundException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Loads the icon of the app through the shared {@link AppIconCache}
+     */
     public static void loadPic(App app, ImageView imageView) {
-        if (app.getFlattenComponentName().startsWith(baldComponentNameBeginning))
+        final AppIconCache appIconCache = AppIconCache.getInstance(imageView.getContext());
+        if (app.getFlattenComponentName().startsWith(baldComponentNameBeginning)) {
+            appIconCache.cancel(imageView);
             imageView.setImageResource(AppsDatabaseHelper.baldComponentNames.get(app.getFlattenComponentName()));
-        else
-            Glide.with(imageView).load(S.byteArrayToBitmap(app.getIcon())).into(imageView);
+        } else if (app.getIconKey() != null) {
+            appIconCache.load(app, imageView);
+        } else {
+            appIconCache.cancel(imageView);
+            imageView.setImageDrawable(null);
+        }
     }
 }
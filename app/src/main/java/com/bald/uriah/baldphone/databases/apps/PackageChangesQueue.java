@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases.apps;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.bald.uriah.baldphone.broadcast_receivers.PackageChangedReceiver;
+import com.bald.uriah.baldphone.databases.BaldDatabase;
+import com.bald.uriah.baldphone.utils.D;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Background queue of packages whose launcher activities should be re-read into the {@link BaldDatabase}.
+ * Events arriving within {@link #COALESCE_DELAY} of each other are merged, so an app update
+ * (removed + added + replaced) results in a single {@link AppsDatabaseHelper#updatePackages} call.
+ *
+ * @see PackageChangedReceiver
+ */
+public class PackageChangesQueue {
+    private static final String TAG = PackageChangesQueue.class.getSimpleName();
+    private static final long COALESCE_DELAY = 500 * D.MILLISECOND;
+    private static final Object LOCK = new Object();
+    private static PackageChangesQueue instance = null;
+
+    private final Context context;
+    private final Handler handler;
+    private final Set<String> pendingPackages = new HashSet<>();
+    private final Runnable drain = this::drain;
+
+    private PackageChangesQueue(Context context) {
+        this.context = context.getApplicationContext();
+        final HandlerThread handlerThread = new HandlerThread(TAG, Process.THREAD_PRIORITY_BACKGROUND);
+        handlerThread.start();
+        this.handler = new Handler(handlerThread.getLooper());
+    }
+
+    public static PackageChangesQueue getInstance(Context context) {
+        synchronized (LOCK) {
+            if (instance == null)
+                instance = new PackageChangesQueue(context);
+            return instance;
+        }
+    }
+
+    public void enqueue(@NonNull String packageName) {
+        synchronized (pendingPackages) {
+            pendingPackages.add(packageName);
+        }
+        handler.removeCallbacks(drain);
+        handler.postDelayed(drain, COALESCE_DELAY);
+    }
+
+    private void drain() {
+        final Set<String> packages;
+        synchronized (pendingPackages) {
+            if (pendingPackages.isEmpty())
+                return;
+            packages = new HashSet<>(pendingPackages);
+            pendingPackages.clear();
+        }
+        try {
+            AppsDatabaseHelper.updatePackages(context, packages);
+        } catch (Exception e) {
+            Log.e(TAG, "drain: could not update " + packages, e);
+        }
+    }
+}
@@ -23,8 +23,10 @@ import android.provider.CallLog;
 import android.provider.ContactsContract;
 
 import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
 
 import com.bald.uriah.baldphone.databases.contacts.MiniContact;
+import com.bald.uriah.baldphone.databases.contacts.MiniContactResolver;
 
 public class Call {
     private static final String TAG = Call.class.getSimpleName();
@@ -54,19 +56,33 @@ public class Call {
 //        this.neW = neW;
     }
 
+    /**
+     * @param cursor queried with {@link #PROJECTION} (possibly followed by more columns), read by position
+     */
     public Call(final Cursor cursor) {
         this(
-                cursor.getString(cursor.getColumnIndex(CallLog.Calls.NUMBER)),
-                cursor.getInt(cursor.getColumnIndex(CallLog.Calls.DURATION)),
-                cursor.getLong(cursor.getColumnIndex(CallLog.Calls.DATE)),
-                cursor.getInt(cursor.getColumnIndex(CallLog.Calls.TYPE)),
-                cursor.getString(cursor.getColumnIndex(CallLog.Calls.CACHED_LOOKUP_URI))
-//                ,(cursor.getInt(cursor.getColumnIndex(CallLog.Calls.NEW)) == 1) && (cursor.getInt(cursor.getColumnIndex(CallLog.Calls.IS_READ)) == 0)
+                cursor.getString(0),
+                cursor.getInt(1),
+                cursor.getLong(2),
+                cursor.getInt(3),
+                cursor.getString(4)
         );
     }
 
+    /**
+     * Cached, see {@link MiniContactResolver}
+     */
     @Nullable
     public MiniContact getMiniContact(Context context) {
+        return MiniContactResolver.getInstance(context).resolve(this);
+    }
+
+    /**
+     * Always queries the contacts provider, use {@link #getMiniContact(Context)}
+     */
+    @WorkerThread
+    @Nullable
+    public MiniContact queryMiniContact(Context context) {
         if (isPrivate())
             return null;
         Cursor cursor = null;
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases.calls;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.database.Cursor;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.provider.CallLog;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.bald.uriah.baldphone.utils.BackgroundThreadFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads the call log newest first, {@link #PAGE_SIZE} calls at a time, on a background thread.
+ * Pages are keyed by the date and id of the last call already loaded (rather than by an offset),
+ * so calls arriving while the user scrolls neither shift nor duplicate the rows which were already shown.
+ * Every page comes with its {@link CallLogsHelper#dayHeaders day headers}, grouped continuing from the previous page.
+ */
+public class CallLogPager {
+    private static final String TAG = CallLogPager.class.getSimpleName();
+    public static final int PAGE_SIZE = 50;
+    private static final String[] PAGE_PROJECTION = new String[Call.PROJECTION.length + 1];
+    private static final int ID_INDEX = Call.PROJECTION.length;
+    private static final String SORT_ORDER = CallLog.Calls.DATE + " DESC, " + CallLog.Calls._ID + " DESC";
+    private static final String AFTER_SELECTION =
+            CallLog.Calls.DATE + "<? OR (" + CallLog.Calls.DATE + "=? AND " + CallLog.Calls._ID + "<?)";
+
+    static {
+        System.arraycopy(Call.PROJECTION, 0, PAGE_PROJECTION, 0, Call.PROJECTION.length);
+        PAGE_PROJECTION[ID_INDEX] = CallLog.Calls._ID;
+    }
+
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor(new BackgroundThreadFactory(TAG));
+
+    private final Context context;
+    private final Listener listener;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private boolean loading, exhausted, closed;
+    private Call lastCall;
+    private long lastId;
+
+    public CallLogPager(@NonNull Context context, @NonNull Listener listener) {
+        this.context = context.getApplicationContext();
+        this.listener = listener;
+    }
+
+    /**
+     * Does nothing if a page is already being loaded or the whole call log was loaded.
+     */
+    @MainThread
+    public void loadNextPage() {
+        if (loading || exhausted || closed)
+            return;
+        loading = true;
+        final Call after = lastCall;
+        final long afterId = lastId;
+        loader.execute(() -> {
+            Page page;
+            try {
+                page = loadPage(after, afterId);
+            } catch (Exception e) {
+                Log.e(TAG, "loadNextPage: could not load calls", e);
+                page = new Page(new ArrayList<>(), new String[0], afterId, false);
+            }
+            final Page loaded = page;
+            mainHandler.post(() -> onPageLoaded(loaded));
+        });
+    }
+
+    public boolean hasMore() {
+        return !exhausted;
+    }
+
+    /**
+     * Pages which are still loading will not be delivered.
+     */
+    @MainThread
+    public void close() {
+        closed = true;
+    }
+
+    @MainThread
+    private void onPageLoaded(Page page) {
+        loading = false;
+        if (closed)
+            return;
+        exhausted = !page.hasMore;
+        if (!page.calls.isEmpty()) {
+            lastCall = page.calls.get(page.calls.size() - 1);
+            lastId = page.lastId;
+        }
+        listener.onPageLoaded(page.calls, page.dayHeaders, page.hasMore);
+    }
+
+    @WorkerThread
+    private Page loadPage(Call after, long afterId) {
+        final ContentResolver contentResolver = context.getContentResolver();
+        final Uri uri = CallLog.Calls.CONTENT_URI.buildUpon()
+                .appendQueryParameter(CallLog.Calls.LIMIT_PARAM_KEY, String.valueOf(PAGE_SIZE))
+                .build();
+        final String selection;
+        final String[] selectionArgs;
+        if (after == null) {
+            selection = null;
+            selectionArgs = null;
+        } else {
+            selection = AFTER_SELECTION;
+            selectionArgs = new String[]{String.valueOf(after.dateTime), String.valueOf(after.dateTime), String.valueOf(afterId)};
+        }
+        final List<Call> calls = new ArrayList<>(PAGE_SIZE);
+        long pageLastId = afterId;
+        try (Cursor cursor = contentResolver.query(uri, PAGE_PROJECTION, selection, selectionArgs, SORT_ORDER)) {
+            if (cursor != null) {
+                while (cursor.moveToNext() && calls.size() < PAGE_SIZE) {
+                    calls.add(new Call(cursor));
+                    pageLastId = cursor.getLong(ID_INDEX);
+                }
+            }
+        }
+        return new Page(calls, CallLogsHelper.dayHeaders(context, calls, after), pageLastId, calls.size() == PAGE_SIZE);
+    }
+
+    public interface Listener {
+        /**
+         * @param dayHeaders parallel to {@code calls}, see {@link CallLogsHelper#dayHeaders}
+         */
+        void onPageLoaded(@NonNull List<Call> calls, @NonNull String[] dayHeaders, boolean hasMore);
+    }
+
+    private static class Page {
+        final List<Call> calls;
+        final String[] dayHeaders;
+        final long lastId;
+        final boolean hasMore;
+
+        Page(List<Call> calls, String[] dayHeaders, long lastId, boolean hasMore) {
+            this.calls = calls;
+            this.dayHeaders = dayHeaders;
+            this.lastId = lastId;
+            this.hasMore = hasMore;
+        }
+    }
+}
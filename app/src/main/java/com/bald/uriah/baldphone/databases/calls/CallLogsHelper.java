@@ -18,14 +18,21 @@ package com.bald.uriah.baldphone.databases.calls;
 
 import android.content.ContentResolver;
 import android.content.ContentValues;
+import android.content.Context;
 import android.database.Cursor;
 import android.net.Uri;
 import android.provider.CallLog;
 import android.provider.ContactsContract;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
 import com.bald.uriah.baldphone.BuildConfig;
 import com.bald.uriah.baldphone.adapters.CallsRecyclerViewAdapter;
 import com.bald.uriah.baldphone.databases.contacts.Contact;
+import com.bald.uriah.baldphone.utils.S;
+
+import org.joda.time.LocalDate;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -39,18 +46,6 @@ import static android.provider.CallLog.Calls.TYPE;
  * Simple Helper to get the call log.
  */
 public class CallLogsHelper {
-    public static List<Call> getAllCalls(ContentResolver contentResolver) {
-        try (Cursor cursor = contentResolver.query(CallLog.Calls.CONTENT_URI, Call.PROJECTION, null, null, CallLog.Calls.DATE + " DESC")) {
-            final List<Call> calls = new ArrayList<>(cursor.getCount());
-            while (cursor.moveToNext()) {
-                calls.add(new Call(cursor));
-            }
-            return calls;
-        } catch (SecurityException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
     public static List<Call> getForSpecificContact(ContentResolver contentResolver, Contact contact) {
         if (BuildConfig.FLAVOR.equals("gPlay"))
             return new ArrayList<>();
@@ -66,6 +61,26 @@ public class CallLogsHelper {
         }
     }
 
+    /**
+     * Computes once what each row of a newest first call list shows above itself:
+     * the {@link S#stringTimeFromLong day} for the first call of every day, otherwise null.
+     *
+     * @param previous the call shown right before {@code calls}, null if they are the beginning of the list
+     */
+    @NonNull
+    public static String[] dayHeaders(@NonNull Context context, @NonNull List<Call> calls, @Nullable Call previous) {
+        final String[] dayHeaders = new String[calls.size()];
+        LocalDate previousDay = previous == null ? null : new LocalDate(previous.dateTime);
+        for (int i = 0; i < dayHeaders.length; i++) {
+            final Call call = calls.get(i);
+            final LocalDate day = new LocalDate(call.dateTime);
+            if (!day.equals(previousDay))
+                dayHeaders[i] = S.stringTimeFromLong(context, call.dateTime, false);
+            previousDay = day;
+        }
+        return dayHeaders;
+    }
+
     public static void markAllAsRead(ContentResolver contentResolver) {
         final ContentValues values = new ContentValues();
         values.put(IS_READ, true);
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases.calls;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import com.bald.uriah.baldphone.adapters.CallsRecyclerViewAdapter;
+
+import java.util.List;
+
+/**
+ * Counters of all the calls with one phone number, maintained by {@link CallStatsAggregator}.
+ * The number is kept as its {@link com.bald.uriah.baldphone.databases.contacts.ContactDigitIndex#digitsOf digits},
+ * and the lookup key is of the contact the call log last matched it with, if any.
+ * <p>
+ * using this old java getters and setters because Room requires that.
+ * see {@link Entity}
+ */
+@Entity(indices = {@Index(value = "lookup_key")})
+public class CallStats {
+
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "number")
+    private String number = "";
+
+    @ColumnInfo(name = "lookup_key")
+    private String lookupKey;
+
+    @ColumnInfo(name = "incoming_calls")
+    private int incomingCalls;
+
+    @ColumnInfo(name = "outgoing_calls")
+    private int outgoingCalls;
+
+    @ColumnInfo(name = "missed_calls")
+    private int missedCalls;
+
+    @ColumnInfo(name = "other_calls")
+    private int otherCalls;
+
+    /**
+     * in seconds
+     */
+    @ColumnInfo(name = "total_duration")
+    private long totalDuration;
+
+    /**
+     * {@link android.provider.CallLog.Calls#DATE} of the newest call
+     */
+    @ColumnInfo(name = "last_call")
+    private long lastCall;
+
+    /**
+     * {@link android.provider.CallLog.Calls#_ID} of the newest counted call
+     */
+    @ColumnInfo(name = "last_call_id")
+    private long lastCallId;
+
+    public CallStats() {
+    }
+
+    @Ignore
+    public CallStats(@NonNull String number) {
+        this.number = number;
+    }
+
+    /**
+     * @return the counters of all the given rows together, e.g. of all the numbers of one contact
+     */
+    @NonNull
+    public static CallStats sum(@NonNull List<CallStats> callStatsList) {
+        final CallStats sum = new CallStats();
+        for (CallStats callStats : callStatsList) {
+            if (sum.lookupKey == null)
+                sum.lookupKey = callStats.lookupKey;
+            sum.incomingCalls += callStats.incomingCalls;
+            sum.outgoingCalls += callStats.outgoingCalls;
+            sum.missedCalls += callStats.missedCalls;
+            sum.otherCalls += callStats.otherCalls;
+            sum.totalDuration += callStats.totalDuration;
+            sum.lastCall = Math.max(sum.lastCall, callStats.lastCall);
+            sum.lastCallId = Math.max(sum.lastCallId, callStats.lastCallId);
+        }
+        return sum;
+    }
+
+    /**
+     * Counts a call which was added to the call log after all the calls counted so far
+     */
+    @Ignore
+    void add(@NonNull Call call, long callId, String lookupKey) {
+        switch (call.callType) {
+            case CallsRecyclerViewAdapter.INCOMING_TYPE:
+            case CallsRecyclerViewAdapter.ANSWERED_EXTERNALLY_TYPE:
+                incomingCalls++;
+                break;
+            case CallsRecyclerViewAdapter.OUTGOING_TYPE:
+                outgoingCalls++;
+                break;
+            case CallsRecyclerViewAdapter.MISSED_TYPE:
+            case CallsRecyclerViewAdapter.REJECTED_TYPE:
+                missedCalls++;
+                break;
+            default:
+                otherCalls++;
+        }
+        totalDuration += call.lengthInSeconds;
+        lastCall = Math.max(lastCall, call.dateTime);
+        lastCallId = Math.max(lastCallId, callId);
+        if (lookupKey != null)
+            this.lookupKey = lookupKey;
+    }
+
+    /**
+     * Adds the counters of newer calls with the same number
+     */
+    @Ignore
+    void add(@NonNull CallStats newer) {
+        incomingCalls += newer.incomingCalls;
+        outgoingCalls += newer.outgoingCalls;
+        missedCalls += newer.missedCalls;
+        otherCalls += newer.otherCalls;
+        totalDuration += newer.totalDuration;
+        lastCall = Math.max(lastCall, newer.lastCall);
+        lastCallId = Math.max(lastCallId, newer.lastCallId);
+        if (newer.lookupKey != null)
+            lookupKey = newer.lookupKey;
+    }
+
+    @Ignore
+    public int getTotalCalls() {
+        return incomingCalls + outgoingCalls + missedCalls + otherCalls;
+    }
+
+    @NonNull
+    public String getNumber() {
+        return number;
+    }
+
+    public void setNumber(@NonNull String number) {
+        this.number = number;
+    }
+
+    public String getLookupKey() {
+        return lookupKey;
+    }
+
+    public void setLookupKey(String lookupKey) {
+        this.lookupKey = lookupKey;
+    }
+
+    public int getIncomingCalls() {
+        return incomingCalls;
+    }
+
+    public void setIncomingCalls(int incomingCalls) {
+        this.incomingCalls = incomingCalls;
+    }
+
+    public int getOutgoingCalls() {
+        return outgoingCalls;
+    }
+
+    public void setOutgoingCalls(int outgoingCalls) {
+        this.outgoingCalls = outgoingCalls;
+    }
+
+    public int getMissedCalls() {
+        return missedCalls;
+    }
+
+    public void setMissedCalls(int missedCalls) {
+        this.missedCalls = missedCalls;
+    }
+
+    public int getOtherCalls() {
+        return otherCalls;
+    }
+
+    public void setOtherCalls(int otherCalls) {
+        this.otherCalls = otherCalls;
+    }
+
+    public long getTotalDuration() {
+        return totalDuration;
+    }
+
+    public void setTotalDuration(long totalDuration) {
+        this.totalDuration = totalDuration;
+    }
+
+    public long getLastCall() {
+        return lastCall;
+    }
+
+    public void setLastCall(long lastCall) {
+        this.lastCall = lastCall;
+    }
+
+    public long getLastCallId() {
+        return lastCallId;
+    }
+
+    public void setLastCallId(long lastCallId) {
+        this.lastCallId = lastCallId;
+    }
+}
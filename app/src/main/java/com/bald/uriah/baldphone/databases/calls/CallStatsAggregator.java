@@ -0,0 +1,213 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases.calls;
+
+import android.Manifest;
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.database.ContentObserver;
+import android.database.Cursor;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+import android.provider.CallLog;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import androidx.core.content.ContextCompat;
+
+import com.bald.uriah.baldphone.databases.BaldDatabase;
+import com.bald.uriah.baldphone.databases.contacts.ContactDigitIndex;
+import com.bald.uriah.baldphone.utils.D;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps {@link CallStats} up to date with the call log, so contact screens and the home screen
+ * read per number counters instead of scanning {@link CallLog.Calls}.
+ * The newest counted {@link CallLog.Calls#_ID} is the watermark: the first sync reads the whole call log once,
+ * and every change of the call log afterwards only reads the calls added after it.
+ * Not {@link CallLog.Calls#DATE}, which is when a call started, so a long call ending after a newer one would be skipped.
+ * Calls which are deleted from the call log (or trimmed by the system) stay counted.
+ * Only the main process may start it, as each process would count the same calls again.
+ */
+public class CallStatsAggregator {
+    private static final String TAG = CallStatsAggregator.class.getSimpleName();
+    private static final long COALESCE_DELAY = 500 * D.MILLISECOND;
+    /**
+     * Below SQLite's default limit of 999 host parameters
+     */
+    private static final int SQL_VARIABLES_CHUNK = 500;
+    private static final String[] PROJECTION = Arrays.copyOf(Call.PROJECTION, Call.PROJECTION.length + 1);
+
+    static {
+        PROJECTION[Call.PROJECTION.length] = CallLog.Calls._ID;
+    }
+
+    private static final Object LOCK = new Object();
+    private static CallStatsAggregator instance = null;
+
+    private final Context context;
+    private final Handler handler;
+    private final Runnable sync = this::syncNow;
+    private boolean started;
+
+    private CallStatsAggregator(Context context) {
+        this.context = context.getApplicationContext();
+        final HandlerThread handlerThread = new HandlerThread(TAG, Process.THREAD_PRIORITY_BACKGROUND);
+        handlerThread.start();
+        this.handler = new Handler(handlerThread.getLooper());
+    }
+
+    public static CallStatsAggregator getInstance(Context context) {
+        synchronized (LOCK) {
+            if (instance == null)
+                instance = new CallStatsAggregator(context);
+            return instance;
+        }
+    }
+
+    /**
+     * Starts following the call log, and syncs whatever happened since the last time.
+     */
+    public void start() {
+        synchronized (LOCK) {
+            if (started)
+                return;
+            started = true;
+        }
+        try {
+            context.getContentResolver().registerContentObserver(CallLog.Calls.CONTENT_URI, true, new ContentObserver(handler) {
+                @Override
+                public void onChange(boolean selfChange) {
+                    requestSync();
+                }
+            });
+        } catch (SecurityException e) {
+            Log.e(TAG, "start: could not observe the call log", e);
+        }
+        requestSync();
+    }
+
+    /**
+     * Calls arriving within {@link #COALESCE_DELAY} of each other are counted together.
+     */
+    public void requestSync() {
+        handler.removeCallbacks(sync);
+        handler.postDelayed(sync, COALESCE_DELAY);
+    }
+
+    /**
+     * Counts the calls which were not counted yet.
+     * Cheap when nothing changed, as only calls added after the watermark are read.
+     * The watermark is read within the same transaction which counts the calls, so no call is counted twice.
+     */
+    @WorkerThread
+    private synchronized void syncNow() {
+        if (ContextCompat.checkSelfPermission(context, Manifest.permission.READ_CALL_LOG) != PackageManager.PERMISSION_GRANTED)
+            return;
+        try {
+            final CallStatsDao callStatsDao = BaldDatabase.getInstance(context).callStatsDao();
+            BaldDatabase.getInstance(context).runInTransaction(() -> {
+                final Map<String, CallStats> newCalls = readCallsAfter(callStatsDao.getLastCallId());
+                if (newCalls.isEmpty())
+                    return;
+                final List<String> numbers = new ArrayList<>(newCalls.keySet());
+                final List<CallStats> updated = new ArrayList<>(numbers.size());
+                for (int start = 0; start < numbers.size(); start += SQL_VARIABLES_CHUNK) {
+                    for (CallStats existing : callStatsDao.getByNumbers(numbers.subList(start, Math.min(numbers.size(), start + SQL_VARIABLES_CHUNK)))) {
+                        existing.add(newCalls.remove(existing.getNumber()));
+                        updated.add(existing);
+                    }
+                }
+                updated.addAll(newCalls.values());
+                callStatsDao.replaceAll(updated);
+            });
+        } catch (Exception e) {
+            Log.e(TAG, "syncNow: could not count calls", e);
+        }
+    }
+
+    /**
+     * @param phoneNumbers the contact's numbers as they are stored, so calls the call log has not matched with the contact are counted too
+     * @return the counters of all the calls with the contact, up to date with the call log
+     */
+    @WorkerThread
+    @NonNull
+    public CallStats getContactStats(@NonNull String lookupKey, @NonNull List<String> phoneNumbers) {
+        syncNow();
+        final List<String> numbers = new ArrayList<>(phoneNumbers.size());
+        for (String phoneNumber : phoneNumbers) {
+            final String number = ContactDigitIndex.digitsOf(phoneNumber);
+            if (!number.isEmpty())
+                numbers.add(number);
+        }
+        return CallStats.sum(BaldDatabase.getInstance(context).callStatsDao().getForContact(lookupKey, numbers));
+    }
+
+    /**
+     * @return counters of the calls added after {@code watermark}, by number
+     */
+    @WorkerThread
+    @NonNull
+    private Map<String, CallStats> readCallsAfter(long watermark) {
+        final Map<String, CallStats> newCalls = new HashMap<>();
+        try (Cursor cursor = context.getContentResolver().query(
+                CallLog.Calls.CONTENT_URI,
+                PROJECTION,
+                CallLog.Calls._ID + ">?",
+                new String[]{String.valueOf(watermark)},
+                null)) {
+            if (cursor == null)
+                return newCalls;
+            while (cursor.moveToNext()) {
+                final Call call = new Call(cursor);
+                if (call.phoneNumber == null || call.isPrivate())
+                    continue;
+                final String number = ContactDigitIndex.digitsOf(call.phoneNumber);
+                if (number.isEmpty())
+                    continue;
+                CallStats callStats = newCalls.get(number);
+                if (callStats == null) {
+                    callStats = new CallStats(number);
+                    newCalls.put(number, callStats);
+                }
+                callStats.add(call, cursor.getLong(Call.PROJECTION.length), lookupKeyOf(call.contactUri));
+            }
+        }
+        return newCalls;
+    }
+
+    /**
+     * @param contactUri {@link CallLog.Calls#CACHED_LOOKUP_URI}, "content://com.android.contacts/contacts/lookup/{lookupKey}/{id}"
+     */
+    @Nullable
+    private static String lookupKeyOf(@Nullable String contactUri) {
+        if (contactUri == null)
+            return null;
+        final List<String> pathSegments = Uri.parse(contactUri).getPathSegments();
+        final int index = pathSegments.indexOf("lookup");
+        return index >= 0 && index + 1 < pathSegments.size() ? pathSegments.get(index + 1) : null;
+    }
+}
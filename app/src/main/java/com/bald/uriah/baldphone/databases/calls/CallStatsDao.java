@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases.calls;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+@Dao
+public interface CallStatsDao {
+    /**
+     * The watermark of {@link CallStatsAggregator}, 0 if nothing was counted yet
+     */
+    @Query("SELECT IFNULL(MAX(last_call_id), 0) FROM CallStats")
+    long getLastCallId();
+
+    @Query("SELECT * FROM CallStats WHERE number IN (:numbers)")
+    List<CallStats> getByNumbers(List<String> numbers);
+
+    /**
+     * @param numbers {@link com.bald.uriah.baldphone.databases.contacts.ContactDigitIndex#digitsOf digits} of the contact's numbers,
+     *                which also finds calls the call log has not matched with the contact
+     */
+    @Query("SELECT * FROM CallStats WHERE lookup_key = :lookupKey OR number IN (:numbers)")
+    List<CallStats> getForContact(String lookupKey, List<String> numbers);
+
+    /**
+     * Answered and outgoing calls, which is what "frequently called" is ordered by
+     */
+    @Query("SELECT lookup_key, SUM(incoming_calls + outgoing_calls) AS calls FROM CallStats WHERE lookup_key IN (:lookupKeys) GROUP BY lookup_key")
+    List<ContactCalls> getCallsOfContacts(List<String> lookupKeys);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void replaceAll(List<CallStats> callStats);
+
+    class ContactCalls {
+        @ColumnInfo(name = "lookup_key")
+        public String lookupKey;
+
+        @ColumnInfo(name = "calls")
+        public int calls;
+    }
+}
@@ -26,7 +26,6 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.bald.uriah.baldphone.utils.Constants;
-import com.bald.uriah.baldphone.utils.D;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -73,27 +72,29 @@ public class Contact implements Constants.ContactConstants {
     }
 
     public static Contact fromId(@NonNull String id, @NonNull ContentResolver contentResolver) throws ContactNotFoundException {
-        final Cursor contactsCursor =
-                contentResolver.query(
-                        ContactsContract.Contacts.CONTENT_URI,
-                        PROJECTION,
-                        ContactsContract.Contacts._ID + " = ?",
-                        new String[]{id},
-                        null);
-        if (!contactsCursor.moveToFirst()) throw new ContactNotFoundException();
-        return readContact(contactsCursor, contentResolver);
+        try (Cursor contactsCursor =
+                     contentResolver.query(
+                             ContactsContract.Contacts.CONTENT_URI,
+                             PROJECTION,
+                             ContactsContract.Contacts._ID + " = ?",
+                             new String[]{id},
+                             null)) {
+            if (contactsCursor == null || !contactsCursor.moveToFirst()) throw new ContactNotFoundException();
+            return readContact(contactsCursor, contentResolver);
+        }
     }
 
     public static Contact fromLookupKey(@NonNull String lookupKey, @NonNull ContentResolver contentResolver) throws ContactNotFoundException {
-        final Cursor contactsCursor =
-                contentResolver.query(
-                        ContactsContract.Contacts.CONTENT_URI,
-                        PROJECTION,
-                        ContactsContract.Contacts.LOOKUP_KEY + " = ?",
-                        new String[]{lookupKey},
-                        null);
-        if (!contactsCursor.moveToFirst()) throw new ContactNotFoundException();
-        return readContact(contactsCursor, contentResolver);
+        try (Cursor contactsCursor =
+                     contentResolver.query(
+                             ContactsContract.Contacts.CONTENT_URI,
+                             PROJECTION,
+                             ContactsContract.Contacts.LOOKUP_KEY + " = ?",
+                             new String[]{lookupKey},
+                             null)) {
+            if (contactsCursor == null || !contactsCursor.moveToFirst()) throw new ContactNotFoundException();
+            return readContact(contactsCursor, contentResolver);
+        }
     }
 
     /**
@@ -102,89 +103,39 @@ public class Contact implements Constants.ContactConstants {
      * @return the contact
      */
     public static Contact readContact(Cursor cursor, ContentResolver contentResolver) {
-        final String id;
-        final String lookupKey;
-        final List<Pair<Integer /*Type*/, String>> phoneList = new ArrayList<>();
-        final List<String> mailList = new ArrayList<>();
-        final List<Pair<Integer, String[]>> addressList = new ArrayList<>();
-        final List<String> whatsappNumbers;
-        final String name;
-        final String photo;
-        final boolean favorite;
-
-        id = cursor.getString(cursor.getColumnIndex(ContactsContract.Contacts._ID));
-        name = cursor.getString(cursor.getColumnIndex(ContactsContract.Contacts.DISPLAY_NAME));
-        lookupKey = cursor.getString(cursor.getColumnIndex(ContactsContract.Contacts.LOOKUP_KEY));
-        photo = cursor.getString(cursor.getColumnIndex(ContactsContract.Contacts.PHOTO_URI));
-
-        try (final Cursor pCur = contentResolver.query(ContactsContract.CommonDataKinds.Phone.CONTENT_URI, PHONE_PROJECTION, PHONE_SELECTION, new String[]{id}, null)) {
-            while (pCur.moveToNext()) {
-                phoneList.add(new Pair<>(
-                        pCur.getInt(PHONE_TYPE_INDEX),
-                        pCur.getString(PHONE_NUMBER_INDEX)
-                ));
-            }
-        }
-
-        try (final Cursor emailCur = contentResolver.query(ContactsContract.CommonDataKinds.Email.CONTENT_URI, EMAIL_PROJECTION, EMAIL_SELECTION, new String[]{id}, null)) {
-            while (emailCur.moveToNext()) {
-                mailList.add(emailCur.getString(EMAIL_DATA_INDEX));
-            }
-        }
-
-        //Get Postal Address...
-        try (final Cursor addrCur = contentResolver.query(ContactsContract.Data.CONTENT_URI,
-                ADDRESS_PROJECTION,
-                ADDRESS_SELECTION,
-                new String[]{id, ContactsContract.CommonDataKinds.StructuredPostal.CONTENT_ITEM_TYPE},
-                null)) {
-            while (addrCur.moveToNext()) {
-                addressList.add(new Pair<>(addrCur.getInt(addrCur.getColumnIndex(ContactsContract.CommonDataKinds.StructuredPostal.TYPE)), new String[]{
-                        addrCur.getString(POBOX_INDEX),
-                        addrCur.getString(STREET_INDEX),
-                        addrCur.getString(CITY_INDEX),
-                        addrCur.getString(REGION_INDEX),
-                        addrCur.getString(POSTCODE_INDEX),
-                        addrCur.getString(COUNTRY_INDEX)
-                }));
-            }
-        }
-
-        whatsappNumbers = getWhatsAppNumbers(contentResolver, name);
-        favorite = cursor.getInt(cursor.getColumnIndex(ContactsContract.Contacts.STARRED)) == 1;
-        return new Contact(Integer.parseInt(id), lookupKey, phoneList, mailList, addressList, whatsappNumbers, name, photo, favorite);
+        final int id = cursor.getInt(cursor.getColumnIndex(ContactsContract.Contacts._ID));
+        final ContactData contactData = queryData(contentResolver, id);
+        final String name = cursor.getString(cursor.getColumnIndex(ContactsContract.Contacts.DISPLAY_NAME));
+        final String lookupKey = cursor.getString(cursor.getColumnIndex(ContactsContract.Contacts.LOOKUP_KEY));
+        final String photo = cursor.getString(cursor.getColumnIndex(ContactsContract.Contacts.PHOTO_URI));
+        final boolean favorite = cursor.getInt(cursor.getColumnIndex(ContactsContract.Contacts.STARRED)) == 1;
+        return new Contact(id, lookupKey, contactData.phoneList, contactData.mailList, contactData.addressList, contactData.whatsappNumbers, name, photo, favorite);
     }
 
     /**
-     * @param contentResolver - a content resolver
-     * @param contactName     - the contact DISPLAY_NAME
-     * @return List of the whatsapp numbers.
+     * Reads the data of the contact in one {@link ContactsContract.Data} query,
+     * sorting every row into phones, mails, addresses or whatsapp numbers by its mimetype.
+     * WhatsApp raw contacts are aggregated into the contact, so their profile rows share its contact id.
      */
-    private static List<String> getWhatsAppNumbers(ContentResolver contentResolver, String contactName) {
-        final List<String> whatsappNumbers = new ArrayList<>();
-        try (final Cursor cursor1 =
-                     contentResolver.query(
-                             ContactsContract.RawContacts.CONTENT_URI,
-                             new String[]{ContactsContract.RawContacts._ID},
-                             ContactsContract.RawContacts.ACCOUNT_TYPE + "= ? AND " + ContactsContract.CommonDataKinds.StructuredName.DISPLAY_NAME_PRIMARY + " = ?",
-                             new String[]{D.WHATSAPP_PACKAGE_NAME, contactName},
-                             null)) {
-            String rawContactId, phoneNumber;
-            while (cursor1.moveToNext()) {
-                rawContactId = cursor1.getString(cursor1.getColumnIndex(ContactsContract.RawContacts._ID));
-                try (Cursor cursor2 = contentResolver.query(ContactsContract.Data.CONTENT_URI, new String[]{ContactsContract.Data.DATA3}, ContactsContract.Data.MIMETYPE + " = ? AND " + ContactsContract.Data.RAW_CONTACT_ID + " = ? ", new String[]{"vnd.android.cursor.item/vnd.com.whatsapp.profile", rawContactId}, null)) {
-                    while (cursor2.moveToNext()) {
-                        phoneNumber = cursor2.getString(0);
-                        if (TextUtils.isEmpty(phoneNumber))
-                            continue;
-                        if (phoneNumber.startsWith("Message"))
-                            phoneNumber = phoneNumber.replace("Message", "");
-                        whatsappNumbers.add(phoneNumber);
-                    }
-                }
-            }
-            return whatsappNumbers;
+    @NonNull
+    private static ContactData queryData(ContentResolver contentResolver, int id) {
+        final ContactData contactData = new ContactData();
+        final String[] selectionArgs = new String[1 + DATA_MIMETYPES.length];
+        final StringBuilder selection = new StringBuilder(ContactsContract.Data.CONTACT_ID).append(" = ?");
+        selectionArgs[0] = String.valueOf(id);
+        selection.append(" AND ").append(ContactsContract.Data.MIMETYPE).append(" IN (");
+        for (int i = 0; i < DATA_MIMETYPES.length; i++) {
+            selection.append(i == 0 ? "?" : ",?");
+            selectionArgs[1 + i] = DATA_MIMETYPES[i];
         }
+        selection.append(')');
+
+        try (Cursor dataCursor = contentResolver.query(ContactsContract.Data.CONTENT_URI, DATA_PROJECTION, selection.toString(), selectionArgs, ContactsContract.Data._ID)) {
+            if (dataCursor != null)
+                while (dataCursor.moveToNext())
+                    contactData.add(dataCursor);
+        }
+        return contactData;
     }
 
     @NonNull
@@ -301,6 +252,51 @@ public class Contact implements Constants.ContactConstants {
         return photo;
     }
 
+    /**
+     * The data rows of one contact, demultiplexed by mimetype
+     */
+    private static class ContactData {
+        final List<Pair<Integer /*Type*/, String>> phoneList = new ArrayList<>();
+        final List<String> mailList = new ArrayList<>();
+        final List<Pair<Integer, String[]>> addressList = new ArrayList<>();
+        final List<String> whatsappNumbers = new ArrayList<>();
+
+        void add(Cursor dataCursor) {
+            final String mimetype = dataCursor.getString(DATA_MIMETYPE_INDEX);
+            if (mimetype == null)
+                return;
+            switch (mimetype) {
+                case ContactsContract.CommonDataKinds.Phone.CONTENT_ITEM_TYPE:
+                    phoneList.add(new Pair<>(
+                            dataCursor.getInt(PHONE_TYPE_INDEX),
+                            dataCursor.getString(PHONE_NUMBER_INDEX)
+                    ));
+                    break;
+                case ContactsContract.CommonDataKinds.Email.CONTENT_ITEM_TYPE:
+                    mailList.add(dataCursor.getString(EMAIL_DATA_INDEX));
+                    break;
+                case ContactsContract.CommonDataKinds.StructuredPostal.CONTENT_ITEM_TYPE:
+                    addressList.add(new Pair<>(dataCursor.getInt(ADDRESS_TYPE_INDEX), new String[]{
+                            dataCursor.getString(POBOX_INDEX),
+                            dataCursor.getString(STREET_INDEX),
+                            dataCursor.getString(CITY_INDEX),
+                            dataCursor.getString(REGION_INDEX),
+                            dataCursor.getString(POSTCODE_INDEX),
+                            dataCursor.getString(COUNTRY_INDEX)
+                    }));
+                    break;
+                case WHATSAPP_PROFILE_MIMETYPE:
+                    String phoneNumber = dataCursor.getString(WHATSAPP_DATA_INDEX);
+                    if (TextUtils.isEmpty(phoneNumber))
+                        break;
+                    if (phoneNumber.startsWith("Message"))
+                        phoneNumber = phoneNumber.replace("Message", "");
+                    whatsappNumbers.add(phoneNumber);
+                    break;
+            }
+        }
+    }
+
     public static class ContactNotFoundException extends Exception {
         ContactNotFoundException() {
             super();
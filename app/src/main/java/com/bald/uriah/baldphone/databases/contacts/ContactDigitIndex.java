@@ -0,0 +1,210 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases.contacts;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable index of what can be typed on a dial pad to find a contact:
+ * the digits of its phone numbers and the T9 encoding of the words of its name ("Anna" is 2662).
+ * Numbers are compared without leading zeros, so a number typed with a trunk or international prefix ("0501234567", "00972...")
+ * still matches the E.164 form ("+972501234567") it is stored in. Typing only zeros matches every contact with a number.
+ * {@link Session} answers a number being typed digit by digit from the previous answer.
+ */
+public class ContactDigitIndex {
+    private static final int[] NO_MATCHES = new int[0];
+    /**
+     * Keypad digit of every latin letter, 'a' to 'z'
+     */
+    private static final char[] T9 = "22233344455566677778889999".toCharArray();
+
+    private final String[][] numbers;
+    private final String[][] t9Words;
+    private final String[] t9Names;
+
+    /**
+     * @param numbers the digits of the phone numbers of every contact
+     * @param names   the names, in the order results should keep
+     */
+    public ContactDigitIndex(@NonNull List<String[]> numbers, @NonNull List<String> names) {
+        if (numbers.size() != names.size())
+            throw new IllegalArgumentException("numbers and names must have the same length");
+        final int size = names.size();
+        this.numbers = new String[size][];
+        this.t9Words = new String[size][];
+        this.t9Names = new String[size];
+        for (int i = 0; i < size; i++) {
+            final String[] contactNumbers = numbers.get(i);
+            this.numbers[i] = new String[contactNumbers.length];
+            for (int j = 0; j < contactNumbers.length; j++)
+                this.numbers[i][j] = withoutLeadingZeros(contactNumbers[j]);
+            final String t9Name = t9Of(ContactNameIndex.normalize(names.get(i)));
+            this.t9Words[i] = t9Name.isEmpty() ? new String[0] : t9Name.split(" ");
+            this.t9Names[i] = t9Name.replace(" ", "");
+        }
+    }
+
+    /**
+     * @return the keypad digits of the text, letters without a latin keypad digit are kept as they are, so they never match a digit
+     */
+    @NonNull
+    public static String t9Of(@NonNull String normalizedText) {
+        final char[] chars = normalizedText.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] >= 'a' && chars[i] <= 'z')
+                chars[i] = T9[chars[i] - 'a'];
+        }
+        return new String(chars);
+    }
+
+    @NonNull
+    private static String withoutLeadingZeros(@NonNull String digits) {
+        int start = 0;
+        while (start < digits.length() && digits.charAt(start) == '0')
+            start++;
+        return digits.substring(start);
+    }
+
+    /**
+     * @return only the digits of the number, what phone numbers and typed numbers are compared by
+     */
+    @NonNull
+    public static String digitsOf(@NonNull CharSequence number) {
+        final StringBuilder digits = new StringBuilder(number.length());
+        for (int i = 0; i < number.length(); i++) {
+            final char c = number.charAt(i);
+            if (c >= '0' && c <= '9')
+                digits.append(c);
+        }
+        return digits.toString();
+    }
+
+    public int size() {
+        return t9Names.length;
+    }
+
+    /**
+     * @return the indexes of the contacts having a number which contains the typed digits, in the original order
+     */
+    @NonNull
+    public int[] searchNumbers(@NonNull CharSequence typed) {
+        final String digits = digitsOf(typed);
+        if (digits.isEmpty())
+            return NO_MATCHES;
+        final String number = withoutLeadingZeros(digits);
+        final int[] matches = new int[size()];
+        int count = 0;
+        for (int i = 0; i < matches.length; i++) {
+            if (matchesNumber(i, number))
+                matches[count++] = i;
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * @return the indexes of the contacts having a number which contains the typed digits,
+     * or a name the typed digits spell on a keypad - from the start of one of its words, or of the whole name.
+     */
+    @NonNull
+    public int[] search(@NonNull CharSequence typed) {
+        return newSession().search(typed);
+    }
+
+    @NonNull
+    public Session newSession() {
+        return new Session();
+    }
+
+    private boolean matches(int index, @NonNull String digits, @NonNull String number) {
+        if (matchesNumber(index, number) || t9Names[index].startsWith(digits))
+            return true;
+        for (String word : t9Words[index]) {
+            if (word.startsWith(digits))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param number typed digits without leading zeros, an empty one - only zeros were typed - matches every number
+     */
+    private boolean matchesNumber(int index, @NonNull String number) {
+        for (String contactNumber : numbers[index]) {
+            if (contactNumber.contains(number))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remembers the answers for every prefix of the last typed digits.
+     * Appending a digit only re-checks the contacts which matched without it, deleting one returns a remembered answer.
+     * Not thread safe.
+     */
+    public class Session {
+        private final List<String> queries = new ArrayList<>();
+        private final List<int[]> answers = new ArrayList<>();
+
+        private Session() {
+        }
+
+        @NonNull
+        public int[] search(@NonNull CharSequence typed) {
+            final String digits = digitsOf(typed);
+            if (digits.isEmpty()) {
+                queries.clear();
+                answers.clear();
+                return NO_MATCHES;
+            }
+            // drop what is no longer a prefix of the typed digits
+            while (!queries.isEmpty() && !digits.startsWith(queries.get(queries.size() - 1))) {
+                queries.remove(queries.size() - 1);
+                answers.remove(answers.size() - 1);
+            }
+            for (int length = queries.isEmpty() ? 1 : queries.get(queries.size() - 1).length() + 1; length <= digits.length(); length++) {
+                final String query = digits.substring(0, length);
+                final String number = withoutLeadingZeros(query);
+                final int[] answer;
+                if (answers.isEmpty()) {
+                    answer = new int[size()];
+                    int count = 0;
+                    for (int i = 0; i < answer.length; i++) {
+                        if (matches(i, query, number))
+                            answer[count++] = i;
+                    }
+                    answers.add(Arrays.copyOf(answer, count));
+                } else {
+                    // whatever matches the longer query also matches the shorter one
+                    final int[] previous = answers.get(answers.size() - 1);
+                    answer = new int[previous.length];
+                    int count = 0;
+                    for (int i : previous) {
+                        if (matches(i, query, number))
+                            answer[count++] = i;
+                    }
+                    answers.add(Arrays.copyOf(answer, count));
+                }
+                queries.add(query);
+            }
+            return answers.get(answers.size() - 1);
+        }
+    }
+}
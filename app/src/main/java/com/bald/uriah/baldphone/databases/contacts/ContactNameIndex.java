@@ -0,0 +1,188 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases.contacts;
+
+import androidx.annotation.NonNull;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable search index over contact names.
+ * Names and queries are {@link #normalize(CharSequence) normalised}, so "jose" finds "José" and plain Hebrew finds Hebrew with niqqud.
+ * Every 1, 2 and 3 characters long substring of a normalised name has a posting list of the names containing it,
+ * so a query is answered from its rarest trigram instead of by scanning every name.
+ * Results are ranked favourites first, then names which have a word starting with the query, then the rest,
+ * keeping the original order of the names inside every rank.
+ */
+public class ContactNameIndex {
+    private static final int GRAM = 3;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final String[] names;
+    private final boolean[] favorites;
+    private final Map<String, int[]> postings;
+
+    /**
+     * @param names     the names, in the order results should keep
+     * @param favorites whether the name at the same index is a favourite
+     */
+    public ContactNameIndex(@NonNull List<String> names, @NonNull boolean[] favorites) {
+        if (names.size() != favorites.length)
+            throw new IllegalArgumentException("names and favorites must have the same length");
+        this.names = new String[names.size()];
+        this.favorites = favorites.clone();
+
+        final Map<String, PostingsBuilder> builders = new HashMap<>();
+        for (int i = 0; i < this.names.length; i++) {
+            final String name = normalize(names.get(i));
+            this.names[i] = name;
+            for (int length = 1; length <= GRAM; length++) {
+                for (int start = 0; start + length <= name.length(); start++) {
+                    final String gram = name.substring(start, start + length);
+                    PostingsBuilder builder = builders.get(gram);
+                    if (builder == null) {
+                        builder = new PostingsBuilder();
+                        builders.put(gram, builder);
+                    }
+                    builder.add(i);
+                }
+            }
+        }
+        postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+        for (Map.Entry<String, PostingsBuilder> entry : builders.entrySet())
+            postings.put(entry.getKey(), entry.getValue().build());
+    }
+
+    /**
+     * Unicode-normalises the text, removes accents and other combining marks, lower-cases it,
+     * and replaces every run of characters which are not letters or digits with a single space.
+     */
+    @NonNull
+    public static String normalize(@NonNull CharSequence text) {
+        final String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        final StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean separator = false;
+        for (int i = 0; i < decomposed.length(); ) {
+            final int codePoint = decomposed.codePointAt(i);
+            i += Character.charCount(codePoint);
+            final int type = Character.getType(codePoint);
+            if (type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK || type == Character.COMBINING_SPACING_MARK || type == Character.FORMAT)
+                continue;
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (separator && normalized.length() > 0)
+                    normalized.append(' ');
+                separator = false;
+                normalized.appendCodePoint(Character.toLowerCase(codePoint));
+            } else {
+                separator = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * @return the indexes of the names containing the query, ranked as described in the class comment.
+     * An empty query matches every name, in the original order.
+     */
+    @NonNull
+    public int[] search(@NonNull CharSequence query) {
+        final String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty()) {
+            final int[] all = new int[names.length];
+            for (int i = 0; i < all.length; i++)
+                all[i] = i;
+            return all;
+        }
+
+        final int[] candidates = candidatesOf(normalizedQuery);
+        // ranks: favourite word prefix, favourite infix, word prefix, infix
+        final int[][] ranks = new int[4][candidates.length];
+        final int[] rankSizes = new int[4];
+        for (int index : candidates) {
+            final String name = names[index];
+            final int firstMatch = name.indexOf(normalizedQuery);
+            if (firstMatch < 0)
+                continue; // only a trigram matched
+            final int rank = (favorites[index] ? 0 : 2) + (isWordPrefix(name, normalizedQuery, firstMatch) ? 0 : 1);
+            ranks[rank][rankSizes[rank]++] = index;
+        }
+
+        final int[] result = new int[rankSizes[0] + rankSizes[1] + rankSizes[2] + rankSizes[3]];
+        int position = 0;
+        for (int rank = 0; rank < ranks.length; rank++) {
+            System.arraycopy(ranks[rank], 0, result, position, rankSizes[rank]);
+            position += rankSizes[rank];
+        }
+        return result;
+    }
+
+    /**
+     * @return the postings of the query itself if it is short enough to be a gram, otherwise its rarest trigram's
+     */
+    @NonNull
+    private int[] candidatesOf(@NonNull String normalizedQuery) {
+        if (normalizedQuery.length() <= GRAM) {
+            final int[] exact = postings.get(normalizedQuery);
+            return exact == null ? NO_POSTINGS : exact;
+        }
+        int[] rarest = null;
+        for (int start = 0; start + GRAM <= normalizedQuery.length(); start++) {
+            final int[] gramPostings = postings.get(normalizedQuery.substring(start, start + GRAM));
+            if (gramPostings == null)
+                return NO_POSTINGS;
+            if (rarest == null || gramPostings.length < rarest.length)
+                rarest = gramPostings;
+        }
+        return rarest;
+    }
+
+    private static boolean isWordPrefix(@NonNull String name, @NonNull String normalizedQuery, int firstMatch) {
+        for (int match = firstMatch; match >= 0; match = name.indexOf(normalizedQuery, match + 1)) {
+            if (match == 0 || name.charAt(match - 1) == ' ')
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Growable sorted int list, names are added in increasing index order so a name is only added twice in a row.
+     */
+    private static class PostingsBuilder {
+        private int[] indexes = new int[4];
+        private int size = 0;
+
+        void add(int index) {
+            if (size > 0 && indexes[size - 1] == index)
+                return;
+            if (size == indexes.length)
+                indexes = Arrays.copyOf(indexes, size * 2);
+            indexes[size++] = index;
+        }
+
+        int[] build() {
+            return Arrays.copyOf(indexes, size);
+        }
+    }
+}
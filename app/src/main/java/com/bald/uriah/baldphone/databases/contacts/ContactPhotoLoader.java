@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases.contacts;
+
+import android.graphics.drawable.Drawable;
+import android.net.Uri;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+
+import com.bald.uriah.baldphone.utils.S;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.signature.ObjectKey;
+
+/**
+ * The one way contact photos are shown in lists.
+ * Photos are decoded off the main thread by Glide, down-sampled to the size of the avatar view,
+ * and cached in memory under their lookup key and photo uri, so scrolling back does not decode them again.
+ * They are not cached on disk: the photo uri of a contact stays the same when its photo changes,
+ * so a disk cache would keep showing the old photo, and the photos are local files anyway.
+ * Contacts without a photo get their letter background set directly, without a Glide request.
+ */
+public class ContactPhotoLoader {
+    private ContactPhotoLoader() {
+    }
+
+    /**
+     * @param placeholder shown until the photo was loaded, and if it fails to load
+     */
+    public static void loadPhoto(@NonNull ImageView imageView, @NonNull String lookupKey, @NonNull String photoUri, @NonNull Drawable placeholder) {
+        if (!S.isValidContextForGlide(imageView.getContext()))
+            return;
+        Glide.with(imageView)
+                .load(Uri.parse(photoUri))
+                .signature(new ObjectKey(lookupKey))
+                .diskCacheStrategy(DiskCacheStrategy.NONE)
+                .placeholder(placeholder)
+                .error(placeholder)
+                .centerCrop()
+                .dontAnimate() // CircleImageView can not draw Glide's cross fade
+                .into(imageView);
+    }
+
+    /**
+     * Shows a drawable which needs no loading, such as the letter background, cancelling a photo still loading into a recycled view.
+     */
+    public static void showDrawable(@NonNull ImageView imageView, @NonNull Drawable drawable) {
+        if (S.isValidContextForGlide(imageView.getContext()))
+            Glide.with(imageView).clear(imageView);
+        imageView.setImageDrawable(drawable);
+    }
+}
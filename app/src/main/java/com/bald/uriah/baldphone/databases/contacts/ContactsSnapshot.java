@@ -0,0 +1,373 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases.contacts;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.database.ContentObserver;
+import android.database.Cursor;
+import android.database.MatrixCursor;
+import android.os.Handler;
+import android.os.Looper;
+import android.provider.ContactsContract;
+import android.telephony.PhoneNumberUtils;
+import android.telephony.TelephonyManager;
+import android.text.TextUtils;
+import android.util.Log;
+import android.util.SparseArray;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.bald.uriah.baldphone.adapters.ContactRecyclerViewAdapter;
+import com.bald.uriah.baldphone.utils.Constants;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Process-wide, in-memory copy of the contacts list, so searching the contacts, the share screen and the dialer
+ * filters a list instead of querying the contacts provider on every keystroke.
+ * It is loaded in the background the first time a listener is added, and reloaded when
+ * {@link ContactsContract.Contacts#CONTENT_URI} changes - right away while someone is listening,
+ * otherwise when the next listener is added.
+ * The filter methods return cursors with {@link ContactRecyclerViewAdapter#PROJECTION}, sorted like the provider sorts them
+ * unless {@link #filterByName} ranks them.
+ */
+public class ContactsSnapshot implements Constants.ContactConstants {
+    private static final String TAG = ContactsSnapshot.class.getSimpleName();
+    private static final String SORT_ORDER = "upper(" + ContactsContract.Contacts.DISPLAY_NAME + ") ASC";
+    private static final String[] DATA_PROJECTION = {ContactsContract.Data.CONTACT_ID, ContactsContract.Data.MIMETYPE, ContactsContract.Data.DATA1};
+    private static final String DATA_SELECTION =
+            ContactsContract.Data.MIMETYPE + " = ? OR (" + ContactsContract.Data.MIMETYPE + " = ? AND " + ContactsContract.RawContacts.ACCOUNT_TYPE + " = ?)";
+    private static final String[] DATA_SELECTION_ARGS = {ContactsContract.CommonDataKinds.Phone.CONTENT_ITEM_TYPE, WHATSAPP_PROFILE_MIMETYPE, "com.whatsapp"};
+    private static final Object LOCK = new Object();
+    private static ContactsSnapshot instance = null;
+
+    private final Context context;
+    private final ContentResolver contentResolver;
+    private final ExecutorService loader = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<Runnable> listeners = new ArrayList<>();
+    private final ContentObserver contactsObserver = new ContentObserver(mainHandler) {
+        @Override
+        public void onChange(boolean selfChange) {
+            stale = true;
+            if (!listeners.isEmpty())
+                reload();
+        }
+    };
+    @Nullable
+    private volatile Contents contents = null;
+    private boolean stale = true, loading = false, observing = false;
+
+    private ContactsSnapshot(Context context) {
+        this.context = context.getApplicationContext();
+        this.contentResolver = this.context.getContentResolver();
+    }
+
+    public static ContactsSnapshot getInstance(Context context) {
+        synchronized (LOCK) {
+            if (instance == null)
+                instance = new ContactsSnapshot(context);
+            return instance;
+        }
+    }
+
+    /**
+     * @param listener runs on the main thread every time the snapshot was (re)loaded, and right away if it is already loaded
+     */
+    @MainThread
+    public void addListener(@NonNull Runnable listener) {
+        listeners.add(listener);
+        if (stale)
+            reload();
+        else
+            listener.run();
+    }
+
+    @MainThread
+    public void removeListener(@NonNull Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    public boolean isLoaded() {
+        return contents != null;
+    }
+
+    /**
+     * @param filter       matched anywhere in the name, ignoring case and diacritics - see {@link ContactNameIndex}.
+     *                     When not empty, favourites and names with a word starting with it come first.
+     * @param whatsappOnly only contacts which have a whatsapp profile
+     */
+    @NonNull
+    public Cursor filterByName(@NonNull String filter, boolean favorite, boolean whatsappOnly) {
+        final MatrixCursor cursor = newCursor();
+        final Contents contents = this.contents;
+        if (contents == null)
+            return cursor;
+        for (int index : contents.nameIndex.search(filter)) {
+            final Entry entry = contents.entries.get(index);
+            if ((!favorite || entry.favorite) && (!whatsappOnly || entry.whatsapp))
+                addRow(cursor, entry);
+        }
+        return cursor;
+    }
+
+    /**
+     * @param number matched anywhere in any of the phone numbers of a contact, see {@link ContactDigitIndex#searchNumbers}
+     */
+    @NonNull
+    public Cursor filterByNumber(@NonNull CharSequence number, boolean favorite) {
+        final MatrixCursor cursor = newCursor();
+        final Contents contents = this.contents;
+        if (contents == null)
+            return cursor;
+        for (int index : contents.digitIndex.searchNumbers(number)) {
+            final Entry entry = contents.entries.get(index);
+            if (!favorite || entry.favorite)
+                addRow(cursor, entry);
+        }
+        return cursor;
+    }
+
+    /**
+     * @return a search for a number being typed on the dial pad, which also finds names by their keypad letters
+     */
+    @NonNull
+    public DigitSearch newDigitSearch() {
+        return new DigitSearch();
+    }
+
+    @NonNull
+    public List<Entry> getEntries() {
+        final Contents contents = this.contents;
+        return contents == null ? Collections.emptyList() : contents.entries;
+    }
+
+    @MainThread
+    private void reload() {
+        if (loading)
+            return;
+        loading = true;
+        stale = false;
+        if (!observing) {
+            try {
+                contentResolver.registerContentObserver(ContactsContract.Contacts.CONTENT_URI, true, contactsObserver);
+                observing = true;
+            } catch (SecurityException e) {
+                Log.e(TAG, "reload: could not observe contacts", e);
+            }
+        }
+        loader.execute(() -> {
+            Contents loaded = null;
+            try {
+                loaded = load();
+            } catch (Exception e) {
+                Log.e(TAG, "reload: could not load contacts", e);
+            }
+            final Contents result = loaded;
+            mainHandler.post(() -> {
+                loading = false;
+                if (result == null) {
+                    stale = true;
+                    return;
+                }
+                contents = result;
+                if (stale && !listeners.isEmpty()) {
+                    reload(); // changed while loading
+                    return;
+                }
+                for (Runnable listener : new ArrayList<>(listeners))
+                    listener.run();
+            });
+        });
+    }
+
+    @WorkerThread
+    @NonNull
+    private Contents load() {
+        final String countryIso = getCountryIso();
+        final SparseArray<List<String>> phoneNumbers = new SparseArray<>();
+        final SparseArray<Boolean> whatsapp = new SparseArray<>();
+        try (Cursor cursor = contentResolver.query(ContactsContract.Data.CONTENT_URI, DATA_PROJECTION, DATA_SELECTION, DATA_SELECTION_ARGS, null)) {
+            if (cursor != null) {
+                while (cursor.moveToNext()) {
+                    final int contactId = cursor.getInt(0);
+                    if (WHATSAPP_PROFILE_MIMETYPE.equals(cursor.getString(1))) {
+                        whatsapp.put(contactId, true);
+                        continue;
+                    }
+                    final String number = cursor.getString(2);
+                    if (TextUtils.isEmpty(number))
+                        continue;
+                    List<String> numbers = phoneNumbers.get(contactId);
+                    if (numbers == null) {
+                        numbers = new ArrayList<>(1);
+                        phoneNumbers.put(contactId, numbers);
+                    }
+                    final String e164 = PhoneNumberUtils.formatNumberToE164(number, countryIso);
+                    numbers.add(ContactDigitIndex.digitsOf(e164 == null ? number : e164));
+                }
+            }
+        }
+
+        try (Cursor cursor = contentResolver.query(ContactsContract.Contacts.CONTENT_URI, PROJECTION, null, null, SORT_ORDER)) {
+            if (cursor == null)
+                return new Contents(Collections.emptyList());
+            final int idIndex = cursor.getColumnIndex(ContactsContract.Contacts._ID),
+                    lookupKeyIndex = cursor.getColumnIndex(ContactsContract.Contacts.LOOKUP_KEY),
+                    nameIndex = cursor.getColumnIndex(ContactsContract.Contacts.DISPLAY_NAME),
+                    photoIndex = cursor.getColumnIndex(ContactsContract.Contacts.PHOTO_URI),
+                    starredIndex = cursor.getColumnIndex(ContactsContract.Contacts.STARRED);
+            final List<Entry> entries = new ArrayList<>(cursor.getCount());
+            while (cursor.moveToNext()) {
+                final String name = cursor.getString(nameIndex);
+                if (TextUtils.isEmpty(name))
+                    continue; // the contacts list shows the first letter of every name
+                final int id = cursor.getInt(idIndex);
+                final List<String> numbers = phoneNumbers.get(id);
+                entries.add(new Entry(
+                        id,
+                        cursor.getString(lookupKeyIndex),
+                        name,
+                        cursor.getString(photoIndex),
+                        cursor.getInt(starredIndex) == 1,
+                        numbers == null ? new String[0] : numbers.toArray(new String[0]),
+                        whatsapp.get(id, false)
+                ));
+            }
+            return new Contents(Collections.unmodifiableList(entries));
+        }
+    }
+
+    /**
+     * @return the country numbers without a country code are from - of the SIM, of the network, or of the locale
+     */
+    @NonNull
+    private String getCountryIso() {
+        final TelephonyManager telephonyManager = (TelephonyManager) context.getSystemService(Context.TELEPHONY_SERVICE);
+        if (telephonyManager != null) {
+            if (!TextUtils.isEmpty(telephonyManager.getSimCountryIso()))
+                return telephonyManager.getSimCountryIso().toUpperCase(Locale.US);
+            if (!TextUtils.isEmpty(telephonyManager.getNetworkCountryIso()))
+                return telephonyManager.getNetworkCountryIso().toUpperCase(Locale.US);
+        }
+        return Locale.getDefault().getCountry();
+    }
+
+    @NonNull
+    private static MatrixCursor newCursor() {
+        return new MatrixCursor(ContactRecyclerViewAdapter.PROJECTION);
+    }
+
+    private static void addRow(@NonNull MatrixCursor cursor, @NonNull Entry entry) {
+        cursor.newRow()
+                .add(ContactsContract.Data.DISPLAY_NAME, entry.name)
+                .add(ContactsContract.Data._ID, entry.id)
+                .add(ContactsContract.Contacts.PHOTO_URI, entry.photo)
+                .add(ContactsContract.Data.LOOKUP_KEY, entry.lookupKey)
+                .add(ContactsContract.Data.STARRED, entry.favorite ? 1 : 0);
+    }
+
+    /**
+     * The entries and their name index, replaced together
+     */
+    private static class Contents {
+        final List<Entry> entries;
+        final ContactNameIndex nameIndex;
+        final ContactDigitIndex digitIndex;
+
+        Contents(List<Entry> entries) {
+            this.entries = entries;
+            final List<String> names = new ArrayList<>(entries.size());
+            final List<String[]> numbers = new ArrayList<>(entries.size());
+            final boolean[] favorites = new boolean[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                names.add(entries.get(i).name);
+                numbers.add(entries.get(i).phoneNumbers);
+                favorites[i] = entries.get(i).favorite;
+            }
+            this.nameIndex = new ContactNameIndex(names, favorites);
+            this.digitIndex = new ContactDigitIndex(numbers, names);
+        }
+    }
+
+    /**
+     * Incremental {@link ContactDigitIndex.Session}, which starts over when the snapshot was reloaded.
+     * Not thread safe, a search must always run on the same thread.
+     */
+    public class DigitSearch {
+        private Contents contents;
+        private ContactDigitIndex.Session session;
+
+        private DigitSearch() {
+        }
+
+        /**
+         * @return cursor with {@link ContactRecyclerViewAdapter#PROJECTION}, empty if nothing was typed
+         */
+        @NonNull
+        public Cursor search(@NonNull CharSequence typed) {
+            final MatrixCursor cursor = newCursor();
+            final Contents current = ContactsSnapshot.this.contents;
+            if (current == null)
+                return cursor;
+            if (current != contents) {
+                contents = current;
+                session = current.digitIndex.newSession();
+            }
+            for (int index : session.search(typed))
+                addRow(cursor, current.entries.get(index));
+            return cursor;
+        }
+    }
+
+    /**
+     * Immutable row of the snapshot
+     */
+    public static class Entry {
+        public final int id;
+        @NonNull
+        public final String lookupKey, name;
+        @Nullable
+        public final String photo;
+        public final boolean favorite;
+        /**
+         * Digits only of the E.164 form when it is known, see {@link ContactDigitIndex#digitsOf(CharSequence)}
+         */
+        @NonNull
+        public final String[] phoneNumbers;
+        public final boolean whatsapp;
+
+        Entry(int id, @NonNull String lookupKey, @NonNull String name, @Nullable String photo, boolean favorite, @NonNull String[] phoneNumbers, boolean whatsapp) {
+            this.id = id;
+            this.lookupKey = lookupKey;
+            this.name = name;
+            this.photo = photo;
+            this.favorite = favorite;
+            this.phoneNumbers = phoneNumbers;
+            this.whatsapp = whatsapp;
+        }
+    }
+}
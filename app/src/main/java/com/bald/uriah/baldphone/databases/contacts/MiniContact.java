@@ -26,6 +26,8 @@ import com.bald.uriah.baldphone.views.HomeScreenAppView;
 import com.bumptech.glide.Glide;
 import com.bumptech.glide.request.RequestOptions;
 
+import java.util.Objects;
+
 /**
  * Mini contact, contains lookupkey,photo,name and id.
  */
@@ -45,6 +47,23 @@ public class MiniContact implements HomeScreenPinHelper.HomeScreenPinnable, Cons
         this.favorite = favorite;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final MiniContact miniContact = (MiniContact) o;
+        return id == miniContact.id &&
+                favorite == miniContact.favorite &&
+                Objects.equals(lookupKey, miniContact.lookupKey) &&
+                Objects.equals(name, miniContact.name) &&
+                Objects.equals(photo, miniContact.photo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(lookupKey, name, photo, id, favorite);
+    }
+
     @Override
     public void applyToHomeScreenAppView(HomeScreenAppView homeScreenAppView) {
         if (S.isValidContextForGlide(homeScreenAppView.iv_icon.getContext()))
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases.contacts;
+
+import android.content.Context;
+import android.database.ContentObserver;
+import android.os.Handler;
+import android.os.Looper;
+import android.provider.ContactsContract;
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.bald.uriah.baldphone.databases.calls.Call;
+import com.bald.uriah.baldphone.utils.BackgroundThreadFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Process-wide cache of which contact a call was with, so binding the recent calls never queries the contacts provider.
+ * Unknown numbers are cached too, and everything is dropped when {@link ContactsContract.Contacts#CONTENT_URI} changes.
+ * Lists bind what is {@link #isResolved(Call) resolved} and {@link #prefetch} the rest on a background thread.
+ */
+public class MiniContactResolver {
+    private static final String TAG = MiniContactResolver.class.getSimpleName();
+    private static final int CACHE_SIZE = 256;
+    private static final Object LOCK = new Object();
+    private static MiniContactResolver instance = null;
+
+    private final Context context;
+    private final LruCache<String, Resolved> cache = new LruCache<>(CACHE_SIZE);
+    private final ExecutorService resolver = Executors.newSingleThreadExecutor(new BackgroundThreadFactory(TAG));
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Set<String> pending = new HashSet<>();
+    private final List<Runnable> invalidationListeners = new ArrayList<>();
+    /**
+     * Incremented by every invalidation, contacts resolved before it are not cached
+     */
+    private volatile int generation = 0;
+
+    private MiniContactResolver(Context context) {
+        this.context = context.getApplicationContext();
+        try {
+            this.context.getContentResolver().registerContentObserver(ContactsContract.Contacts.CONTENT_URI, true, new ContentObserver(mainHandler) {
+                @Override
+                public void onChange(boolean selfChange) {
+                    generation++;
+                    cache.evictAll();
+                    for (Runnable listener : new ArrayList<>(invalidationListeners))
+                        listener.run();
+                }
+            });
+        } catch (SecurityException e) {
+            Log.e(TAG, "could not observe contacts", e);
+        }
+    }
+
+    public static MiniContactResolver getInstance(Context context) {
+        synchronized (LOCK) {
+            if (instance == null)
+                instance = new MiniContactResolver(context);
+            return instance;
+        }
+    }
+
+    @Nullable
+    private static String keyOf(@NonNull Call call) {
+        if (call.phoneNumber != null)
+            return call.phoneNumber;
+        return call.contactUri;
+    }
+
+    public boolean isResolved(@NonNull Call call) {
+        final String key = keyOf(call);
+        return key == null || call.isPrivate() || cache.get(key) != null;
+    }
+
+    /**
+     * @return the contact of the call if it was resolved, null if it is unknown or was not resolved yet
+     */
+    @Nullable
+    public MiniContact getCached(@NonNull Call call) {
+        final String key = keyOf(call);
+        if (key == null)
+            return null;
+        final Resolved resolved = cache.get(key);
+        return resolved == null ? null : resolved.miniContact;
+    }
+
+    /**
+     * Queries the contacts provider unless the call was already resolved.
+     */
+    @Nullable
+    public MiniContact resolve(@NonNull Call call) {
+        final String key = keyOf(call);
+        if (key == null || call.isPrivate())
+            return null;
+        final Resolved cached = cache.get(key);
+        if (cached != null)
+            return cached.miniContact;
+        return query(call, key, generation);
+    }
+
+    /**
+     * Resolves the calls which were not resolved yet, on a background thread.
+     *
+     * @param onResolved runs on the main thread if any of the calls was resolved
+     */
+    @MainThread
+    public void prefetch(@NonNull List<Call> calls, @NonNull Runnable onResolved) {
+        final List<Call> toResolve = new ArrayList<>();
+        for (Call call : calls) {
+            if (!isResolved(call) && pending.add(keyOf(call)))
+                toResolve.add(call);
+        }
+        if (toResolve.isEmpty())
+            return;
+        final int requestGeneration = generation;
+        resolver.execute(() -> {
+            for (Call call : toResolve)
+                query(call, keyOf(call), requestGeneration);
+            mainHandler.post(() -> {
+                for (Call call : toResolve)
+                    pending.remove(keyOf(call));
+                onResolved.run();
+            });
+        });
+    }
+
+    /**
+     * Like {@link #resolve(Call)}, but queries the contacts provider on the background thread.
+     *
+     * @param callback runs on the main thread
+     */
+    @MainThread
+    public void resolveAsync(@NonNull Call call, @NonNull Callback callback) {
+        if (isResolved(call)) {
+            callback.onResolved(getCached(call));
+            return;
+        }
+        resolver.execute(() -> {
+            final MiniContact miniContact = resolve(call);
+            mainHandler.post(() -> callback.onResolved(miniContact));
+        });
+    }
+
+    /**
+     * @param listener runs on the main thread when the contacts changed and everything resolved was dropped
+     */
+    @MainThread
+    public void addInvalidationListener(@NonNull Runnable listener) {
+        invalidationListeners.add(listener);
+    }
+
+    @MainThread
+    public void removeInvalidationListener(@NonNull Runnable listener) {
+        invalidationListeners.remove(listener);
+    }
+
+    @WorkerThread
+    @Nullable
+    private MiniContact query(@NonNull Call call, @NonNull String key, int requestGeneration) {
+        MiniContact miniContact;
+        try {
+            miniContact = call.queryMiniContact(context);
+        } catch (Exception e) {
+            // cached as unknown as well (e.g. the contacts permission was revoked), or every rebind would query again
+            Log.e(TAG, "query: could not resolve a call", e);
+            miniContact = null;
+        }
+        if (requestGeneration == generation)
+            cache.put(key, new Resolved(miniContact));
+        return miniContact;
+    }
+
+    public interface Callback {
+        void onResolved(@Nullable MiniContact miniContact);
+    }
+
+    /**
+     * A resolved call, {@link #miniContact} is null if the number is not of any contact
+     */
+    private static class Resolved {
+        @Nullable
+        final MiniContact miniContact;
+
+        Resolved(@Nullable MiniContact miniContact) {
+            this.miniContact = miniContact;
+        }
+    }
+}
@@ -20,63 +20,160 @@ import android.content.ContentResolver;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.database.Cursor;
+import android.net.Uri;
 import android.provider.ContactsContract;
 
-import com.bald.uriah.baldphone.databases.apps.AppsDatabase;
+import androidx.annotation.Nullable;
+
+import com.bald.uriah.baldphone.databases.BaldDatabase;
+import com.bald.uriah.baldphone.databases.calls.CallStatsDao;
 import com.bald.uriah.baldphone.databases.contacts.MiniContact;
+import com.bald.uriah.baldphone.utils.BPrefs;
 import com.bald.uriah.baldphone.views.HomeScreenAppView;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class HomeScreenPinHelper {
     public static final String SHARED_PREFS_KEY = PinnedContactPreferences.KEY;
     public static final String SET_KEY = PinnedContactPreferences.SET_KEY;
+    /**
+     * Below SQLite's default limit of 999 host parameters
+     */
+    private static final int SQL_VARIABLES_CHUNK = 500;
 
     /**
      * @param context
-     * @return sorted list of lookup keys
+     * @return pinned contacts by name, or if the user chose {@link BPrefs#PINS_BY_CALLS_KEY},
+     * the most frequently called first (see {@link CallStatsDao#getCallsOfContacts}) and then by name
      */
     private static List<MiniContact> getAllPinnedContacts(Context context) {
-        final Set<String> lookupKeys =
-                context.getSharedPreferences(SHARED_PREFS_KEY, Context.MODE_PRIVATE)
-                        .getStringSet(SET_KEY, null);
-        if (lookupKeys == null)
+        final List<MiniContact> ret = resolvePinnedContacts(context, SET_KEY);
+        if (ret == null)
             return null;
-        final List<MiniContact> ret = new ArrayList<>(lookupKeys.size());
+        final Comparator<MiniContact> byName = (o1, o2) -> compareNames(o1.name, o2.name);
+        if (!context.getSharedPreferences(BPrefs.KEY, Context.MODE_PRIVATE).getBoolean(BPrefs.PINS_BY_CALLS_KEY, BPrefs.PINS_BY_CALLS_DEFAULT_VALUE)) {
+            Collections.sort(ret, byName);
+            return ret;
+        }
+        final List<String> lookupKeys = new ArrayList<>(ret.size());
+        for (MiniContact miniContact : ret)
+            lookupKeys.add(miniContact.lookupKey);
+        final CallStatsDao callStatsDao = BaldDatabase.getInstance(context).callStatsDao();
+        final Map<String, Integer> callsByLookupKey = new HashMap<>();
+        for (int start = 0; start < lookupKeys.size(); start += SQL_VARIABLES_CHUNK) {
+            for (CallStatsDao.ContactCalls contactCalls : callStatsDao.getCallsOfContacts(lookupKeys.subList(start, Math.min(lookupKeys.size(), start + SQL_VARIABLES_CHUNK))))
+                callsByLookupKey.put(contactCalls.lookupKey, contactCalls.calls);
+        }
+        Collections.sort(ret, (o1, o2) -> {
+            final int byCalls = Integer.compare(getOrZero(callsByLookupKey, o2.lookupKey), getOrZero(callsByLookupKey, o1.lookupKey));
+            return byCalls != 0 ? byCalls : byName.compare(o1, o2);
+        });
+        return ret;
+    }
+
+    /**
+     * Contacts without a name last
+     */
+    private static int compareNames(@Nullable String name1, @Nullable String name2) {
+        if (name1 == null)
+            return name2 == null ? 0 : 1;
+        if (name2 == null)
+            return -1;
+        return name1.compareTo(name2);
+    }
+
+    private static int getOrZero(Map<String, Integer> map, String key) {
+        final Integer value = map.get(key);
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * Resolves the contacts pinned in the given set of {@link PinnedContactPreferences} with one {@link ContactsContract.Contacts} query
+     * per {@link #SQL_VARIABLES_CHUNK} lookup keys.
+     * Keys which are not found are looked up again with {@link ContactsContract.Contacts#lookupContact}, as a lookup key can change
+     * (e.g. when contacts are joined), and are replaced by the current key or removed - all in one preferences write.
+     *
+     * @param setKey {@link PinnedContactPreferences#SET_KEY} or {@link PinnedContactPreferences#SOS_KEY}
+     * @return unsorted pinned contacts, null if nothing was ever pinned
+     */
+    @Nullable
+    public static List<MiniContact> resolvePinnedContacts(Context context, String setKey) {
+        final SharedPreferences sharedPreferences = context.getSharedPreferences(SHARED_PREFS_KEY, Context.MODE_PRIVATE);
+        final Set<String> lookupKeySet = sharedPreferences.getStringSet(setKey, null);
+        if (lookupKeySet == null)
+            return null;
+        final List<String> lookupKeys = new ArrayList<>(lookupKeySet);
         final ContentResolver contentResolver = context.getContentResolver();
-        for (String lookupKey :
-                lookupKeys) {
+        final Map<String, MiniContact> found = new HashMap<>();
+        for (int start = 0; start < lookupKeys.size(); start += SQL_VARIABLES_CHUNK) {
+            final int end = Math.min(start + SQL_VARIABLES_CHUNK, lookupKeys.size());
+            final StringBuilder selection = new StringBuilder(ContactsContract.Contacts.LOOKUP_KEY).append(" IN (");
+            for (int i = start; i < end; i++)
+                selection.append(i == start ? "?" : ",?");
+            selection.append(')');
             try (Cursor cursor = contentResolver.query(
                     ContactsContract.Contacts.CONTENT_URI,
                     MiniContact.PROJECTION,
-                    ContactsContract.Data.LOOKUP_KEY + " = ?",
-                    new String[]{
-                            lookupKey
-                    }, null)) {
-
-                if (cursor.moveToFirst()) {
-                    ret.add(new MiniContact(
-                            lookupKey,
-                            cursor.getString(cursor.getColumnIndex(ContactsContract.Contacts.DISPLAY_NAME)),
-                            cursor.getString(cursor.getColumnIndex(ContactsContract.Contacts.PHOTO_URI)),
-                            cursor.getInt(cursor.getColumnIndex(ContactsContract.Contacts._ID)),
-                            cursor.getInt(cursor.getColumnIndex(ContactsContract.Contacts.STARRED)) == 1
-                    ));
-                } else {
-                    removeContact(context, lookupKey);
+                    selection.toString(),
+                    lookupKeys.subList(start, end).toArray(new String[0]),
+                    null)) {
+                if (cursor != null)
+                    while (cursor.moveToNext()) {
+                        final MiniContact miniContact = readMiniContact(cursor);
+                        found.put(miniContact.lookupKey, miniContact);
+                    }
+            }
+        }
+
+        final List<MiniContact> ret = new ArrayList<>(lookupKeys.size());
+        final Set<String> newSet = new HashSet<>(lookupKeySet);
+        for (String lookupKey : lookupKeys) {
+            MiniContact miniContact = found.get(lookupKey);
+            if (miniContact == null) {
+                miniContact = lookupChangedContact(contentResolver, lookupKey);
+                newSet.remove(lookupKey);
+                if (miniContact != null && found.containsKey(miniContact.lookupKey))
+                    continue; // also pinned by its current key
+                if (miniContact != null) {
+                    newSet.add(miniContact.lookupKey);
+                    found.put(miniContact.lookupKey, miniContact);
                 }
-            } catch (Exception e) {
-                throw new AssertionError(e);
             }
+            if (miniContact != null)
+                ret.add(miniContact);
         }
-        Collections.sort(ret, (o1, o2) -> o1.name.compareTo(o2.name));
+        if (!newSet.equals(lookupKeySet))
+            sharedPreferences.edit().putStringSet(setKey, newSet).apply();
         return ret;
     }
 
+    @Nullable
+    private static MiniContact lookupChangedContact(ContentResolver contentResolver, String lookupKey) {
+        final Uri contactUri = ContactsContract.Contacts.lookupContact(contentResolver, Uri.withAppendedPath(ContactsContract.Contacts.CONTENT_LOOKUP_URI, lookupKey));
+        if (contactUri == null)
+            return null;
+        try (Cursor cursor = contentResolver.query(contactUri, MiniContact.PROJECTION, null, null, null)) {
+            return cursor != null && cursor.moveToFirst() ? readMiniContact(cursor) : null;
+        }
+    }
+
+    private static MiniContact readMiniContact(Cursor cursor) {
+        return new MiniContact(
+                cursor.getString(cursor.getColumnIndex(ContactsContract.Contacts.LOOKUP_KEY)),
+                cursor.getString(cursor.getColumnIndex(ContactsContract.Contacts.DISPLAY_NAME)),
+                cursor.getString(cursor.getColumnIndex(ContactsContract.Contacts.PHOTO_URI)),
+                cursor.getInt(cursor.getColumnIndex(ContactsContract.Contacts._ID)),
+                cursor.getInt(cursor.getColumnIndex(ContactsContract.Contacts.STARRED)) == 1
+        );
+    }
+
     public static void pinContact(Context context, String lookupKey) {
         SharedPreferences sharedPreferences = context.getSharedPreferences(SHARED_PREFS_KEY, Context.MODE_PRIVATE);
         final Set<String> befSet = sharedPreferences.getStringSet(SET_KEY, null);
@@ -109,7 +206,7 @@ public class HomeScreenPinHelper {
     public static List<HomeScreenPinnable> getAll(Context context) {
         final List<HomeScreenPinnable> ret =
                 new ArrayList<>(
-                        AppsDatabase.getInstance(context)
+                        BaldDatabase.getInstance(context)
                                 .appsDatabaseDao().getAllPinned()
                 );
         final List<MiniContact> contactList = getAllPinnedContacts(context);
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases.home_screen_pins;
+
+import android.content.Context;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import com.bald.uriah.baldphone.databases.DatabaseExecutor;
+import com.bald.uriah.baldphone.databases.home_screen_pins.HomeScreenPinHelper.HomeScreenPinnable;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The pinned apps and contacts of one home screen.
+ * {@link #refresh} reads them with {@link HomeScreenPinHelper#getAll} on the {@link DatabaseExecutor},
+ * and reports which pages of {@link #perPage} items differ from what was loaded before,
+ * so only those pages have to be bound again.
+ */
+public class HomeScreenPinRepository {
+    private final Context context;
+    private final int perPage;
+    private List<HomeScreenPinnable> pinned = Collections.emptyList();
+    /**
+     * Incremented by every refresh, only the newest one is delivered
+     */
+    private int generation;
+
+    public HomeScreenPinRepository(@NonNull Context context, int perPage) {
+        this.context = context.getApplicationContext();
+        this.perPage = perPage;
+    }
+
+    @MainThread
+    public void refresh(@NonNull Listener listener) {
+        final int requestGeneration = ++generation;
+        DatabaseExecutor.query(() -> HomeScreenPinHelper.getAll(context), current -> {
+            if (requestGeneration != generation)
+                return;
+            final List<HomeScreenPinnable> previous = pinned;
+            pinned = current;
+            listener.onPinsLoaded(current, changedPages(previous, current, perPage));
+        });
+    }
+
+    public static int pageCount(int items, int perPage) {
+        return (items + perPage - 1) / perPage;
+    }
+
+    /**
+     * @return the pages which show a different item (or no item) in any of their slots
+     */
+    @NonNull
+    static BitSet changedPages(@NonNull List<HomeScreenPinnable> previous, @NonNull List<HomeScreenPinnable> current, int perPage) {
+        final BitSet changedPages = new BitSet();
+        final int size = Math.max(previous.size(), current.size());
+        for (int i = 0; i < size; i++) {
+            final int page = i / perPage;
+            if (changedPages.get(page))
+                continue;
+            final HomeScreenPinnable before = i < previous.size() ? previous.get(i) : null;
+            final HomeScreenPinnable after = i < current.size() ? current.get(i) : null;
+            if (!Objects.equals(before, after))
+                changedPages.set(page);
+        }
+        return changedPages;
+    }
+
+    public interface Listener {
+        /**
+         * @param changedPages indices of the pages whose items changed, see {@link #changedPages}
+         */
+        void onPinsLoaded(@NonNull List<HomeScreenPinnable> pinned, @NonNull BitSet changedPages);
+    }
+}
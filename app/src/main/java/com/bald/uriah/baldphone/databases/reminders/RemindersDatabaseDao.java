@@ -16,6 +16,7 @@
 
 package com.bald.uriah.baldphone.databases.reminders;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
@@ -35,6 +36,9 @@ public interface RemindersDatabaseDao {
     @Query("SELECT * FROM Reminder ORDER BY starting_time ASC")
     List<Reminder> getAllRemindersOrderedByTime();
 
+    @Query("SELECT * FROM Reminder ORDER BY starting_time ASC")
+    LiveData<List<Reminder>> observeAllRemindersOrderedByTime();
+
     @Query("DELETE FROM Reminder WHERE id = :id")
     void removeReminder(int id);
 
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.services;
+
+import android.content.Context;
+import android.database.ContentObserver;
+import android.os.Handler;
+import android.os.Looper;
+import android.provider.CallLog;
+import android.provider.Telephony;
+import android.service.notification.StatusBarNotification;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bald.uriah.baldphone.databases.calls.CallLogsHelper;
+import com.bald.uriah.baldphone.utils.BackgroundThreadFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The state behind the red dots of the home screen: which packages have active notifications and whether there are unread missed calls.
+ * Notification counts are kept per package from the {@link NotificationListenerService} callbacks one notification at a time,
+ * the missed calls state is re-read on a background thread only when the call log changes,
+ * and listeners are only told about the badges which actually appeared or disappeared.
+ * Everything but the call log query runs on the main thread, to which {@link NotificationListenerService} posts its callbacks,
+ * as they come on a binder thread before API 24.
+ */
+public class BadgeEngine {
+    private static final String TAG = BadgeEngine.class.getSimpleName();
+    private static final Object LOCK = new Object();
+    private static BadgeEngine instance = null;
+
+    private final Context context;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService callLogReader = Executors.newSingleThreadExecutor(new BackgroundThreadFactory(TAG));
+    /**
+     * notification key to its package, so an updated notification is not counted twice
+     */
+    private final Map<String, String> activeNotifications = new HashMap<>();
+    private final Map<String, Integer> countByPackage = new HashMap<>();
+    private final List<Listener> listeners = new ArrayList<>();
+    private boolean hasMissedCalls, observingCallLog;
+    @Nullable
+    private String defaultSmsPackage;
+
+    private BadgeEngine(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    public static BadgeEngine getInstance(Context context) {
+        synchronized (LOCK) {
+            if (instance == null)
+                instance = new BadgeEngine(context);
+            return instance;
+        }
+    }
+
+    /**
+     * The first listener starts following the call log.
+     */
+    @MainThread
+    public void addListener(@NonNull Listener listener) {
+        listeners.add(listener);
+        if (!observingCallLog) {
+            observingCallLog = true;
+            try {
+                context.getContentResolver().registerContentObserver(CallLog.Calls.CONTENT_URI, true, new ContentObserver(mainHandler) {
+                    @Override
+                    public void onChange(boolean selfChange) {
+                        refreshMissedCalls();
+                    }
+                });
+            } catch (SecurityException e) {
+                Log.e(TAG, "addListener: could not observe the call log", e);
+            }
+            refreshMissedCalls();
+        }
+    }
+
+    @MainThread
+    public void removeListener(@NonNull Listener listener) {
+        listeners.remove(listener);
+    }
+
+    @MainThread
+    public boolean hasNotifications(@Nullable String packageName) {
+        return packageName != null && countByPackage.containsKey(packageName);
+    }
+
+    @MainThread
+    public boolean hasMissedCalls() {
+        return hasMissedCalls;
+    }
+
+    /**
+     * Cached, see {@link #refreshDefaultSmsPackage()}
+     */
+    @MainThread
+    @Nullable
+    public String getDefaultSmsPackage() {
+        return defaultSmsPackage;
+    }
+
+    /**
+     * The default SMS app can only be changed outside of BaldPhone, so this is called whenever the home screen is shown.
+     */
+    @MainThread
+    public void refreshDefaultSmsPackage() {
+        final String newDefaultSmsPackage = Telephony.Sms.getDefaultSmsPackage(context);
+        if (newDefaultSmsPackage == null ? defaultSmsPackage == null : newDefaultSmsPackage.equals(defaultSmsPackage))
+            return;
+        defaultSmsPackage = newDefaultSmsPackage;
+        for (Listener listener : new ArrayList<>(listeners))
+            listener.onDefaultSmsPackageChanged(newDefaultSmsPackage);
+    }
+
+    /**
+     * Replaces everything counted so far, when the notification listener (re)connects.
+     */
+    @MainThread
+    void reset(@NonNull StatusBarNotification[] statusBarNotifications) {
+        final Map<String, Integer> before = new HashMap<>(countByPackage);
+        activeNotifications.clear();
+        countByPackage.clear();
+        for (StatusBarNotification statusBarNotification : statusBarNotifications)
+            add(statusBarNotification.getKey(), statusBarNotification.getPackageName());
+        for (String packageName : before.keySet())
+            if (!countByPackage.containsKey(packageName))
+                notifyPackageChanged(packageName, false);
+        for (String packageName : countByPackage.keySet())
+            if (!before.containsKey(packageName))
+                notifyPackageChanged(packageName, true);
+    }
+
+    @MainThread
+    void onPosted(@NonNull StatusBarNotification statusBarNotification) {
+        if (add(statusBarNotification.getKey(), statusBarNotification.getPackageName()))
+            notifyPackageChanged(statusBarNotification.getPackageName(), true);
+    }
+
+    @MainThread
+    void onRemoved(@NonNull StatusBarNotification statusBarNotification) {
+        final String packageName = activeNotifications.remove(statusBarNotification.getKey());
+        if (packageName == null)
+            return;
+        final int count = countByPackage.get(packageName) - 1;
+        if (count > 0) {
+            countByPackage.put(packageName, count);
+        } else {
+            countByPackage.remove(packageName);
+            notifyPackageChanged(packageName, false);
+        }
+    }
+
+    /**
+     * @return true if the package had no notifications before
+     */
+    private boolean add(String key, String packageName) {
+        if (activeNotifications.containsKey(key))
+            return false; // an update of a notification which is already counted
+        activeNotifications.put(key, packageName);
+        final Integer count = countByPackage.get(packageName);
+        countByPackage.put(packageName, count == null ? 1 : count + 1);
+        return count == null;
+    }
+
+    private void notifyPackageChanged(String packageName, boolean hasNotifications) {
+        for (Listener listener : new ArrayList<>(listeners))
+            listener.onPackageBadgeChanged(packageName, hasNotifications);
+    }
+
+    private void refreshMissedCalls() {
+        callLogReader.execute(() -> {
+            final boolean newHasMissedCalls = !CallLogsHelper.isAllReadSafe(context.getContentResolver());
+            mainHandler.post(() -> {
+                if (newHasMissedCalls == hasMissedCalls)
+                    return;
+                hasMissedCalls = newHasMissedCalls;
+                for (Listener listener : new ArrayList<>(listeners))
+                    listener.onMissedCallsChanged(newHasMissedCalls);
+            });
+        });
+    }
+
+    public interface Listener {
+        void onPackageBadgeChanged(@NonNull String packageName, boolean hasNotifications);
+
+        void onMissedCallsChanged(boolean hasMissedCalls);
+
+        void onDefaultSmsPackageChanged(@Nullable String defaultSmsPackage);
+    }
+}
@@ -16,15 +16,12 @@
 
 package com.bald.uriah.baldphone.services;
 
-import android.app.Notification;
 import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
 import android.content.IntentFilter;
-import android.content.pm.ApplicationInfo;
-import android.content.pm.PackageManager;
-import android.os.Build;
-import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.service.notification.StatusBarNotification;
 import android.util.Log;
 
@@ -33,13 +30,11 @@ import androidx.localbroadcastmanager.content.LocalBroadcastManager;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
-import java.util.ArrayList;
 import java.util.Objects;
 
 public class NotificationListenerService extends android.service.notification.NotificationListenerService {
     private static final String TAG = NotificationListenerService.class.getSimpleName();
     // BROADCASTS
-    public static final String NOTIFICATIONS_ACTIVITY_BROADCAST = "NOTIFICATIONS_ACTIVITY_BROADCAST";
     public static final String HOME_SCREEN_ACTIVITY_BROADCAST = "HOME_SCREEN_ACTIVITY_BROADCAST";
     //    ACTIONS
     public static final String ACTION_REGISTER_ACTIVITY = "ACTION_REGISTER_ACTIVITY";
@@ -48,7 +43,6 @@ public class NotificationListenerService extends android.service.notification.No
     //    KEYS
     public static final String KEY_EXTRA_KEY = "KEY_EXTRA_KEY";
     //    ACTIONS
-    public static final String KEY_EXTRA_NOTIFICATIONS = "KEY_EXTRA_NOTIFICATIONS";
     public static final String KEY_EXTRA_ACTIVITY = "KEY_EXTRA_ACTIVITY";
     public static final int
             NOTIFICATIONS_NONE = 0,
@@ -62,8 +56,12 @@ public class NotificationListenerService extends android.service.notification.No
     // VARS
     @SupportedActivitys
     private int activity = ACTIVITY_NONE;
-    private PackageManager packageManager;
     private boolean listening = false;
+    /**
+     * The listener callbacks come on a binder thread before API 24,
+     * {@link BadgeEngine} and {@link NotificationStore} are confined to the main thread
+     */
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
     // VARS
     private final BroadcastReceiver listener = new BroadcastReceiver() {
         @Override
@@ -85,23 +83,41 @@ public class NotificationListenerService extends android.service.notification.No
 
     @Override
     public void onNotificationPosted(StatusBarNotification sbn) {
-        sendBroadcastToActivity();
+        mainHandler.post(() -> {
+            BadgeEngine.getInstance(this).onPosted(sbn);
+            NotificationStore.getInstance(this).onPosted(sbn);
+            sendBroadcastToActivity();
+        });
     }
 
     @Override
     public void onNotificationRemoved(StatusBarNotification sbn) {
-        sendBroadcastToActivity();
+        mainHandler.post(() -> {
+            BadgeEngine.getInstance(this).onRemoved(sbn);
+            NotificationStore.getInstance(this).onRemoved(sbn);
+            sendBroadcastToActivity();
+        });
     }
 
     @Override
     public void onListenerConnected() {
         super.onListenerConnected();
         listening = true;
-        packageManager = getPackageManager();
         LocalBroadcastManager.getInstance(this).registerReceiver(listener,
                 new IntentFilter(ACTION_REGISTER_ACTIVITY));
         LocalBroadcastManager.getInstance(this).registerReceiver(listener,
                 new IntentFilter(ACTION_CLEAR));
+        try {
+            final StatusBarNotification[] activeNotifications = getActiveNotifications();
+            if (activeNotifications != null) {
+                mainHandler.post(() -> {
+                    BadgeEngine.getInstance(this).reset(activeNotifications);
+                    NotificationStore.getInstance(this).reset(activeNotifications);
+                });
+            }
+        } catch (SecurityException e) {
+            Log.e(TAG, "onListenerConnected: could not read the active notifications", e);
+        }
         Log.e(TAG, "onListenerConnected: ");
     }
 
@@ -110,9 +126,6 @@ public class NotificationListenerService extends android.service.notification.No
             if (!listening)
                 return;
             switch (activity) {
-                case NotificationListenerService.NOTIFICATIONS_ACTIVITY:
-                    sendBroadcastToNotificationsActivity();
-                    break;
                 case NotificationListenerService.NOTIFICATIONS_HOME_SCREEN:
                     sendBroadcastToHomeScreenActivity();
                     break;
@@ -123,64 +136,13 @@ public class NotificationListenerService extends android.service.notification.No
         }
     }
 
-    private void sendBroadcastToNotificationsActivity() {
-        try {
-            final StatusBarNotification[] statusBarNotifications = getActiveNotifications();
-            final Bundle[] bundlesToSend = new Bundle[statusBarNotifications.length];
-
-            for (int i = 0, statusBarNotificationsLength = statusBarNotifications.length; i < statusBarNotificationsLength; i++) {
-                final StatusBarNotification statusBarNotification = statusBarNotifications[i];
-                final Notification notification = statusBarNotification.getNotification();
-                final Bundle bundle = bundlesToSend[i] = new Bundle();
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-                    bundle.putParcelable("small_icon", notification.getSmallIcon());
-                    bundle.putParcelable("large_icon", notification.getLargeIcon());
-                } else {
-                    bundle.putInt("small_icon", notification.icon);
-                    bundle.putParcelable("large_icon", notification.largeIcon);
-                }
-                bundle.putCharSequence("title", notification.extras.getCharSequence(Notification.EXTRA_TITLE));
-                bundle.putCharSequence("text", notification.extras.getCharSequence(Notification.EXTRA_TEXT));
-                bundle.putLong("time_stamp", notification.when);
-                final CharSequence packageName = statusBarNotification.getPackageName();
-                bundle.putCharSequence("packageName", packageName);
-                ApplicationInfo ai = null;
-                try {
-                    ai = packageManager.getApplicationInfo(String.valueOf(packageName), 0);
-                } catch (final PackageManager.NameNotFoundException ignore) {
-                }
-                bundle.putCharSequence("app_name", (ai != null ? packageManager.getApplicationLabel(ai) : "(unknown)"));
-                bundle.putParcelable("clear_intent", notification.deleteIntent);
-                bundle.putParcelable("content_intent", notification.contentIntent);
-                bundle.putBoolean("clearable", (notification.flags & Notification.FLAG_NO_CLEAR) == 0);
-                bundle.putBoolean("summery", (notification.flags & Notification.FLAG_GROUP_SUMMARY) == Notification.FLAG_GROUP_SUMMARY);
-                bundle.putString(KEY_EXTRA_KEY, statusBarNotification.getKey());
-            }
-            LocalBroadcastManager.getInstance(this).sendBroadcast(new Intent(NOTIFICATIONS_ACTIVITY_BROADCAST).putExtra(KEY_EXTRA_NOTIFICATIONS, bundlesToSend));
-        } catch (SecurityException e) {
-            Log.e(TAG, e.getMessage());
-            e.printStackTrace();
-        }
-    }
-
+    /**
+     * Only the amount of notifications, the red dots of the home screen come from {@link BadgeEngine}
+     */
     private void sendBroadcastToHomeScreenActivity() {
-        try {
-            final StatusBarNotification[] statusBarNotifications = getActiveNotifications();
-            final ArrayList<String> packages = new ArrayList<>(statusBarNotifications.length);
-            for (final StatusBarNotification statusBarNotification : statusBarNotifications) {
-                packages.add(statusBarNotification.getPackageName());
-
-            }
-            final Intent intent = new Intent(HOME_SCREEN_ACTIVITY_BROADCAST)
-                    .putExtra("amount", statusBarNotifications.length)
-                    .putStringArrayListExtra("packages", packages);
-
-            LocalBroadcastManager.getInstance(this)
-                    .sendBroadcast(intent);
-        } catch (SecurityException e) {
-            Log.e(TAG, e.getMessage());
-            e.printStackTrace();
-        }
+        LocalBroadcastManager.getInstance(this)
+                .sendBroadcast(new Intent(HOME_SCREEN_ACTIVITY_BROADCAST)
+                        .putExtra("amount", NotificationStore.getInstance(this).size()));
     }
 
     @IntDef({ACTIVITY_NONE, NOTIFICATIONS_ACTIVITY, NOTIFICATIONS_HOME_SCREEN})
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.services;
+
+import android.app.Notification;
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageManager;
+import android.os.Build;
+import android.os.Bundle;
+import android.service.notification.StatusBarNotification;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The active notifications as shown by {@link com.bald.uriah.baldphone.activities.NotificationsActivity}, one {@link Bundle} per notification.
+ * {@link NotificationListenerService} applies every posted, updated or removed notification as it arrives,
+ * so only the changed notification is packed (and the app label of a package is only looked up once),
+ * and listeners are told the position which changed instead of receiving the whole list again.
+ * Everything here runs on the main thread, to which {@link NotificationListenerService} posts its callbacks.
+ */
+public class NotificationStore {
+    private static final Object LOCK = new Object();
+    private static NotificationStore instance = null;
+
+    private final PackageManager packageManager;
+    /**
+     * keys in the order they are shown, oldest first like {@link NotificationListenerService#getActiveNotifications()}
+     */
+    private final List<String> keys = new ArrayList<>();
+    private final Map<String, Bundle> notifications = new HashMap<>();
+    private final Map<String, CharSequence> appLabels = new HashMap<>();
+    private final List<Listener> listeners = new ArrayList<>();
+
+    private NotificationStore(Context context) {
+        packageManager = context.getApplicationContext().getPackageManager();
+    }
+
+    public static NotificationStore getInstance(Context context) {
+        synchronized (LOCK) {
+            if (instance == null)
+                instance = new NotificationStore(context);
+            return instance;
+        }
+    }
+
+    @MainThread
+    public void addListener(@NonNull Listener listener) {
+        listeners.add(listener);
+    }
+
+    @MainThread
+    public void removeListener(@NonNull Listener listener) {
+        listeners.remove(listener);
+    }
+
+    @MainThread
+    public int size() {
+        return keys.size();
+    }
+
+    @MainThread
+    @NonNull
+    public Bundle get(int position) {
+        return notifications.get(keys.get(position));
+    }
+
+    @MainThread
+    @NonNull
+    public List<String> getKeys() {
+        return new ArrayList<>(keys);
+    }
+
+    /**
+     * Replaces everything, when the notification listener (re)connects.
+     * App labels are read again as well, since apps may have been updated meanwhile.
+     */
+    @MainThread
+    void reset(@NonNull StatusBarNotification[] statusBarNotifications) {
+        keys.clear();
+        notifications.clear();
+        appLabels.clear();
+        for (StatusBarNotification statusBarNotification : statusBarNotifications) {
+            keys.add(statusBarNotification.getKey());
+            notifications.put(statusBarNotification.getKey(), toBundle(statusBarNotification));
+        }
+        for (Listener listener : new ArrayList<>(listeners))
+            listener.onNotificationsReset();
+    }
+
+    @MainThread
+    void onPosted(@NonNull StatusBarNotification statusBarNotification) {
+        final String key = statusBarNotification.getKey();
+        final boolean update = notifications.put(key, toBundle(statusBarNotification)) != null;
+        final int position;
+        if (update) {
+            position = keys.indexOf(key);
+        } else {
+            position = keys.size();
+            keys.add(key);
+        }
+        for (Listener listener : new ArrayList<>(listeners))
+            if (update)
+                listener.onNotificationChanged(position);
+            else
+                listener.onNotificationInserted(position);
+    }
+
+    @MainThread
+    void onRemoved(@NonNull StatusBarNotification statusBarNotification) {
+        final String key = statusBarNotification.getKey();
+        final Bundle notification = notifications.remove(key);
+        if (notification == null)
+            return;
+        final int position = keys.indexOf(key);
+        keys.remove(position);
+        for (Listener listener : new ArrayList<>(listeners))
+            listener.onNotificationRemoved(position, notification);
+    }
+
+    @NonNull
+    private Bundle toBundle(@NonNull StatusBarNotification statusBarNotification) {
+        final Notification notification = statusBarNotification.getNotification();
+        final Bundle bundle = new Bundle();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            bundle.putParcelable("small_icon", notification.getSmallIcon());
+            bundle.putParcelable("large_icon", notification.getLargeIcon());
+        } else {
+            bundle.putInt("small_icon", notification.icon);
+            bundle.putParcelable("large_icon", notification.largeIcon);
+        }
+        bundle.putCharSequence("title", notification.extras.getCharSequence(Notification.EXTRA_TITLE));
+        bundle.putCharSequence("text", notification.extras.getCharSequence(Notification.EXTRA_TEXT));
+        bundle.putLong("time_stamp", notification.when);
+        final String packageName = statusBarNotification.getPackageName();
+        bundle.putCharSequence("packageName", packageName);
+        bundle.putCharSequence("app_name", getAppLabel(packageName));
+        bundle.putParcelable("clear_intent", notification.deleteIntent);
+        bundle.putParcelable("content_intent", notification.contentIntent);
+        bundle.putBoolean("clearable", (notification.flags & Notification.FLAG_NO_CLEAR) == 0);
+        bundle.putBoolean("summery", (notification.flags & Notification.FLAG_GROUP_SUMMARY) == Notification.FLAG_GROUP_SUMMARY);
+        bundle.putString(NotificationListenerService.KEY_EXTRA_KEY, statusBarNotification.getKey());
+        return bundle;
+    }
+
+    @NonNull
+    private CharSequence getAppLabel(@NonNull String packageName) {
+        CharSequence label = appLabels.get(packageName);
+        if (label == null) {
+            ApplicationInfo ai = null;
+            try {
+                ai = packageManager.getApplicationInfo(packageName, 0);
+            } catch (final PackageManager.NameNotFoundException ignore) {
+            }
+            label = ai != null ? packageManager.getApplicationLabel(ai) : "(unknown)";
+            appLabels.put(packageName, label);
+        }
+        return label;
+    }
+
+    public interface Listener {
+        /**
+         * Anything may have changed
+         */
+        void onNotificationsReset();
+
+        void onNotificationInserted(int position);
+
+        void onNotificationChanged(int position);
+
+        /**
+         * @param notification the notification which was at {@code position}
+         */
+        void onNotificationRemoved(int position, @NonNull Bundle notification);
+    }
+}
@@ -99,6 +99,12 @@ public final class BPrefs {
     public static final String COLORFUL_KEY = "COLORFUL_KEY";
     public static final boolean COLORFUL_DEFAULT_VALUE = false;
 
+    /**
+     * pinned contacts on the home screen by how often they are called, otherwise they keep their places (by name)
+     */
+    public static final String PINS_BY_CALLS_KEY = "PINS_BY_CALLS_KEY";
+    public static final boolean PINS_BY_CALLS_DEFAULT_VALUE = false;
+
     public static final String LAST_CRASH_KEY = "LAST_CRASH_KEY";
     public static final long LAST_CRASH_TIME_OK = 12 * D.SECOND;
 
@@ -108,6 +114,11 @@ public final class BPrefs {
 
     public static final String UUID_KEY = "UUID_KEY";
 
+    /**
+     * the size launcher icons were last rendered at, see {@link com.bald.uriah.baldphone.databases.apps.AppsDatabaseHelper#updateDB}
+     */
+    public static final String APP_ICON_SIZE_KEY = "APP_ICON_SIZE_KEY";
+
     public static final String LAST_DOWNLOAD_MANAGER_REQUEST_ID = "LAST_DOWNLOAD_MANAGER_REQUEST_ID";
     public static final String LAST_DOWNLOAD_MANAGER_REQUEST_VERSION_NUMBER = "LAST_DOWNLOAD_MANAGER_REQUEST_VERSION_NUMBER";
 
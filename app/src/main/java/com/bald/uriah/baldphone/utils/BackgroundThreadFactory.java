@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.utils;
+
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the threads of BaldPhone's background executors.
+ * They run at {@link Process#THREAD_PRIORITY_BACKGROUND}, so they never compete with the main thread,
+ * and are daemons, so an idle executor never keeps anything alive.
+ */
+public class BackgroundThreadFactory implements ThreadFactory {
+    private final String name;
+    private final AtomicInteger threadCounter = new AtomicInteger();
+
+    /**
+     * @param name of the threads, numbered if the executor creates more than one
+     */
+    public BackgroundThreadFactory(@NonNull String name) {
+        this.name = name;
+    }
+
+    @Override
+    public Thread newThread(@NonNull Runnable runnable) {
+        final int number = threadCounter.incrementAndGet();
+        final Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, number == 1 ? name : name + "-" + number);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -128,6 +128,44 @@ public class BaldPrefsUtils {
         return !equals(newInstance(context));
     }
 
+    /**
+     * @return true if a preference which every BaldPhone view reads when it is created changed,
+     * so the activity must be recreated to apply it
+     */
+    public boolean requiresRecreate(BaldPrefsUtils that) {
+        return theme != that.theme ||
+                vibrationFeedback != that.vibrationFeedback ||
+                touchNoHard != that.touchNoHard ||
+                longPresses != that.longPresses ||
+                statusBar != that.statusBar;
+    }
+
+    /**
+     * @return true if the notes page was shown or hidden, which changes the pages of the home screen
+     */
+    public boolean notesChanged(BaldPrefsUtils that) {
+        return notes != that.notes;
+    }
+
+    /**
+     * @return true if an app on the first or second home screen page was replaced
+     */
+    public boolean homePagesChanged(BaldPrefsUtils that) {
+        return sos != that.sos ||
+                !Objects.equals(CUSTOM_APP, that.CUSTOM_APP) ||
+                !Objects.equals(CUSTOM_RECENTS, that.CUSTOM_RECENTS) ||
+                !Objects.equals(CUSTOM_DIALER, that.CUSTOM_DIALER) ||
+                !Objects.equals(CUSTOM_CONTACTS, that.CUSTOM_CONTACTS) ||
+                !Objects.equals(CUSTOM_ASSISTANT, that.CUSTOM_ASSISTANT) ||
+                !Objects.equals(CUSTOM_MESSAGES, that.CUSTOM_MESSAGES) ||
+                !Objects.equals(CUSTOM_PHOTOS, that.CUSTOM_PHOTOS) ||
+                !Objects.equals(CUSTOM_CAMERA, that.CUSTOM_CAMERA) ||
+                !Objects.equals(CUSTOM_VIDEOS, that.CUSTOM_VIDEOS) ||
+                !Objects.equals(CUSTOM_PILLS, that.CUSTOM_PILLS) ||
+                !Objects.equals(CUSTOM_APPS, that.CUSTOM_APPS) ||
+                !Objects.equals(CUSTOM_ALARMS, that.CUSTOM_ALARMS);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
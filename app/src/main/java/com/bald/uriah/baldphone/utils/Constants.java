@@ -71,37 +71,36 @@ public class Constants {
      * {@link com.bald.uriah.baldphone.databases.contacts.Contact}
      */
     public interface ContactConstants extends BaseContactsConstants {
-        int PHONE_TYPE_INDEX = 1, PHONE_NUMBER_INDEX = 2;
-        String[] PHONE_PROJECTION = {
-                ContactsContract.CommonDataKinds.Phone.CONTACT_ID,
-                ContactsContract.CommonDataKinds.Phone.TYPE,
-                ContactsContract.CommonDataKinds.Phone.NUMBER,
-        };
-        String PHONE_SELECTION = ContactsContract.CommonDataKinds.Phone.CONTACT_ID + " = ?";
-
-        int EMAIL_DATA_INDEX = 1;
-        String[] EMAIL_PROJECTION = {
-                ContactsContract.CommonDataKinds.Email.CONTACT_ID,
-                ContactsContract.CommonDataKinds.Email.DATA,
-        };
-        String EMAIL_SELECTION = ContactsContract.CommonDataKinds.Email.CONTACT_ID + " = ?";
-
-        int POBOX_INDEX = 3, STREET_INDEX = 4, CITY_INDEX = 5, REGION_INDEX = 6, POSTCODE_INDEX = 7, COUNTRY_INDEX = 8;
+        String WHATSAPP_PROFILE_MIMETYPE = "vnd.android.cursor.item/vnd.com.whatsapp.profile";
 
-        String[] ADDRESS_PROJECTION = {
+        /**
+         * Phones, mails, postal addresses and whatsapp profiles all come from {@link ContactsContract.Data},
+         * so one query with this projection reads everything a contact has.
+         */
+        int DATA_CONTACT_ID_INDEX = 0, DATA_MIMETYPE_INDEX = 1,
+                PHONE_NUMBER_INDEX = 2, PHONE_TYPE_INDEX = 3,
+                EMAIL_DATA_INDEX = 2,
+                ADDRESS_TYPE_INDEX = 3, POBOX_INDEX = 4, STREET_INDEX = 5, CITY_INDEX = 6, REGION_INDEX = 7, POSTCODE_INDEX = 8, COUNTRY_INDEX = 9,
+                WHATSAPP_DATA_INDEX = 10;
+        String[] DATA_PROJECTION = {
                 ContactsContract.Data.CONTACT_ID,
                 ContactsContract.Data.MIMETYPE,
-                ContactsContract.CommonDataKinds.StructuredPostal.TYPE,
-
+                ContactsContract.Data.DATA1, // Phone.NUMBER, Email.ADDRESS
+                ContactsContract.Data.DATA2, // Phone.TYPE, StructuredPostal.TYPE
                 ContactsContract.CommonDataKinds.StructuredPostal.POBOX,
                 ContactsContract.CommonDataKinds.StructuredPostal.STREET,
                 ContactsContract.CommonDataKinds.StructuredPostal.CITY,
                 ContactsContract.CommonDataKinds.StructuredPostal.REGION,
                 ContactsContract.CommonDataKinds.StructuredPostal.POSTCODE,
                 ContactsContract.CommonDataKinds.StructuredPostal.COUNTRY,
-
+                ContactsContract.Data.DATA3, // whatsapp profile - "Message +123..."
+        };
+        String[] DATA_MIMETYPES = {
+                ContactsContract.CommonDataKinds.Phone.CONTENT_ITEM_TYPE,
+                ContactsContract.CommonDataKinds.Email.CONTENT_ITEM_TYPE,
+                ContactsContract.CommonDataKinds.StructuredPostal.CONTENT_ITEM_TYPE,
+                WHATSAPP_PROFILE_MIMETYPE,
         };
-        String ADDRESS_SELECTION = ContactsContract.Data.CONTACT_ID + " = ? AND " + ContactsContract.Data.MIMETYPE + " = ?";
 
         String[] RAW_CONTACT_PROJECTION = new String[]{ContactsContract.RawContacts._ID};
         String RAW_CONTACT_SELECTION = ContactsContract.RawContacts.CONTACT_ID + " = ?";
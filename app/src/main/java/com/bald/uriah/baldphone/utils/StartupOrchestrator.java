@@ -0,0 +1,176 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.utils;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the work of {@link com.bald.uriah.baldphone.BaldPhone#onCreate()} in three phases:
+ * {@link Phase#BLOCKING} tasks run immediately on the main thread,
+ * {@link Phase#DEFERRED} tasks run on a background thread once the first frame was drawn
+ * and {@link Phase#IDLE} tasks run on the main thread the first time it is idle afterwards.
+ * If no activity reports its first frame (e.g. the process was started for an alarm),
+ * the deferred tasks start after {@link #FIRST_FRAME_TIMEOUT}.
+ * Every task is timed into a trace shown in {@link com.bald.uriah.baldphone.activities.TechnicalInfoActivity}.
+ */
+public class StartupOrchestrator {
+    private static final String TAG = StartupOrchestrator.class.getSimpleName();
+    private static final long FIRST_FRAME_TIMEOUT = 5 * D.SECOND;
+    private static final StartupOrchestrator instance = new StartupOrchestrator();
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<Task> deferredTasks = new ArrayList<>(), idleTasks = new ArrayList<>();
+    private final List<String> trace = new ArrayList<>();
+    private final long processStart;
+    private boolean started, firstFrameDrawn;
+    private final Runnable onFirstFrameTimeout = () -> startDeferred("timeout");
+
+    private StartupOrchestrator() {
+        processStart = Build.VERSION.SDK_INT >= Build.VERSION_CODES.N ? Process.getStartUptimeMillis() : SystemClock.uptimeMillis();
+    }
+
+    public static StartupOrchestrator getInstance() {
+        return instance;
+    }
+
+    /**
+     * Must be called on the main thread, before {@link #start()}.
+     */
+    public StartupOrchestrator add(@NonNull Phase phase, @NonNull String name, @NonNull Runnable runnable) {
+        final Task task = new Task(phase, name, runnable);
+        switch (phase) {
+            case BLOCKING:
+                task.run();
+                break;
+            case DEFERRED:
+                deferredTasks.add(task);
+                break;
+            case IDLE:
+                idleTasks.add(task);
+                break;
+        }
+        return this;
+    }
+
+    public void start() {
+        if (started)
+            return;
+        started = true;
+        mainHandler.postDelayed(onFirstFrameTimeout, FIRST_FRAME_TIMEOUT);
+    }
+
+    /**
+     * Called by the first activity with the view whose first draw should release the deferred tasks.
+     */
+    public void onFirstFrame(@NonNull View view) {
+        if (firstFrameDrawn)
+            return;
+        view.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                view.getViewTreeObserver().removeOnPreDrawListener(this);
+                // posted, so it runs after this frame was drawn
+                view.post(() -> startDeferred("first frame"));
+                return true;
+            }
+        });
+    }
+
+    private void startDeferred(String reason) {
+        if (firstFrameDrawn)
+            return;
+        firstFrameDrawn = true;
+        mainHandler.removeCallbacks(onFirstFrameTimeout);
+        record(String.format(Locale.US, "%s after %d ms", reason, SystemClock.uptimeMillis() - processStart));
+
+        final List<Task> deferred = new ArrayList<>(deferredTasks);
+        deferredTasks.clear();
+        if (!deferred.isEmpty()) {
+            final ExecutorService executorService = Executors.newSingleThreadExecutor(new BackgroundThreadFactory(TAG));
+            for (Task task : deferred)
+                executorService.execute(task::run);
+            executorService.shutdown();
+        }
+
+        final List<Task> idle = new ArrayList<>(idleTasks);
+        idleTasks.clear();
+        if (!idle.isEmpty())
+            Looper.myQueue().addIdleHandler(() -> {
+                for (Task task : idle)
+                    task.run();
+                return false;
+            });
+    }
+
+    private void record(String line) {
+        synchronized (trace) {
+            trace.add(line);
+        }
+    }
+
+    @NonNull
+    public String getTrace() {
+        final StringBuilder stringBuilder = new StringBuilder("Startup:\n");
+        synchronized (trace) {
+            for (String line : trace)
+                stringBuilder.append(line).append('\n');
+        }
+        return stringBuilder.toString();
+    }
+
+    public enum Phase {
+        BLOCKING, DEFERRED, IDLE
+    }
+
+    private class Task {
+        final Phase phase;
+        final String name;
+        final Runnable runnable;
+
+        Task(Phase phase, String name, Runnable runnable) {
+            this.phase = phase;
+            this.name = name;
+            this.runnable = runnable;
+        }
+
+        void run() {
+            final long start = SystemClock.uptimeMillis();
+            try {
+                runnable.run();
+            } catch (Exception e) {
+                Log.e(TAG, "startup task " + name + " failed", e);
+            }
+            final long end = SystemClock.uptimeMillis();
+            record(String.format(Locale.US, "%s %s: %d ms (at %d ms)", phase, name, end - start, start - processStart));
+        }
+    }
+}
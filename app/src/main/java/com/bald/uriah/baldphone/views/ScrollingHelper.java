@@ -109,6 +109,16 @@ public class ScrollingHelper extends ConstraintLayout {
             }
 
         }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            onChanged();
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            onChanged();
+        }
     };
 
     public ScrollingHelper(Context context) {
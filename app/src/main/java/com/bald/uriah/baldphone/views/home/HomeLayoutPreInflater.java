@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.views.home;
+
+import android.content.Context;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import androidx.annotation.LayoutRes;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import java.util.ArrayDeque;
+
+/**
+ * Keeps inflated home screen page layouts ready, so the pager does not inflate them
+ * while the user is waiting, e.g. right after pressing Home on a far away page.
+ * Layouts are inflated on the main thread, one per {@link MessageQueue.IdleHandler idle} callback,
+ * because the page layouts contain BaldPhone views which read preferences and create handlers in their constructors,
+ * and therefore can not be inflated on a background thread.
+ * A taken layout is replaced the next time the main thread is idle.
+ */
+public class HomeLayoutPreInflater {
+    private final LayoutInflater inflater;
+    /**
+     * Only used for generating the layout params of the root views
+     */
+    private final ViewGroup parent;
+    private final SparseIntArray wanted = new SparseIntArray();
+    private final SparseArray<ArrayDeque<View>> inflated = new SparseArray<>();
+    private boolean scheduled;
+    private final MessageQueue.IdleHandler idleHandler = () -> {
+        final boolean more = inflateOne();
+        scheduled = more;
+        return more;
+    };
+
+    public HomeLayoutPreInflater(@NonNull Context context) {
+        this.inflater = LayoutInflater.from(context);
+        this.parent = new FrameLayout(context);
+    }
+
+    /**
+     * Keeps {@code count} inflated instances of the layout ready from now on
+     */
+    @MainThread
+    public void keepReady(@LayoutRes int layout, int count) {
+        wanted.put(layout, count);
+        schedule();
+    }
+
+    /**
+     * @return a ready layout if there is one, otherwise inflates it now
+     */
+    @MainThread
+    @NonNull
+    public View inflate(@LayoutRes int layout, @NonNull ViewGroup container) {
+        final ArrayDeque<View> views = inflated.get(layout);
+        final View view = views == null ? null : views.poll();
+        if (view == null)
+            return inflater.inflate(layout, container, false);
+        schedule();
+        return view;
+    }
+
+    /**
+     * Stops keeping layouts ready, as the idle callback holds the context until it is removed
+     */
+    @MainThread
+    public void release() {
+        wanted.clear();
+        inflated.clear();
+        if (scheduled) {
+            scheduled = false;
+            Looper.myQueue().removeIdleHandler(idleHandler);
+        }
+    }
+
+    private void schedule() {
+        if (scheduled)
+            return;
+        scheduled = true;
+        Looper.myQueue().addIdleHandler(idleHandler);
+    }
+
+    /**
+     * @return true if more layouts are missing
+     */
+    private boolean inflateOne() {
+        for (int i = 0; i < wanted.size(); i++) {
+            final int layout = wanted.keyAt(i);
+            ArrayDeque<View> views = inflated.get(layout);
+            if (views == null) {
+                views = new ArrayDeque<>();
+                inflated.put(layout, views);
+            }
+            if (views.size() < wanted.valueAt(i)) {
+                views.add(inflater.inflate(layout, parent, false));
+                return true;
+            }
+        }
+        return false;
+    }
+}
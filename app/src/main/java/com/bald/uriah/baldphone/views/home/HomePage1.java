@@ -24,11 +24,9 @@ import static com.bald.uriah.baldphone.utils.AccessibilityUtils.showAccessibilit
 import static com.bald.uriah.baldphone.utils.D.WHATSAPP_PACKAGE_NAME;
 
 import android.app.Activity;
-import android.content.BroadcastReceiver;
 import android.content.ComponentName;
 import android.content.Context;
 import android.content.Intent;
-import android.content.IntentFilter;
 import android.content.SharedPreferences;
 import android.content.pm.ActivityInfo;
 import android.content.pm.PackageManager;
@@ -45,6 +43,7 @@ import android.view.View;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.localbroadcastmanager.content.LocalBroadcastManager;
 
 import com.bald.uriah.baldphone.R;
@@ -55,12 +54,12 @@ import com.bald.uriah.baldphone.activities.Page1EditorActivity;
 import com.bald.uriah.baldphone.activities.RecentActivity;
 import com.bald.uriah.baldphone.activities.SOSActivity;
 import com.bald.uriah.baldphone.activities.contacts.ContactsActivity;
+import com.bald.uriah.baldphone.databases.BaldDatabase;
+import com.bald.uriah.baldphone.databases.DatabaseExecutor;
 import com.bald.uriah.baldphone.databases.apps.App;
-import com.bald.uriah.baldphone.databases.apps.AppsDatabase;
 import com.bald.uriah.baldphone.databases.apps.AppsDatabaseHelper;
-import com.bald.uriah.baldphone.databases.calls.CallLogsHelper;
+import com.bald.uriah.baldphone.services.BadgeEngine;
 import com.bald.uriah.baldphone.services.DeviceLockService;
-import com.bald.uriah.baldphone.services.NotificationListenerService;
 import com.bald.uriah.baldphone.utils.BDB;
 import com.bald.uriah.baldphone.utils.BDialog;
 import com.bald.uriah.baldphone.utils.BPrefs;
@@ -69,18 +68,17 @@ import com.bald.uriah.baldphone.utils.D;
 import com.bald.uriah.baldphone.utils.S;
 import com.bald.uriah.baldphone.views.FirstPageAppIcon;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 
 public class HomePage1 extends HomeView {
     public static final String TAG = HomePage1.class.getSimpleName();
     private static final ComponentName WHATSAPP_COMPONENT_NAME =
             new ComponentName(WHATSAPP_PACKAGE_NAME, D.WHATSAPP_LAUNCH_ACTIVITY);
 
-    private Map<App, FirstPageAppIcon> viewsToApps;
+    /**
+     * The package each button which was customized to another app shows the red dot of
+     */
+    private Map<FirstPageAppIcon, String> customAppPackages;
     private FirstPageAppIcon bt_assistant,
             bt_camera,
             bt_contacts,
@@ -91,12 +89,14 @@ public class HomePage1 extends HomeView {
             bt_recent,
             bt_whatsapp;
     private SharedPreferences sharedPreferences;
+    private final BadgeEngine badgeEngine;
 
     public HomePage1(@NonNull Context context) {
         super(
                 (context instanceof HomeScreenActivity) ? (HomeScreenActivity) context : null,
                 (Activity) context);
         sharedPreferences = BPrefs.get(activity);
+        badgeEngine = BadgeEngine.getInstance(activity);
     }
 
     @SuppressWarnings("unused")
@@ -105,82 +105,43 @@ public class HomePage1 extends HomeView {
     }
 
     /**
-     * Listens to broadcasts from {@link NotificationListenerService} This listener only checks if
-     * there are new messages\whatsapps, and updates {@link HomePage1#bt_messages} and {@link
-     * HomePage1#bt_whatsapp} according to it The notification icon is being updated via {@link
-     * HomeScreenActivity#notificationReceiver}
+     * Updates the red dots of this page from the {@link BadgeEngine}, which only reports the badges that changed.
+     * The notification icon is being updated via {@link HomeScreenActivity#notificationReceiver}
      */
-    public final BroadcastReceiver notificationReceiver =
-            new BroadcastReceiver() {
+    private final BadgeEngine.Listener badgeListener =
+            new BadgeEngine.Listener() {
                 @Override
-                public void onReceive(Context context, Intent intent) {
-                    if (intent == null) {
-                        return;
-                    }
-
-                    ArrayList<String> packagesList = intent.getStringArrayListExtra("packages");
-                    final Set<String> packagesSet =
-                            packagesList != null
-                                    ? new HashSet<>(packagesList)
-                                    : Collections.emptySet();
-
-                    if (bt_whatsapp != null && !viewsToApps.containsValue(bt_whatsapp)) {
-                        bt_whatsapp.setBadgeVisibility(packagesSet.contains(WHATSAPP_PACKAGE_NAME));
-                    }
-
-                    if (bt_recent != null && !viewsToApps.containsValue(bt_recent)) {
-                        Context viewContext = getContext(); // Use the view's context if available
-                        if (viewContext != null && viewContext.getContentResolver() != null) {
-                            bt_recent.setBadgeVisibility(
-                                    !CallLogsHelper.isAllReadSafe(
-                                            viewContext.getContentResolver()));
-                        } else if (context.getContentResolver()
-                                != null) { // Fallback to receiver's context
-                            bt_recent.setBadgeVisibility(
-                                    !CallLogsHelper.isAllReadSafe(context.getContentResolver()));
-                        } else {
-                            bt_recent.setBadgeVisibility(
-                                    false); // Fallback: hide badge if context is unavailable
-                        }
-                    }
+                public void onPackageBadgeChanged(
+                        @NonNull String packageName, boolean hasNotifications) {
+                    for (Map.Entry<FirstPageAppIcon, String> entry : customAppPackages.entrySet())
+                        if (packageName.equals(entry.getValue()))
+                            entry.getKey().setBadgeVisibility(hasNotifications);
+                    if (packageName.equals(WHATSAPP_PACKAGE_NAME)
+                            && !customAppPackages.containsKey(bt_whatsapp))
+                        bt_whatsapp.setBadgeVisibility(hasNotifications);
+                    if (packageName.equals(badgeEngine.getDefaultSmsPackage())
+                            && !customAppPackages.containsKey(bt_messages))
+                        bt_messages.setBadgeVisibility(hasNotifications);
+                }
 
-                    if (bt_messages != null && !viewsToApps.containsValue(bt_messages)) {
-                        String defaultSmsPackage = Telephony.Sms.getDefaultSmsPackage(context);
-                        if (defaultSmsPackage != null) {
-                            bt_messages.setBadgeVisibility(packagesSet.contains(defaultSmsPackage));
-                        } else {
-                            bt_messages.setBadgeVisibility(false); // No default SMS app, hide badge
-                        }
-                    }
+                @Override
+                public void onMissedCallsChanged(boolean hasMissedCalls) {
+                    if (!customAppPackages.containsKey(bt_recent))
+                        bt_recent.setBadgeVisibility(hasMissedCalls);
+                }
 
-                    for (Map.Entry<App, FirstPageAppIcon> app : viewsToApps.entrySet()) {
-                        if (app == null) continue;
-
-                        FirstPageAppIcon icon = app.getValue();
-                        if (icon != null) {
-                            String flatComponentName = app.getKey().getFlattenComponentName();
-                            if (flatComponentName != null) {
-                                ComponentName cn =
-                                        ComponentName.unflattenFromString(flatComponentName);
-                                if (cn != null) {
-                                    icon.setBadgeVisibility(
-                                            packagesSet.contains(cn.getPackageName()));
-                                } else {
-                                    icon.setBadgeVisibility(
-                                            false); // Invalid component or no package name
-                                }
-                            } else {
-                                icon.setBadgeVisibility(false); // No component name in app data
-                            }
-                        }
-                    }
+                @Override
+                public void onDefaultSmsPackageChanged(@Nullable String defaultSmsPackage) {
+                    if (!customAppPackages.containsKey(bt_messages))
+                        bt_messages.setBadgeVisibility(
+                                badgeEngine.hasNotifications(defaultSmsPackage));
                 }
             };
 
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, ViewGroup container) {
-        View view = inflater.inflate(R.layout.fragment_home_page1, container, false);
-        viewsToApps = new ArrayMap<>();
+        View view = inflate(inflater, R.layout.fragment_home_page1, container);
+        customAppPackages = new ArrayMap<>();
 
         initViews(view);
 
@@ -203,11 +164,10 @@ public class HomePage1 extends HomeView {
     @Override
     protected void onAttachedToWindow() {
         super.onAttachedToWindow();
-        LocalBroadcastManager.getInstance(activity)
-                .registerReceiver(
-                        notificationReceiver,
-                        new IntentFilter(
-                                NotificationListenerService.HOME_SCREEN_ACTIVITY_BROADCAST));
+        badgeEngine.addListener(badgeListener);
+        badgeEngine.refreshDefaultSmsPackage();
+        showAllBadges();
+        // still needed for the notification icon of HomeScreenActivity
         LocalBroadcastManager.getInstance(activity)
                 .sendBroadcast(
                         new Intent(ACTION_REGISTER_ACTIVITY)
@@ -217,7 +177,22 @@ public class HomePage1 extends HomeView {
     @Override
     protected void onDetachedFromWindow() {
         super.onDetachedFromWindow();
-        LocalBroadcastManager.getInstance(activity).unregisterReceiver(notificationReceiver);
+        badgeEngine.removeListener(badgeListener);
+    }
+
+    /**
+     * Catches up with every badge change which happened while this page was not attached.
+     */
+    private void showAllBadges() {
+        for (Map.Entry<FirstPageAppIcon, String> entry : customAppPackages.entrySet())
+            entry.getKey().setBadgeVisibility(badgeEngine.hasNotifications(entry.getValue()));
+        if (!customAppPackages.containsKey(bt_whatsapp))
+            bt_whatsapp.setBadgeVisibility(badgeEngine.hasNotifications(WHATSAPP_PACKAGE_NAME));
+        if (!customAppPackages.containsKey(bt_messages))
+            bt_messages.setBadgeVisibility(
+                    badgeEngine.hasNotifications(badgeEngine.getDefaultSmsPackage()));
+        if (!customAppPackages.containsKey(bt_recent))
+            bt_recent.setBadgeVisibility(badgeEngine.hasMissedCalls());
     }
 
     private Intent getCameraIntent() {
@@ -368,36 +343,13 @@ public class HomePage1 extends HomeView {
 
     private void setupButton(
             String bPrefsKey, FirstPageAppIcon bt, View.OnClickListener onClickListener) {
-        final App app;
-        if (sharedPreferences.contains(bPrefsKey)) {
-            app =
-                    AppsDatabase.getInstance(homeScreen)
-                            .appsDatabaseDao()
-                            .findByFlattenComponentName(
-                                    sharedPreferences.getString(bPrefsKey, null));
-            if (app == null) sharedPreferences.edit().remove(bPrefsKey).apply();
-        } else app = null;
-
         if (homeScreen != null) {
-            if (app == null) {
-                bt.setOnClickListener(onClickListener);
-            } else {
-                bt.setText(app.getLabel());
-                AppsDatabaseHelper.loadPic(app, bt.imageView);
-                bt.setOnClickListener(
-                        v ->
-                                S.startComponentName(
-                                        homeScreen,
-                                        ComponentName.unflattenFromString(
-                                                app.getFlattenComponentName())));
-                viewsToApps.put(app, bt);
-            }
+            bt.setOnClickListener(onClickListener);
         } else { // This is for Page1EditorActivity context
             final Page1EditorActivity page1EditorActivity = (Page1EditorActivity) activity;
             final CharSequence initialAppName;
 
             initialAppName = bt.getText();
-
             final BDB bdb =
                     BDB.from(activity)
                             .setTitle(R.string.custom_app)
@@ -431,12 +383,46 @@ public class HomePage1 extends HomeView {
                                                     page1EditorActivity.recreate();
                                                 }
                                             }));
+        }
+
+        if (!sharedPreferences.contains(bPrefsKey))
+            return;
+        final String flattenComponentName = sharedPreferences.getString(bPrefsKey, null);
+        // until the custom app was read, neither launch the default app nor show its badge
+        customAppPackages.put(bt, null);
+        bt.setBadgeVisibility(false);
+        if (homeScreen != null)
+            bt.setEnabled(false);
+        final BaldDatabase baldDatabase = BaldDatabase.getInstance(activity);
+        DatabaseExecutor.query(
+                () -> baldDatabase.appsDatabaseDao().findByFlattenComponentName(flattenComponentName),
+                app -> bindCustomApp(bPrefsKey, bt, app));
+    }
 
-            if (app != null) {
-                bt.setText(app.getLabel());
-                AppsDatabaseHelper.loadPic(app, bt.imageView);
-                viewsToApps.put(app, bt);
-            }
+    /**
+     * Called on the main thread once the custom app of {@code bPrefsKey} was read from the {@link BaldDatabase}.
+     */
+    private void bindCustomApp(String bPrefsKey, FirstPageAppIcon bt, @Nullable App app) {
+        bt.setEnabled(true);
+        if (app == null) {
+            sharedPreferences.edit().remove(bPrefsKey).apply();
+            customAppPackages.remove(bt);
+            showAllBadges();
+            return;
         }
+        bt.setText(app.getLabel());
+        AppsDatabaseHelper.loadPic(app, bt.imageView);
+        if (homeScreen != null)
+            bt.setOnClickListener(
+                    v ->
+                            S.startComponentName(
+                                    homeScreen,
+                                    ComponentName.unflattenFromString(
+                                            app.getFlattenComponentName())));
+        final ComponentName componentName =
+                ComponentName.unflattenFromString(app.getFlattenComponentName());
+        final String packageName = componentName == null ? null : componentName.getPackageName();
+        customAppPackages.put(bt, packageName);
+        bt.setBadgeVisibility(badgeEngine.hasNotifications(packageName));
     }
 }
@@ -65,7 +65,7 @@ public class HomePage2 extends HomeView {
 
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, ViewGroup container) {
-        view = inflater.inflate(R.layout.fragment_home_page2, container, false);
+        view = inflate(inflater, R.layout.fragment_home_page2, container);
         packageManager = homeScreen.getPackageManager();
         attachXml();
         genOnLongClickListeners();
@@ -23,6 +23,8 @@ import android.view.ViewGroup;
 import android.widget.FrameLayout;
 import android.widget.LinearLayout;
 
+import androidx.annotation.LayoutRes;
+
 import com.bald.uriah.baldphone.activities.HomeScreenActivity;
 
 public abstract class HomeView extends FrameLayout {
@@ -38,4 +40,13 @@ public abstract class HomeView extends FrameLayout {
 
     public abstract View onCreateView(LayoutInflater layoutInflater, ViewGroup viewGroup);
 
+    /**
+     * Takes the layout from {@link HomeScreenActivity#layoutPreInflater} on the home screen, if it is ready.
+     */
+    protected View inflate(LayoutInflater layoutInflater, @LayoutRes int layout, ViewGroup container) {
+        return homeScreen != null ?
+                homeScreen.layoutPreInflater.inflate(layout, container) :
+                layoutInflater.inflate(layout, container, false);
+    }
+
 }
@@ -34,6 +34,7 @@ public class HomeViewFactory extends HomeView {
     public static final String TAG = HomeViewFactory.class.getSimpleName();
     public static final int AMOUNT_PER_PAGE = 8;
     public ConstraintLayout child;
+    private int index = -1;
 
     public HomeViewFactory(@NonNull HomeScreenActivity homeScreen) {
         super(homeScreen, homeScreen);
@@ -42,12 +43,13 @@ public class HomeViewFactory extends HomeView {
     @Nullable
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container) {
-        final ConstraintLayout view = (ConstraintLayout) inflater.inflate(R.layout.home_factory, container, false);
+        final ConstraintLayout view = (ConstraintLayout) inflate(inflater, R.layout.home_factory, container);
         this.child = view;
         return view;
     }
 
     public void populate(int index) {
+        this.index = index;
         @NonNull final BaldPagerAdapter baldPagerAdapter = homeScreen.baldPagerAdapter;
 
         final int startIndex = AMOUNT_PER_PAGE * (index);
@@ -67,6 +69,18 @@ public class HomeViewFactory extends HomeView {
         }
     }
 
+    /**
+     * Shows the current items of the page again, after they were changed
+     */
+    public void rebind() {
+        recycle();
+        populate(index);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
     public void recycle() {
         for (int i = 0; i < child.getChildCount(); i++) {
             final View view = child.getChildAt(i);
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.adapters;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Checks the section index of {@link ContactRecyclerViewAdapter.Rows}.
+ * The ignored {@link #benchmark10kRows} prints what building the rows costs, and what binding from them saves.
+ */
+public class ContactRowsTest {
+    private static final int ROWS = 10_000, PASSES = 20;
+
+    @Test
+    public void sectionsStartWhereTheFirstLetterChanges() {
+        final ContactRecyclerViewAdapter.Rows rows = rows("anna", "Adam", "bob", "Celina", "cezary", "", "Zoë");
+        assertArrayEquals(new String[]{"A", "A", "B", "C", "C", "#", "Z"}, rows.letters);
+        assertArrayEquals(new int[]{0, 2, 3, 5, 6}, rows.sectionStarts);
+        assertEquals(Arrays.toString(new boolean[]{true, false, true, true, false, true, true}), Arrays.toString(rows.startsSection));
+    }
+
+    @Test
+    public void emptyRows() {
+        final ContactRecyclerViewAdapter.Rows rows = rows();
+        assertEquals(0, rows.size());
+        assertArrayEquals(new int[0], rows.sectionStarts);
+    }
+
+    /**
+     * Not part of the unit run, run it by hand.
+     * Binding only covers the header letter, which the adapter used to recompute from the names of the row and the row above;
+     * the cursor and view work of a bind is the same either way and is not measured.
+     */
+    @Ignore("benchmark")
+    @Test
+    public void benchmark10kRows() {
+        final String[] names = sortedNames(new Random(42));
+        long sink = 0;
+        for (int warmUp = 0; warmUp < 5; warmUp++) {
+            sink += bindAll(rows(names));
+            sink -= legacyBindAll(names);
+        }
+        assertEquals(0, sink);
+
+        long start = System.nanoTime();
+        ContactRecyclerViewAdapter.Rows rows = null;
+        for (int pass = 0; pass < PASSES; pass++)
+            rows = rows(names);
+        final long buildNanos = (System.nanoTime() - start) / PASSES;
+        start = System.nanoTime();
+        for (int pass = 0; pass < PASSES; pass++)
+            sink += bindAll(rows);
+        final long bindNanos = (System.nanoTime() - start) / PASSES;
+        start = System.nanoTime();
+        for (int pass = 0; pass < PASSES; pass++)
+            sink -= legacyBindAll(names);
+        final long legacyNanos = (System.nanoTime() - start) / PASSES;
+        assertEquals(0, sink);
+
+        System.out.println(String.format(Locale.US,
+                "%d rows: built in %.2f ms, header of a bind %.1f ns/row, recomputed from the names %.1f ns/row",
+                ROWS, buildNanos / 1e6, (double) bindNanos / ROWS, (double) legacyNanos / ROWS));
+    }
+
+    private static ContactRecyclerViewAdapter.Rows rows(String... names) {
+        final String[] lookupKeys = new String[names.length];
+        for (int i = 0; i < names.length; i++)
+            lookupKeys[i] = "lookup" + i;
+        return new ContactRecyclerViewAdapter.Rows(lookupKeys, names, new String[names.length], new boolean[names.length]);
+    }
+
+    private static String[] sortedNames(Random random) {
+        final String[] names = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            final char[] name = new char[3 + random.nextInt(10)];
+            for (int j = 0; j < name.length; j++)
+                name[j] = (char) ((j == 0 ? 'A' : 'a') + random.nextInt(26));
+            names[i] = new String(name);
+        }
+        Arrays.sort(names);
+        return names;
+    }
+
+    /**
+     * @return number of letter headers shown when binding every row, like {@link ContactRecyclerViewAdapter#onBindViewHolder}
+     */
+    private static int bindAll(ContactRecyclerViewAdapter.Rows rows) {
+        int headers = 0;
+        for (int position = 0; position < rows.size(); position++) {
+            if ((rows.startsSection[position] ? rows.letters[position] : null) != null)
+                headers++;
+        }
+        return headers;
+    }
+
+    /**
+     * What binding a row used to do - the first letter of the row and of the row above it, every time
+     */
+    private static int legacyBindAll(String[] names) {
+        int headers = 0;
+        for (int position = 0; position < names.length; position++) {
+            final String letter = names[position].substring(0, 1).toUpperCase();
+            if (position == 0 || !names[position - 1].substring(0, 1).toUpperCase().equals(letter))
+                headers++;
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.bald.uriah.baldphone.utils.D;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.TimeZone;
+
+/**
+ * Checks {@link RecurrenceEngine} against a straightforward java.time implementation,
+ * for every BaldDay mask, across DST transitions and in time zones with unusual offsets.
+ */
+public class RecurrenceEngineTest {
+    private static final String[] ZONES = {
+            "UTC", "Europe/Warsaw", "America/New_York", "Asia/Kolkata", "Australia/Lord_Howe", "Pacific/Chatham", "America/Sao_Paulo"
+    };
+    private static final int[][] TIMES = {{0, 0}, {2, 30}, {7, 15}, {12, 0}, {23, 59}};
+
+    @Test
+    public void everyMaskMatchesReference() {
+        final long start = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+        final long step = 7 * D.HOUR + 13 * D.MINUTE + 17 * D.SECOND;
+        for (String zone : ZONES) {
+            final RecurrenceEngine engine = new RecurrenceEngine(RecurrenceEngine.SYSTEM_CLOCK, TimeZone.getTimeZone(zone));
+            for (long after = start; after < start + 400L * D.DAY; after += step) {
+                for (int mask = -1; mask <= D.Days.ALL; mask++) {
+                    for (int[] time : TIMES) {
+                        assertEquals(zone + " mask " + mask + " " + time[0] + ":" + time[1] + " after " + Instant.ofEpochMilli(after),
+                                reference(mask, time[0], time[1], after, ZoneId.of(zone)),
+                                engine.nextFireTime(mask, time[0], time[1], after));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void dstGapMovesForward() {
+        final ZoneId warsaw = ZoneId.of("Europe/Warsaw");
+        final RecurrenceEngine engine = new RecurrenceEngine(RecurrenceEngine.SYSTEM_CLOCK, TimeZone.getTimeZone(warsaw));
+        final long after = at(LocalDateTime.of(2024, 3, 30, 12, 0), warsaw);
+        // 2024-03-31 02:30 does not exist in Warsaw, the clock jumps from 02:00 to 03:00
+        assertEquals(at(LocalDateTime.of(2024, 3, 31, 3, 30), warsaw), engine.nextFireTime(D.Days.SUNDAY, 2, 30, after));
+    }
+
+    @Test
+    public void dstOverlapTakesEarlierInstant() {
+        final ZoneId warsaw = ZoneId.of("Europe/Warsaw");
+        final RecurrenceEngine engine = new RecurrenceEngine(RecurrenceEngine.SYSTEM_CLOCK, TimeZone.getTimeZone(warsaw));
+        final long after = at(LocalDateTime.of(2024, 10, 26, 12, 0), warsaw);
+        // 2024-10-27 02:30 happens twice in Warsaw, first at +02:00
+        assertEquals(Instant.parse("2024-10-27T00:30:00Z").toEpochMilli(), engine.nextFireTime(D.Days.SUNDAY, 2, 30, after));
+    }
+
+    @Test
+    public void usesInjectedClock() {
+        final ZoneId utc = ZoneId.of("UTC");
+        final long now = at(LocalDateTime.of(2024, 5, 1, 10, 0), utc); // a wednesday
+        final RecurrenceEngine engine = new RecurrenceEngine(() -> now, TimeZone.getTimeZone(utc));
+        assertEquals(at(LocalDateTime.of(2024, 5, 1, 10, 30), utc), engine.nextFireTime(-1, 10, 30));
+        assertEquals(at(LocalDateTime.of(2024, 5, 2, 9, 0), utc), engine.nextFireTime(-1, 9, 0));
+        assertEquals(at(LocalDateTime.of(2024, 5, 5, 8, 0), utc), engine.nextFireTime(D.Days.SUNDAY, 8, 0));
+        assertEquals(at(LocalDateTime.of(2024, 5, 8, 10, 0), utc), engine.nextFireTime(D.Days.WEDNESDAY, 10, 0));
+    }
+
+    @Test
+    public void bulkFireTimesAreConsecutive() {
+        final RecurrenceEngine engine = new RecurrenceEngine(RecurrenceEngine.SYSTEM_CLOCK, TimeZone.getTimeZone("America/New_York"));
+        final long after = Instant.parse("2024-03-01T00:00:00Z").toEpochMilli();
+        final long[] fireTimes = new long[30];
+        for (int mask = 1; mask <= D.Days.ALL; mask++) {
+            assertEquals(fireTimes.length, engine.nextFireTimes(mask, 6, 45, after, fireTimes));
+            long previous = after;
+            for (long fireTime : fireTimes) {
+                assertTrue(fireTime > previous);
+                assertEquals(engine.nextFireTime(mask, 6, 45, previous), fireTime);
+                previous = fireTime;
+            }
+        }
+        assertEquals(1, engine.nextFireTimes(-1, 6, 45, after, fireTimes));
+    }
+
+    private static long reference(int mask, int hour, int minute, long after, ZoneId zone) {
+        final boolean once = mask == -1 || (mask & D.Days.ALL) == 0;
+        final LocalDate today = Instant.ofEpochMilli(after).atZone(zone).toLocalDate();
+        for (LocalDate date = today.minusDays(1); ; date = date.plusDays(1)) {
+            final int baldDay = 1 << (date.getDayOfWeek().getValue() % 7);
+            if (!once && (mask & baldDay) == 0)
+                continue;
+            final long fireTime = ZonedDateTime.of(date, LocalTime.of(hour, minute), zone).toInstant().toEpochMilli();
+            if (fireTime > after)
+                return fireTime;
+        }
+    }
+
+    private static long at(LocalDateTime localDateTime, ZoneId zone) {
+        return localDateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+}
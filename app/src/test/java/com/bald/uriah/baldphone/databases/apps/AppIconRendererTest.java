@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases.apps;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Checks the size {@link AppIconRenderer} rasterises icons at, which is what bounds the cost of rendering and encoding an icon.
+ */
+public class AppIconRendererTest {
+    private static final int CELL = 360;
+
+    @Test
+    public void bigIconsAreRenderedAtCellSize() {
+        assertEquals(CELL, AppIconRenderer.renderSize(CELL, 1024, 1024));
+        assertEquals(CELL, AppIconRenderer.renderSize(CELL, 432, 1024));
+    }
+
+    @Test
+    public void smallIconsAreNeverUpscaled() {
+        assertEquals(192, AppIconRenderer.renderSize(CELL, 192, 192));
+        assertEquals(192, AppIconRenderer.renderSize(CELL, 96, 192));
+    }
+
+    @Test
+    public void iconsWithoutIntrinsicSizeUseCellSize() {
+        assertEquals(CELL, AppIconRenderer.renderSize(CELL, -1, -1));
+        assertEquals(CELL, AppIconRenderer.renderSize(CELL, 0, 0));
+    }
+
+    @Test
+    public void renderedPixelsNeverExceedTheSourceOrTheCell() {
+        for (int intrinsic = 1; intrinsic <= 2048; intrinsic *= 2) {
+            final long pixels = (long) AppIconRenderer.renderSize(CELL, intrinsic, intrinsic) * AppIconRenderer.renderSize(CELL, intrinsic, intrinsic);
+            assertTrue(pixels <= (long) intrinsic * intrinsic);
+            assertTrue(pixels <= (long) CELL * CELL);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases.contacts;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Checks {@link ContactDigitIndex} number and keypad-letter matching,
+ * and that a {@link ContactDigitIndex.Session} answers like a fresh search while digits are typed and deleted.
+ */
+public class ContactDigitIndexTest {
+    private static final ContactDigitIndex INDEX = new ContactDigitIndex(
+            Arrays.asList(
+                    new String[]{"972501234567"},
+                    new String[]{"48221234567", "48600111222"},
+                    new String[0],
+                    new String[]{"15551234"}),
+            Arrays.asList("Anna Kowalska", "Józef Bem", "Ciocia Ela", "שָׁלוֹם Bob"));
+
+    @Test
+    public void numbersMatchWithoutTrunkOrInternationalPrefix() {
+        assertArrayEquals(new int[]{0}, INDEX.searchNumbers("050-123-4567"));
+        assertArrayEquals(new int[]{0}, INDEX.searchNumbers("+972 50 1234567"));
+        assertArrayEquals(new int[]{1}, INDEX.searchNumbers("0048600111222"));
+        assertArrayEquals(new int[]{0, 1, 3}, INDEX.searchNumbers("1234"));
+        assertArrayEquals(new int[0], INDEX.searchNumbers("*#"));
+    }
+
+    @Test
+    public void namesMatchByKeypadLetters() {
+        assertArrayEquals(new int[]{0}, INDEX.search("2662")); // anna
+        assertArrayEquals(new int[]{0}, INDEX.search("5692")); // kowalska, from the start of a word
+        assertArrayEquals(new int[]{1}, INDEX.search("56933")); // jozef, accents folded
+        assertArrayEquals(new int[]{2}, INDEX.search("2462423")); // ciocia + e, across words
+        assertArrayEquals(new int[]{3}, INDEX.search("262")); // bob
+        assertArrayEquals(new int[]{0, 1, 2, 3}, INDEX.search("2")); // numbers with a 2, ciocia
+    }
+
+    @Test
+    public void sessionMatchesFreshSearch() {
+        final Random random = new Random(42);
+        final ContactDigitIndex.Session session = INDEX.newSession();
+        final StringBuilder typed = new StringBuilder();
+        for (int step = 0; step < 5000; step++) {
+            if (typed.length() > 0 && random.nextInt(3) == 0)
+                typed.setLength(typed.length() - 1 - random.nextInt(typed.length()) / 2);
+            else
+                typed.append(random.nextInt(10));
+            assertArrayEquals(typed.toString(), INDEX.search(typed), session.search(typed));
+        }
+    }
+}
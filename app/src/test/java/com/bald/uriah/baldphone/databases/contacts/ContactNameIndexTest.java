@@ -0,0 +1,202 @@
+/*
+ * Copyright 2025 Damian Kuzmiak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bald.uriah.baldphone.databases.contacts;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Checks {@link ContactNameIndex} matching, ranking, and its results against a linear scan over a synthetic address book.
+ * The ignored {@link #benchmark5000Contacts} prints how both compare in speed.
+ */
+public class ContactNameIndexTest {
+    private static final String[] FIRST_NAMES = {
+            "José", "Zoë", "Renée", "Łukasz", "Małgorzata", "François", "Anna", "Joanna", "Jürgen", "Søren",
+            "שָׁלוֹם", "אַבְרָהָם", "Dmitrij", "Ана", "Mary-Jane", "O'Brien", "Ines", "Ahmed", "Chloé", "Bob"
+    };
+    private static final String[] LAST_NAMES = {
+            "Álvarez", "Kowalski", "Müller", "Nørgaard", "Smith", "Annan", "כֹּהֵן", "לֵוִי", "Dvořák", "Żółć",
+            "García", "Brontë", "Иванова", "Nguyễn", "Ó Súilleabháin", "Lee", "van der Berg", "Çelik", "Öztürk", "Zhang"
+    };
+    private static final int ADDRESS_BOOK_SIZE = 5000;
+
+    @Test
+    public void accentsAndCaseAreFolded() {
+        final ContactNameIndex index = index(new String[]{"José Álvarez", "Jose Smith", "Zoë Brontë"}, new boolean[3]);
+        assertArrayEquals(new int[]{0, 1}, index.search("jose"));
+        assertArrayEquals(new int[]{0}, index.search("ALVAREZ"));
+        assertArrayEquals(new int[]{2}, index.search("zoe bronte"));
+    }
+
+    @Test
+    public void hebrewNiqqudIsIgnored() {
+        final ContactNameIndex index = index(new String[]{"שָׁלוֹם כֹּהֵן", "אַבְרָהָם לֵוִי"}, new boolean[2]);
+        assertArrayEquals(new int[]{0}, index.search("שלום"));
+        assertArrayEquals(new int[]{0}, index.search("כהן"));
+        assertArrayEquals(new int[]{1}, index.search("לוי"));
+    }
+
+    @Test
+    public void separatorsAreCollapsed() {
+        final ContactNameIndex index = index(new String[]{"Mary-Jane  O'Brien", "Maryjane"}, new boolean[2]);
+        assertArrayEquals(new int[]{0}, index.search("mary jane"));
+        assertArrayEquals(new int[]{0}, index.search("jane o brien"));
+        assertArrayEquals(new int[]{0, 1}, index.search("mary"));
+    }
+
+    @Test
+    public void favouritesAndWordPrefixesComeFirst() {
+        final ContactNameIndex index = index(
+                new String[]{"Bob Annan", "Joanna", "Anna Smith", "Hanna", "Annette"},
+                new boolean[]{false, false, false, true, true});
+        // favourite prefix, favourite infix, prefix, infix
+        assertArrayEquals(new int[]{4, 3, 0, 2, 1}, index.search("ann"));
+        assertArrayEquals(new int[]{3, 0, 2, 1}, index.search("anna"));
+    }
+
+    @Test
+    public void emptyQueryMatchesEverythingInOrder() {
+        final ContactNameIndex index = index(new String[]{"B", "A", "C"}, new boolean[]{false, true, false});
+        assertArrayEquals(new int[]{0, 1, 2}, index.search(""));
+        assertArrayEquals(new int[]{0, 1, 2}, index.search(" - "));
+    }
+
+    @Test
+    public void matchesLinearScan() {
+        final List<String> names = addressBook(new Random(42));
+        final boolean[] favorites = favorites(new Random(43));
+        final ContactNameIndex index = new ContactNameIndex(names, favorites);
+        final List<String> normalizedNames = normalized(names);
+        for (String query : queries(new Random(44), names, 2000))
+            assertArrayEquals(query, linearScan(normalizedNames, favorites, query), index.search(query));
+    }
+
+    /**
+     * Not part of the unit run, run it by hand to compare the index with a linear scan
+     */
+    @Ignore("benchmark")
+    @Test
+    public void benchmark5000Contacts() {
+        final List<String> names = addressBook(new Random(42));
+        final boolean[] favorites = favorites(new Random(43));
+        final List<String> queries = queries(new Random(44), names, 10000);
+
+        long start = System.nanoTime();
+        final ContactNameIndex index = new ContactNameIndex(names, favorites);
+        final long buildNanos = System.nanoTime() - start;
+        final List<String> normalizedNames = normalized(names);
+
+        long matches = 0;
+        for (int warmUp = 0; warmUp < 3; warmUp++) {
+            for (String query : queries) {
+                matches += index.search(query).length;
+                matches -= linearScan(normalizedNames, favorites, query).length;
+            }
+        }
+        assertEquals(0, matches);
+
+        start = System.nanoTime();
+        for (String query : queries)
+            matches += index.search(query).length;
+        final long indexNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (String query : queries)
+            matches -= linearScan(normalizedNames, favorites, query).length;
+        final long scanNanos = System.nanoTime() - start;
+        assertEquals(0, matches);
+
+        System.out.println(String.format(Locale.US,
+                "%d contacts: index built in %.1f ms, %d queries - index %.1f us/query, linear scan %.1f us/query",
+                ADDRESS_BOOK_SIZE, buildNanos / 1e6, queries.size(), indexNanos / 1e3 / queries.size(), scanNanos / 1e3 / queries.size()));
+    }
+
+    private static ContactNameIndex index(String[] names, boolean[] favorites) {
+        return new ContactNameIndex(Arrays.asList(names), favorites);
+    }
+
+    private static List<String> addressBook(Random random) {
+        final List<String> names = new ArrayList<>(ADDRESS_BOOK_SIZE);
+        for (int i = 0; i < ADDRESS_BOOK_SIZE; i++)
+            names.add(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + ' ' + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + (i % 7 == 0 ? " " + i : ""));
+        return names;
+    }
+
+    private static boolean[] favorites(Random random) {
+        final boolean[] favorites = new boolean[ADDRESS_BOOK_SIZE];
+        for (int i = 0; i < favorites.length; i++)
+            favorites[i] = random.nextInt(20) == 0;
+        return favorites;
+    }
+
+    /**
+     * Substrings of random names, as typed - in any case and with or without accents
+     */
+    private static List<String> queries(Random random, List<String> names, int count) {
+        final List<String> queries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final String name = names.get(random.nextInt(names.size()));
+            final int start = random.nextInt(name.length());
+            final int end = Math.min(name.length(), start + 1 + random.nextInt(6));
+            String query = name.substring(start, end);
+            if (random.nextBoolean())
+                query = ContactNameIndex.normalize(query);
+            if (random.nextBoolean())
+                query = query.toUpperCase(Locale.ROOT);
+            queries.add(random.nextInt(50) == 0 ? "zzz" + query : query);
+        }
+        return queries;
+    }
+
+    private static List<String> normalized(List<String> names) {
+        final List<String> normalized = new ArrayList<>(names.size());
+        for (String name : names)
+            normalized.add(ContactNameIndex.normalize(name));
+        return normalized;
+    }
+
+    private static int[] linearScan(List<String> normalizedNames, boolean[] favorites, String query) {
+        final String normalizedQuery = ContactNameIndex.normalize(query);
+        final List<List<Integer>> ranks = Arrays.asList(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        for (int i = 0; i < normalizedNames.size(); i++) {
+            final String name = normalizedNames.get(i);
+            if (!name.contains(normalizedQuery))
+                continue;
+            if (normalizedQuery.isEmpty()) {
+                ranks.get(0).add(i);
+                continue;
+            }
+            final boolean wordPrefix = name.startsWith(normalizedQuery) || name.contains(' ' + normalizedQuery);
+            ranks.get((favorites[i] ? 0 : 2) + (wordPrefix ? 0 : 1)).add(i);
+        }
+        final List<Integer> result = new ArrayList<>();
+        for (List<Integer> rank : ranks)
+            result.addAll(rank);
+        final int[] array = new int[result.size()];
+        for (int i = 0; i < array.length; i++)
+            array[i] = result.get(i);
+        return array;
+    }
+}